@@ -2,21 +2,38 @@ package calculator;
 
 import calculator.controller.Controller;
 import calculator.model.CalculatorModel;
+import calculator.model.metrics.CalculatorMetrics;
+import calculator.model.metrics.StartupTimeline;
+import calculator.model.observer.CalculatorObserver;
 import calculator.view.scene.CalculatorScene;
 import calculator.view.window.CalculatorWindow;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 public class Main extends Application {
 
+    private static final StartupWarmup WARMUP = new StartupWarmup();
+
+    private Controller controller;
+    private Stage calculatorWindow;
+
     public static void main(String[] args) {
+        StartupTimeline.mark(StartupTimeline.MAIN);
+        WARMUP.start();
         Application.launch(args);
     }
 
     @Override
     public void start(Stage primaryStage) {
+        StartupTimeline.mark(StartupTimeline.FX_START);
+        WARMUP.await();
+        if (CalculatorMetrics.ENABLED) {
+            CalculatorMetrics.INSTANCE.register();
+        }
         CalculatorModel calculatorModel = new CalculatorModel();
-        Controller controller = new Controller(calculatorModel);
+        controller = new Controller(calculatorModel);
 
         CalculatorScene calculatorScene = new CalculatorScene();
         calculatorScene.setControllerListener(controller);
@@ -26,10 +43,44 @@ public class Main extends Application {
 
         calculatorScene.initializeScene();
 
-        Stage calculatorWindow = new CalculatorWindow();
+        calculatorWindow = new CalculatorWindow();
         calculatorWindow.setScene(calculatorScene);
         calculatorModel.readConfigInformation();
+        controller.resumeSession();
+        StartupTimeline.mark(StartupTimeline.SCENE_READY);
 
         calculatorWindow.show();
+        StartupTimeline.mark(StartupTimeline.SHOWN);
+        if (StartupTimeline.ENABLED) {
+            trackFirstFrame(controller);
+        }
+    }
+
+    //the window may show a scene of another mode than the first one, the value is read from the current one
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.saveSession(((CalculatorObserver) calculatorWindow.getScene()).getValue());
+        }
+    }
+
+    //interactive is when the compute thread has applied the startup configuration and the fx thread is free again
+    private static void trackFirstFrame(Controller controller) {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                StartupTimeline.mark(StartupTimeline.FIRST_FRAME);
+                stop();
+                controller.whenConfigured(() -> Platform.runLater(Main::startupFinished));
+            }
+        }.start();
+    }
+
+    private static void startupFinished() {
+        StartupTimeline.mark(StartupTimeline.INTERACTIVE);
+        StartupTimeline.INSTANCE.report();
+        if (StartupTimeline.EXIT_WHEN_INTERACTIVE) {
+            Platform.exit();
+        }
     }
 }
\ No newline at end of file
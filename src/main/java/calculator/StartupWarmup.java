@@ -0,0 +1,50 @@
+package calculator;
+
+import calculator.model.ControlUnit;
+import calculator.model.configuration.Config;
+import calculator.model.metrics.StartupTimeline;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.utils.NumberConverter;
+import calculator.view.localization.LanguageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+//loads preferences, localization and the model classes while the javafx toolkit is starting
+class StartupWarmup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final String WARMUP_THREAD_NAME = "calculator-warmup";
+
+    private final FutureTask<Void> task = new FutureTask<>(StartupWarmup::warmUp, null);
+
+    void start() {
+        Thread thread = new Thread(task, WARMUP_THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    //runs the warmup inline when start was skipped, e.g. when the application is launched without main
+    void await() {
+        task.run();
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Startup warmup failed", e.getCause());
+        }
+    }
+
+    private static void warmUp() {
+        LanguageProperties.setLanguage(Config.getLanguage());
+        LanguageProperties.precompile();
+        Config.getCalculatorMode();
+        //class initialization of the model singletons and the number parsing path
+        ControlUnit.INSTANCE.getClass();
+        NumberConverter.parseNumber(CalculatorMode.BASIC.getStartValue(), CalculatorMode.BASIC, 10);
+        StartupTimeline.mark(StartupTimeline.WARMUP);
+    }
+}
@@ -0,0 +1,149 @@
+package calculator.controller;
+
+import calculator.model.utils.ComputationGuard;
+import calculator.model.utils.exceptions.ComputationCancelledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class ComputeExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ComputeExecutor.class);
+    private static final String COMPUTE_THREAD_NAME = "calculator-compute";
+    private static final long STALE_COMPUTATION_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final ExecutorService executorService;
+    private final Consumer<Boolean> busyListener;
+    private final Runnable cancellationListener;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+
+    private long generation;
+    private long runningGeneration;
+    private long latestSequence;
+    private long runningSequence;
+    private AtomicBoolean runningCancellation;
+    private long runningSince;
+    private boolean busy;
+
+    public ComputeExecutor(Consumer<Boolean> busyListener, Runnable cancellationListener) {
+        this.busyListener = busyListener;
+        this.cancellationListener = cancellationListener;
+        executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, COMPUTE_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void submit(Runnable task) {
+        long taskGeneration;
+        synchronized (this) {
+            taskGeneration = generation;
+        }
+        pendingTasks.incrementAndGet();
+        executorService.execute(() -> runTask(task, taskGeneration, 0));
+    }
+
+    //for a task of which only the newest submission matters, a newer one skips the queued older ones
+    //and cancels the running one without the model being reset
+    public void submitLatest(Runnable task) {
+        long taskGeneration;
+        long sequence;
+        synchronized (this) {
+            taskGeneration = generation;
+            sequence = ++latestSequence;
+            if (runningCancellation != null && runningSequence != 0) {
+                runningCancellation.set(true);
+            }
+        }
+        pendingTasks.incrementAndGet();
+        executorService.execute(() -> runTask(task, taskGeneration, sequence));
+    }
+
+    //for configuration of the model which must not be dropped by cancellation
+    public void submitUncancellable(Runnable task) {
+        pendingTasks.incrementAndGet();
+        executorService.execute(() -> runTask(task, Long.MAX_VALUE, 0));
+    }
+
+    //drops every queued task and cancels the running one at its next ComputationGuard.check()
+    public void cancelPending() {
+        synchronized (this) {
+            generation++;
+            if (runningCancellation != null && runningGeneration < generation) {
+                runningCancellation.set(true);
+            }
+        }
+    }
+
+    //cancels only if the running task takes noticeably long, so fast typing does not drop queued operations
+    public void cancelStale() {
+        synchronized (this) {
+            if (runningCancellation == null || System.nanoTime() - runningSince < STALE_COMPUTATION_NANOS) {
+                return;
+            }
+        }
+        cancelPending();
+    }
+
+    public void shutdown() {
+        cancelPending();
+        executorService.shutdown();
+    }
+
+    private void runTask(Runnable task, long taskGeneration, long sequence) {
+        if (!startTask(taskGeneration, sequence)) {
+            finishTask();
+            return;
+        }
+        if (!busy) {
+            busy = true;
+            busyListener.accept(true);
+        }
+        try {
+            task.run();
+        } catch (ComputationCancelledException e) {
+            if (!isSuperseded(sequence)) {
+                cancellationListener.run();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Error in compute task", e);
+        } finally {
+            finishTask();
+        }
+    }
+
+    private synchronized boolean startTask(long taskGeneration, long sequence) {
+        if (taskGeneration < generation || isSuperseded(sequence)) {
+            return false;
+        }
+        runningGeneration = taskGeneration;
+        runningSequence = sequence;
+        runningCancellation = new AtomicBoolean();
+        ComputationGuard.watch(runningCancellation);
+        runningSince = System.nanoTime();
+        return true;
+    }
+
+    private synchronized boolean isSuperseded(long sequence) {
+        return sequence != 0 && sequence < latestSequence;
+    }
+
+    private void finishTask() {
+        synchronized (this) {
+            runningCancellation = null;
+            runningSequence = 0;
+            ComputationGuard.watch(null);
+        }
+        if (pendingTasks.decrementAndGet() == 0 && busy) {
+            busy = false;
+            busyListener.accept(false);
+        }
+    }
+}
@@ -2,109 +2,282 @@ package calculator.controller;
 
 import calculator.model.CalculatorModel;
 import calculator.model.memory.MemoryOperation;
+import calculator.model.metrics.FlightRecording;
 import calculator.model.observer.CalculatorObserver;
 import calculator.model.observer.ComplexCalculatorObserver;
 import calculator.model.observer.FractionCalculatorObserver;
+import calculator.model.observer.InputSequence;
 import calculator.model.observer.PNumberCalculatorObserver;
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOperation;
 import calculator.view.localization.Language;
 
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 public class Controller implements ControllerListener {
 
+    private static final long SESSION_SAVE_TIMEOUT_MILLIS = 2000;
+
     private CalculatorModel calculatorModel;
+    private ComputeExecutor computeExecutor;
+    private InputSequence inputSequence;
+    private EqualsRun pendingEquals;
 
     public Controller(CalculatorModel calculatorModel) {
         this.calculatorModel = calculatorModel;
+        this.computeExecutor = new ComputeExecutor(calculatorModel::setBusy, calculatorModel::computationCancelled);
+        this.inputSequence = calculatorModel.getInputSequence();
     }
 
     @Override
     public void setNewObserver(CalculatorObserver calculatorObserver) {
-        calculatorModel.setCalculatorObserver(calculatorObserver);
+        configure(() -> {
+            calculatorModel.setCalculatorObserver(calculatorObserver);
+            calculatorModel.readMemoryInformation();
+        });
     }
 
     @Override
     public void setFractionCalculatorObserver(FractionCalculatorObserver fractionCalculatorObserver) {
-        calculatorModel.setFractionCalculatorObserver(fractionCalculatorObserver);
+        configure(() -> calculatorModel.setFractionCalculatorObserver(fractionCalculatorObserver));
     }
 
     @Override
     public void setComplexCalculatorObserver(ComplexCalculatorObserver complexCalculatorObserver) {
-        calculatorModel.setComplexCalculatorObserver(complexCalculatorObserver);
+        configure(() -> calculatorModel.setComplexCalculatorObserver(complexCalculatorObserver));
     }
 
     @Override
     public void setPNumberCalculatorObserver(PNumberCalculatorObserver pNumberCalculatorObserver) {
-        calculatorModel.setPNumberCalculatorObserver(pNumberCalculatorObserver);
+        configure(() -> calculatorModel.setPNumberCalculatorObserver(pNumberCalculatorObserver));
     }
 
     @Override
     public void setNewBase(int newBase) {
-        calculatorModel.setBase(newBase);
+        configure(() -> calculatorModel.setBase(newBase));
     }
 
     @Override
     public void updateDigitButtons(int base) {
-        calculatorModel.updateDigitButtons(base);
+        configure(() -> calculatorModel.updateDigitButtons(base));
     }
 
     @Override
     public void checkPastedValue(String value, CalculatorMode calculatorMode) {
-        calculatorModel.pasteFromClipboard(value, calculatorMode);
+        submit(keyPress("pasteFromClipboard", calculatorMode, null, value,
+                () -> calculatorModel.pasteFromClipboard(value, calculatorMode)));
     }
 
     @Override
     public void convertValue(String value, int currentBase, int newBase) {
-        calculatorModel.convertAll(value, currentBase, newBase);
+        synchronized (this) {
+            pendingEquals = null;
+        }
+        computeExecutor.submitLatest(answering(keyPress("convertAll", CalculatorMode.P_NUMBER, null, value,
+                () -> calculatorModel.convertAll(value, currentBase, newBase))));
     }
 
     @Override
     public void updateLanguage(Language language) {
-        calculatorModel.setLanguageToConfig(language);
+        configure(() -> calculatorModel.setLanguageToConfig(language));
     }
 
     @Override
     public void updateCalculatorMode(CalculatorMode calculatorMode) {
-        calculatorModel.setCalculatorModeToConfig(calculatorMode);
+        configure(() -> calculatorModel.setCalculatorModeToConfig(calculatorMode));
     }
 
     @Override
     public void actionButtonClicked(String number, CalculatorOperation operation, CalculatorMode mode) {
-        calculatorModel.operationPressed(number, operation, mode);
+        submit(keyPress("operationPressed", mode, operation.name(), number,
+                () -> calculatorModel.operationPressed(number, operation, mode)));
     }
 
     @Override
     public void memoryButtonClicked(String number, MemoryOperation memoryOperation, CalculatorMode mode) {
-        calculatorModel.memoryOperationPressed(number, memoryOperation, mode);
+        submit(keyPress("memoryOperationPressed", mode, memoryOperation.name(), number,
+                () -> calculatorModel.memoryOperationPressed(number, memoryOperation, mode)));
+    }
+
+    @Override
+    public void memorySlotSelected(int slot, CalculatorMode mode) {
+        submit(() -> calculatorModel.memorySlotSelected(slot, mode));
     }
 
     @Override
     public void buttonEnterClicked(String number, CalculatorMode mode) {
-        calculatorModel.equalsPressed(number, mode);
+        EqualsRun run;
+        synchronized (this) {
+            if (pendingEquals != null && pendingEquals.mode == mode) {
+                pendingEquals.times++;
+                return;
+            }
+            run = new EqualsRun(number, mode);
+            pendingEquals = run;
+        }
+        computeExecutor.submit(answering(keyPress("equalsPressed", mode, null, number,
+                () -> calculatorModel.equalsPressed(run.number, run.mode, run.close(this)))));
+    }
+
+    //wraps the model step into a flight recorder event, the waiting time in the compute queue is recorded separately
+    private static Runnable keyPress(String step, CalculatorMode mode, String operation, String value, Runnable task) {
+        long pressed = System.nanoTime();
+        return () -> {
+            Object event = FlightRecording.beginKeyPress();
+            long queued = System.nanoTime() - pressed;
+            try {
+                task.run();
+            } finally {
+                FlightRecording.endKeyPress(event, step, mode, operation, value, queued);
+            }
+        };
+    }
+
+    //the results of the task are not shown over digits typed after it was submitted
+    private Runnable answering(Runnable task) {
+        long input = inputSequence.current();
+        return () -> {
+            inputSequence.answering(input);
+            task.run();
+        };
+    }
+
+    //every other event ends the run of queued equals presses
+    private void submit(Runnable task) {
+        synchronized (this) {
+            pendingEquals = null;
+        }
+        computeExecutor.submit(answering(task));
+    }
+
+    //runs the task on the compute thread after all configuration submitted so far
+    public void whenConfigured(Runnable task) {
+        configure(task);
+    }
+
+    //continues the calculation saved on the last exit, submitted after the scene of the configured mode is attached
+    public void resumeSession() {
+        configure(() -> calculatorModel.resumeSession());
+    }
+
+    //waits for the queued operations and the save, a computation still running after the timeout is not waited for
+    public void saveSession(String displayText) {
+        CountDownLatch saved = new CountDownLatch(1);
+        configure(() -> {
+            try {
+                calculatorModel.saveSession(displayText);
+            } finally {
+                saved.countDown();
+            }
+        });
+        try {
+            saved.await(SESSION_SAVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void configure(Runnable task) {
+        synchronized (this) {
+            pendingEquals = null;
+        }
+        computeExecutor.submitUncancellable(answering(task));
     }
 
     @Override
     public void buttonDigitClicked() {
-        calculatorModel.displayTextActionHappened();
+        inputSequence.typed();
+        computeExecutor.cancelStale();
+        submit(keyPress("displayTextActionHappened", null, null, null, () -> calculatorModel.displayTextActionHappened()));
+    }
+
+    @Override
+    public void buttonClearEntryClicked(String number, CalculatorMode calculatorMode) {
+        computeExecutor.cancelPending();
+        submit(keyPress("clearEntry", calculatorMode, null, number,
+                () -> calculatorModel.clearEntry(number, calculatorMode)));
     }
 
     @Override
-    public void buttonClearEntryClicked(CalculatorMode calculatorMode) {
-        calculatorModel.clearEntry(calculatorMode);
+    public void buttonGlobalClearClicked(String number) {
+        computeExecutor.cancelPending();
+        submit(keyPress("clear", null, null, number, () -> calculatorModel.clear(number)));
     }
 
     @Override
-    public void buttonGlobalClearClicked() {
-        calculatorModel.clear();
+    public void undoClicked(String number, CalculatorMode calculatorMode) {
+        submit(keyPress("undo", calculatorMode, null, number, () -> calculatorModel.undo(number, calculatorMode)));
+    }
+
+    @Override
+    public void redoClicked(String number, CalculatorMode calculatorMode) {
+        submit(keyPress("redo", calculatorMode, null, number, () -> calculatorModel.redo(number, calculatorMode)));
     }
 
     @Override
     public void buttonCopyClicked() {
-        calculatorModel.copyValueToClipboard();
+        submit(() -> calculatorModel.copyValueToClipboard());
     }
 
     @Override
     public void buttonPasteClicked() {
-        calculatorModel.pasteValueFromClipboard();
+        submit(() -> calculatorModel.pasteValueFromClipboard());
+    }
+
+    @Override
+    public void historyScrolled(int end, CalculatorMode calculatorMode) {
+        submit(() -> calculatorModel.showHistoryWindow(end, calculatorMode));
+    }
+
+    @Override
+    public void globalHistorySearched(String query, LocalDate day, CalculatorMode calculatorMode) {
+        submit(() -> calculatorModel.searchGlobalHistory(query, day, calculatorMode));
+    }
+
+    @Override
+    public void globalHistoryRecalled(long index, CalculatorMode calculatorMode) {
+        submit(keyPress("recallFromGlobalHistory", calculatorMode, null, null,
+                () -> calculatorModel.recallFromGlobalHistory(index, calculatorMode)));
+    }
+
+    @Override
+    public void historyClicked(int offset, CalculatorMode calculatorMode) {
+        submit(() -> calculatorModel.selectTapeNode(offset, calculatorMode));
+    }
+
+    @Override
+    public void tapeOperandEdited(String number, int index, String operand, CalculatorMode calculatorMode) {
+        submit(keyPress("editTapeOperand", calculatorMode, null, operand,
+                () -> calculatorModel.editTapeOperand(number, index, operand, calculatorMode)));
+    }
+
+    @Override
+    public void tapeOperationEdited(String number, int index, CalculatorOperation operation,
+                                    CalculatorMode calculatorMode) {
+        submit(keyPress("editTapeOperation", calculatorMode, operation.name(), number,
+                () -> calculatorModel.editTapeOperation(number, index, operation, calculatorMode)));
+    }
+
+    //equals presses queued one after another, computed by the model in one step
+    private static final class EqualsRun {
+        private final String number;
+        private final CalculatorMode mode;
+        private int times = 1;
+
+        private EqualsRun(String number, CalculatorMode mode) {
+            this.number = number;
+            this.mode = mode;
+        }
+
+        private int close(Controller controller) {
+            synchronized (controller) {
+                if (controller.pendingEquals == this) {
+                    controller.pendingEquals = null;
+                }
+                return times;
+            }
+        }
     }
 }
@@ -9,6 +9,8 @@ import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOperation;
 import calculator.view.localization.Language;
 
+import java.time.LocalDate;
+
 public interface ControllerListener {
 
     void setNewObserver(CalculatorObserver calculatorObserver);
@@ -35,15 +37,33 @@ public interface ControllerListener {
 
     void memoryButtonClicked(String number, MemoryOperation memoryOperation, CalculatorMode mode);
 
+    void memorySlotSelected(int slot, CalculatorMode mode);
+
     void buttonEnterClicked(String number, CalculatorMode mode);
 
     void buttonDigitClicked();
 
-    void buttonClearEntryClicked(CalculatorMode calculatorMode);
+    void buttonClearEntryClicked(String number, CalculatorMode calculatorMode);
+
+    void buttonGlobalClearClicked(String number);
 
-    void buttonGlobalClearClicked();
+    void undoClicked(String number, CalculatorMode calculatorMode);
+
+    void redoClicked(String number, CalculatorMode calculatorMode);
 
     void buttonCopyClicked();
 
     void buttonPasteClicked();
+
+    void historyScrolled(int end, CalculatorMode calculatorMode);
+
+    void globalHistorySearched(String query, LocalDate day, CalculatorMode calculatorMode);
+
+    void globalHistoryRecalled(long index, CalculatorMode calculatorMode);
+
+    void historyClicked(int offset, CalculatorMode calculatorMode);
+
+    void tapeOperandEdited(String number, int index, String operand, CalculatorMode calculatorMode);
+
+    void tapeOperationEdited(String number, int index, CalculatorOperation operation, CalculatorMode calculatorMode);
 }
@@ -1,26 +1,41 @@
 package calculator.model;
 
 import calculator.model.configuration.Config;
+import calculator.model.history.GlobalHistory;
+import calculator.model.journal.OperationJournal;
 import calculator.model.memory.Memory;
 import calculator.model.memory.MemoryOperation;
+import calculator.model.metrics.CalculatorMetrics;
+import calculator.model.metrics.FlightRecording;
 import calculator.model.numbers.Complex;
 import calculator.model.numbers.Number;
 import calculator.model.observer.CalculatorObserver;
 import calculator.model.observer.ComplexCalculatorObserver;
+import calculator.model.observer.DispatchingCalculatorObserver;
 import calculator.model.observer.FractionCalculatorObserver;
+import calculator.model.observer.FxThreadExecutor;
+import calculator.model.observer.InputSequence;
 import calculator.model.observer.PNumberCalculatorObserver;
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOperation;
 import calculator.model.stats.CalculatorPrecision;
+import calculator.model.stats.CalculatorState;
 import calculator.model.stats.ErrorState;
-import calculator.model.utils.ConverterPToP;
 import calculator.model.utils.NumberConverter;
-import calculator.model.utils.exceptions.DivisionByZeroException;
-import calculator.model.utils.exceptions.OverflowException;
+import calculator.model.utils.dto.ExpressionNode;
+import calculator.model.utils.dto.ExpressionOperand;
+import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
+import calculator.model.utils.dto.Outcome;
+import calculator.model.utils.exceptions.CorruptedDataException;
 import calculator.view.localization.Language;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static calculator.model.utils.NumberConverter.commasToDots;
 import static calculator.model.utils.NumberConverter.dotsToCommas;
@@ -28,18 +43,30 @@ import static calculator.model.utils.NumberConverter.dotsToCommas;
 public class CalculatorModel {
 
     private static final int MAX_BASE = 16;
-    private static final int MAX_SCIENTIFIC_DIGITS_REAL = CalculatorPrecision.SCIENTIFIC_DIGITS_REAL.getPrecision();
-    private static final int MAX_SCIENTIFIC_DIGITS_FRACTION = CalculatorPrecision.SCIENTIFIC_DIGITS_FRACTION.getPrecision();
+    private static final int HISTORY_WINDOW_LENGTH = 44;
+    private static final int GLOBAL_HISTORY_SEARCH_LIMIT = 100;
     private int currentBase = 10;
+    private final ConversionSource conversionSource = new ConversionSource();
+    private final InputSequence inputSequence = new InputSequence();
+    private final UndoHistory undoHistory = new UndoHistory();
 
-    private CalculatorObserver calculatorObserver;
+    private final Executor viewExecutor;
+    private DispatchingCalculatorObserver calculatorObserver;
     private FractionCalculatorObserver fractionCalculatorObserver;
     private ComplexCalculatorObserver complexCalculatorObserver;
     private PNumberCalculatorObserver pNumberCalculatorObserver;
 
+    public CalculatorModel() {
+        this(FxThreadExecutor.INSTANCE);
+    }
+
+    public CalculatorModel(Executor viewExecutor) {
+        this.viewExecutor = viewExecutor;
+    }
+
     public void setCalculatorObserver(CalculatorObserver calculatorObserver) {
-        this.calculatorObserver = calculatorObserver;
-        Memory.INSTANCE.memoryClear();
+        this.calculatorObserver = new DispatchingCalculatorObserver(calculatorObserver, viewExecutor, inputSequence);
+        undoHistory.clear();
         resetModel();
     }
 
@@ -47,23 +74,70 @@ public class CalculatorModel {
         return calculatorObserver.getValue();
     }
 
+    public InputSequence getInputSequence() {
+        return inputSequence;
+    }
+
     public void setFractionCalculatorObserver(FractionCalculatorObserver fractionCalculatorObserver) {
-        this.fractionCalculatorObserver = fractionCalculatorObserver;
+        if (fractionCalculatorObserver == null) {
+            this.fractionCalculatorObserver = null;
+        } else {
+            Runnable caretReset = fractionCalculatorObserver::setCaretToNumerator;
+            this.fractionCalculatorObserver = () -> resetCaret(caretReset);
+        }
     }
 
     public void setComplexCalculatorObserver(ComplexCalculatorObserver complexCalculatorObserver) {
-        this.complexCalculatorObserver = complexCalculatorObserver;
+        if (complexCalculatorObserver == null) {
+            this.complexCalculatorObserver = null;
+        } else {
+            Runnable caretReset = complexCalculatorObserver::setCaretToRealPart;
+            this.complexCalculatorObserver = () -> resetCaret(caretReset);
+        }
     }
 
     public void setPNumberCalculatorObserver(PNumberCalculatorObserver pNumberCalculatorObserver) {
-        this.pNumberCalculatorObserver = pNumberCalculatorObserver;
+        this.pNumberCalculatorObserver = pNumberCalculatorObserver == null ? null
+                : base -> executeInView(() -> pNumberCalculatorObserver.setBase(base));
+        conversionSource.clear();
         currentBase = 10;
-        if (pNumberCalculatorObserver != null) {
-            pNumberCalculatorObserver.setBase(10);
+        if (this.pNumberCalculatorObserver != null) {
+            this.pNumberCalculatorObserver.setBase(10);
+        }
+    }
+
+    //caret resets are view state merged with the other updates of the key press
+    private void resetCaret(Runnable caretReset) {
+        if (calculatorObserver != null) {
+            calculatorObserver.resetCaret(caretReset);
+        } else {
+            viewExecutor.execute(caretReset);
+        }
+    }
+
+    private void executeInView(Runnable viewTask) {
+        if (calculatorObserver != null) {
+            calculatorObserver.execute(viewTask);
+        } else {
+            viewExecutor.execute(viewTask);
+        }
+    }
+
+    public void setBusy(boolean busy) {
+        if (calculatorObserver != null) {
+            calculatorObserver.setBusy(busy);
         }
     }
 
+    //called on the compute thread after a stale computation was cancelled, the half-done operation is dropped
+    public void computationCancelled() {
+        resetModel();
+        calculatorObserver.setHistoryWindow(HistoryWindow.EMPTY);
+        calculatorObserver.clearResultAfterEnteringDigit();
+    }
+
     private void resetModel() {
+        conversionSource.clear();
         calculatorObserver.setBackSpaceEnabled(true);
         ControlUnit.INSTANCE.resetCalculator();
         toggleCaretIfComplexOrFraction();
@@ -77,8 +151,11 @@ public class CalculatorModel {
         calculatorObserver.updateDigitButtons(buttonsToUpdate);
     }
 
+    //operation signs in the history may be translated, the rendered history is dropped and shown again
     public void setLanguageToConfig(Language language) {
         Config.setLanguage(language);
+        LocalHistory.INSTANCE.languageChanged();
+        setHistoryOnDisplay(Config.getCalculatorMode());
     }
 
     public void setCalculatorModeToConfig(CalculatorMode calculatorMode) {
@@ -91,10 +168,137 @@ public class CalculatorModel {
         calculatorObserver.updateCalculatorMode(Config.getCalculatorMode());
     }
 
+    //every mode has its own memory slots, they are shown when the scene of the mode is set
+    public void readMemoryInformation() {
+        Memory.INSTANCE.selectBank(Config.getCalculatorMode());
+        showMemory();
+    }
+
+    public void memorySlotSelected(int slot, CalculatorMode calculatorMode) {
+        Memory.INSTANCE.selectBank(calculatorMode);
+        Memory.INSTANCE.selectSlot(slot);
+        showMemory();
+    }
+
     public void readLanguageFromConfig() {
         calculatorObserver.updateLanguage(Config.getLanguage());
     }
 
+    //the shown digits are read per result, a changed precision applies to the next one
+    private static int scientificDigitsReal() {
+        return Config.getPrecision(CalculatorPrecision.SCIENTIFIC_DIGITS_REAL);
+    }
+
+    private static int scientificDigitsFraction() {
+        return Config.getPrecision(CalculatorPrecision.SCIENTIFIC_DIGITS_FRACTION);
+    }
+
+    //saves what is needed to continue the calculation on the next start, the display text comes from the view
+    public void saveSession(String displayText) {
+        SessionStore.INSTANCE.save(SessionSnapshot.capture(Config.getCalculatorMode(), currentBase, displayText));
+    }
+
+    //called after the scene of the configured mode is attached, the value is shown before the history is decoded
+    public void resumeSession() {
+        CalculatorMode calculatorMode = Config.getCalculatorMode();
+        SessionSnapshot session = SessionStore.INSTANCE.load();
+        if (session == null || session.getCalculatorMode() != calculatorMode) {
+            return;
+        }
+        session.restoreState();
+        resumeDisplay(session, calculatorMode);
+        showRestoredInput(session.getState());
+        try {
+            session.restoreHistory();
+        } catch (CorruptedDataException | IllegalArgumentException e) {
+            LocalHistory.INSTANCE.reset();
+        }
+        setHistoryOnDisplay(calculatorMode);
+    }
+
+    //a p-number value is shown in base 10 and converted by the view when it moves the slider to the saved base
+    private void resumeDisplay(SessionSnapshot session, CalculatorMode calculatorMode) {
+        currentBase = calculatorMode == CalculatorMode.P_NUMBER ? session.getBase() : 10;
+        Outcome<Number> value = parseStringToNumber(session.getDisplayText(), calculatorMode, currentBase);
+        currentBase = 10;
+        if (value.isFailure()) {
+            return;
+        }
+        if (calculatorMode != CalculatorMode.P_NUMBER) {
+            calculatorObserver.setResult(session.getDisplayText());
+            return;
+        }
+        Outcome<String> text = NumberConverter.toDisplayString(value.getValue(), calculatorMode, currentBase,
+                scientificDigitsReal(), scientificDigitsFraction());
+        if (text.isFailure()) {
+            return;
+        }
+        String shownText = dotsToCommas(text.getValue());
+        calculatorObserver.setResult(shownText);
+        conversionSource.retain(value.getValue(), shownText, currentBase);
+        if (pNumberCalculatorObserver != null) {
+            pNumberCalculatorObserver.setBase(session.getBase());
+        }
+    }
+
+    //the shown value is not typed anymore after an operator or equals, the next digit starts a new one
+    private void showRestoredInput(CalculatorState state) {
+        if (state == CalculatorState.OPERATOR_SET || state == CalculatorState.EQUALS_PRESSED) {
+            calculatorObserver.clearResultAfterEnteringDigit();
+            calculatorObserver.setBackSpaceEnabled(false);
+        } else {
+            calculatorObserver.setBackSpaceEnabled(true);
+        }
+    }
+
+    public void undo(String valueOnDisplay, CalculatorMode calculatorMode) {
+        UndoHistory.State state = undoHistory.undo(UndoHistory.State.capture(valueOnDisplay, currentBase));
+        if (state != null) {
+            OperationJournal.INSTANCE.undone();
+        }
+        showUndoState(state, calculatorMode);
+    }
+
+    public void redo(String valueOnDisplay, CalculatorMode calculatorMode) {
+        UndoHistory.State state = undoHistory.redo(UndoHistory.State.capture(valueOnDisplay, currentBase));
+        if (state != null) {
+            OperationJournal.INSTANCE.redone();
+        }
+        showUndoState(state, calculatorMode);
+    }
+
+    private void recordUndo(String valueOnDisplay) {
+        OperationJournal.INSTANCE.undoStepRecorded();
+        undoHistory.record(UndoHistory.State.capture(valueOnDisplay, currentBase));
+    }
+
+    private void showUndoState(UndoHistory.State state, CalculatorMode calculatorMode) {
+        if (state == null) {
+            return;
+        }
+        state.restore();
+        conversionSource.clear();
+        calculatorObserver.setResult(undoDisplayText(state, calculatorMode));
+        showRestoredInput(state.getState());
+        setHistoryOnDisplay(calculatorMode);
+        toggleCaretIfComplexOrFraction();
+    }
+
+    //the base may have been changed since the state was recorded, the value is shown in the current one
+    private String undoDisplayText(UndoHistory.State state, CalculatorMode calculatorMode) {
+        String text = state.getDisplayText();
+        if (calculatorMode != CalculatorMode.P_NUMBER || state.getBase() == currentBase || text.isEmpty()) {
+            return text;
+        }
+        Outcome<Number> value = parseStringToNumber(text, calculatorMode, state.getBase());
+        if (value.isFailure()) {
+            return text;
+        }
+        Outcome<String> converted = NumberConverter.toDisplayString(value.getValue(), calculatorMode, currentBase,
+                scientificDigitsReal(), scientificDigitsFraction());
+        return converted.isFailure() ? text : dotsToCommas(converted.getValue());
+    }
+
     public void copyValueToClipboard() {
         calculatorObserver.copyValueToClipboard();
     }
@@ -104,78 +308,225 @@ public class CalculatorModel {
     }
 
     public void operationPressed(String valueOnDisplay, CalculatorOperation operation, CalculatorMode calculatorMode) {
-        Number number = NumberConverter.stringToNumber(valueOnDisplay, calculatorMode, currentBase);
+        Outcome<Number> number = NumberConverter.parseNumber(valueOnDisplay, calculatorMode, currentBase);
+        if (number.isFailure()) {
+            setErrorState(number.getErrorState(), calculatorMode);
+            return;
+        }
 
         if (operation.equals(CalculatorOperation.IM_NEGATE)) {
-            changeImSignOperation(number);
+            changeImSignOperation(number.getValue());
             return;
         }
 
-        if (!performOperator(number, calculatorMode, operation)) {
+        recordUndo(valueOnDisplay);
+        Outcome<Number> result = ControlUnit.INSTANCE.operatorPressed(number.getValue(), operation);
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), calculatorMode);
             return;
         }
 
-        if (ControlUnit.INSTANCE.needToSetResult()) {
-            try {
-                setResult(calculatorMode);
-            } catch (OverflowException e) {
-                setErrorState(ErrorState.OVERFLOW, calculatorMode);
-                return;
-            }
+        //the view starts a new value itself when it sends the operation, a clear sent from here could come after
+        //the next digit
+        if (ControlUnit.INSTANCE.needToSetResult() && !setResult(calculatorMode)) {
+            return;
         }
-        calculatorObserver.setBackSpaceEnabled(false);
-        calculatorObserver.clearResultAfterEnteringDigit();
         setHistoryOnDisplay(calculatorMode);
         toggleCaretIfComplexOrFraction();
     }
 
     public void equalsPressed(String valueOnDisplay, CalculatorMode calculatorMode) {
-        Number number = NumberConverter.stringToNumber(valueOnDisplay, calculatorMode, currentBase);
+        equalsPressed(valueOnDisplay, calculatorMode, 1);
+    }
 
-        if (!performEquals(number, calculatorMode)) {
+    public void equalsPressed(String valueOnDisplay, CalculatorMode calculatorMode, int times) {
+        Outcome<Number> number = NumberConverter.parseNumber(valueOnDisplay, calculatorMode, currentBase);
+        if (number.isFailure()) {
+            setErrorState(number.getErrorState(), calculatorMode);
             return;
         }
-        if (ControlUnit.INSTANCE.needToSetResult()) {
-            try {
-                setResult(calculatorMode);
-            } catch (OverflowException e) {
-                setErrorState(ErrorState.OVERFLOW, calculatorMode);
+
+        recordUndo(valueOnDisplay);
+        String expression = GlobalHistory.INSTANCE.isEnabled()
+                ? completedExpression(number.getValue(), calculatorMode) : null;
+        Outcome<Number> result = ControlUnit.INSTANCE.equalsPressed(number.getValue(), times);
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), calculatorMode);
+            return;
+        }
+        boolean computed = ControlUnit.INSTANCE.needToSetResult();
+        if (computed && !setResult(calculatorMode)) {
+            return;
+        }
+        if (computed && expression != null) {
+            Number resultValue = ControlUnit.INSTANCE.getResultValue();
+            GlobalHistory.INSTANCE.append(System.currentTimeMillis(), calculatorMode, expression,
+                    baseTenText(resultValue, calculatorMode), resultValue);
+        }
+        setHistoryOnDisplay(calculatorMode);
+        toggleCaretIfComplexOrFraction();
+    }
+
+    //equals resets the history, so the expression it completes is taken before, in base 10 as the global history is
+    private String completedExpression(Number operand, CalculatorMode calculatorMode) {
+        LocalHistory history = LocalHistory.INSTANCE;
+        String operandText = baseTenText(operand, calculatorMode);
+        if (history.historyIsEmpty()) {
+            CalculatorOperation operation = Processor.INSTANCE.getOperation();
+            Number rightOperand = Processor.INSTANCE.getRightOperand();
+            if (operation == null || operation.isUnary() || rightOperand == null) {
+                return operandText;
+            }
+            return operandText + operation.getMathSign() + baseTenText(rightOperand, calculatorMode);
+        }
+        String text = dotsToCommas(history.toString(10));
+        return history.lastIsOperand() ? text : text + operandText;
+    }
+
+    private String baseTenText(Number number, CalculatorMode calculatorMode) {
+        Outcome<String> text = NumberConverter.toDisplayString(number, calculatorMode, 10, scientificDigitsReal(),
+                scientificDigitsFraction());
+        return dotsToCommas(text.isFailure() ? number.toString() : text.getValue());
+    }
+
+    //an empty query lists the latest results of the mode, any other is a value looked up among the results
+    public void searchGlobalHistory(String query, LocalDate day, CalculatorMode calculatorMode) {
+        String resultText = null;
+        if (!query.isEmpty()) {
+            Outcome<Number> value = NumberConverter.parseNumber(query, calculatorMode, 10);
+            if (value.isFailure()) {
+                calculatorObserver.showGlobalHistory(Collections.emptyList());
                 return;
             }
+            resultText = baseTenText(value.getValue(), calculatorMode);
         }
+        calculatorObserver.showGlobalHistory(GlobalHistory.INSTANCE.search(calculatorMode, day, resultText,
+                GLOBAL_HISTORY_SEARCH_LIMIT));
+    }
+
+    //the recalled result is entered as if it was typed
+    public void recallFromGlobalHistory(long index, CalculatorMode calculatorMode) {
+        HistoryRecord record = GlobalHistory.INSTANCE.read(index);
+        if (record == null || record.getCalculatorMode() != calculatorMode) {
+            return;
+        }
+        Outcome<String> result = NumberConverter.toDisplayString(record.getResult(), calculatorMode, currentBase,
+                scientificDigitsReal(), scientificDigitsFraction());
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), calculatorMode);
+            return;
+        }
+        String text = dotsToCommas(result.getValue());
+        ControlUnit.INSTANCE.enteringNewValue();
+        calculatorObserver.setResult(text);
+        if (calculatorMode == CalculatorMode.P_NUMBER) {
+            conversionSource.retain(record.getResult(), text, currentBase);
+        }
+        calculatorObserver.setBackSpaceEnabled(false);
         calculatorObserver.clearResultAfterEnteringDigit();
-        setHistoryOnDisplay(calculatorMode);
         toggleCaretIfComplexOrFraction();
     }
 
     public void memoryOperationPressed(String valueOnDisplay, MemoryOperation memoryOperation, CalculatorMode calculatorMode) {
-        Number number = NumberConverter.stringToNumber(valueOnDisplay, calculatorMode, currentBase);
+        Outcome<Number> number = NumberConverter.parseNumber(valueOnDisplay, calculatorMode, currentBase);
+        if (number.isFailure()) {
+            setErrorState(number.getErrorState(), calculatorMode);
+            return;
+        }
 
-        ControlUnit.INSTANCE.memoryOperationPressed(number, memoryOperation);
+        if (memoryOperation == MemoryOperation.MEMORY_READ) {
+            recordUndo(valueOnDisplay);
+        }
+        Memory.INSTANCE.selectBank(calculatorMode);
+        ControlUnit.INSTANCE.memoryOperationPressed(number.getValue(), memoryOperation);
         toggleMemoryButtons(memoryOperation);
-        if (memoryOperation.equals(MemoryOperation.MEMORY_READ) && ControlUnit.INSTANCE.getResultValue() != null) {
-            try {
-                setResult(calculatorMode);
-            } catch (OverflowException e) {
-                setErrorState(ErrorState.OVERFLOW, calculatorMode);
-                return;
-            }
+        if (memoryOperation.equals(MemoryOperation.MEMORY_READ) && ControlUnit.INSTANCE.getResultValue() != null
+                && !setResult(calculatorMode)) {
+            return;
         }
-        calculatorObserver.clearResultAfterEnteringDigit();
         toggleCaretIfComplexOrFraction();
     }
 
+    //a clicked operand or operation of the history is offered for editing while the next operand is awaited
+    public void selectTapeNode(int offset, CalculatorMode calculatorMode) {
+        if (!Tape.isEditable()) {
+            return;
+        }
+        int index = LocalHistory.INSTANCE.nodeAt(historyBase(calculatorMode), offset);
+        if (index < 0) {
+            return;
+        }
+        ExpressionNode node = LocalHistory.INSTANCE.getNode(index);
+        if (node instanceof ExpressionOperation) {
+            calculatorObserver.editTapeNode(index, node.toString(), false);
+            return;
+        }
+        Outcome<String> text = NumberConverter.toDisplayString(((ExpressionOperand) node).getNumber(), calculatorMode,
+                historyBase(calculatorMode), scientificDigitsReal(), scientificDigitsFraction());
+        if (text.isSuccess()) {
+            calculatorObserver.editTapeNode(index, dotsToCommas(text.getValue()), true);
+        }
+    }
+
+    //an operand that can not be read or an edit that can not be computed leaves the tape, the view asks again
+    public void editTapeOperand(String valueOnDisplay, int index, String operand, CalculatorMode calculatorMode) {
+        if (!isTapeNode(index, ExpressionOperand.class)) {
+            return;
+        }
+        Outcome<Number> number = NumberConverter.parseNumber(operand, calculatorMode, historyBase(calculatorMode));
+        if (number.isFailure()) {
+            calculatorObserver.tapeEditFailed(index, operand, true, number.getErrorState());
+            return;
+        }
+        recordUndo(valueOnDisplay);
+        showTapeEdit(ControlUnit.INSTANCE.tapeOperandEdited(index, number.getValue()), index, operand, true,
+                calculatorMode);
+    }
+
+    public void editTapeOperation(String valueOnDisplay, int index, CalculatorOperation operation,
+                                  CalculatorMode calculatorMode) {
+        if (!operation.isUnary() && isTapeNode(index, ExpressionOperation.class)) {
+            recordUndo(valueOnDisplay);
+            showTapeEdit(ControlUnit.INSTANCE.tapeOperationEdited(index, operation), index, operation.getMathSign(),
+                    false, calculatorMode);
+        }
+    }
+
+    //the tape may have changed since the node was offered
+    private boolean isTapeNode(int index, Class<? extends ExpressionNode> type) {
+        return Tape.isEditable() && index >= 0 && index < LocalHistory.INSTANCE.snapshot().size()
+                && type.isInstance(LocalHistory.INSTANCE.getNode(index));
+    }
+
+    private void showTapeEdit(Outcome<Number> result, int index, String text, boolean operand,
+                              CalculatorMode calculatorMode) {
+        if (result.isFailure()) {
+            calculatorObserver.tapeEditFailed(index, text, operand, result.getErrorState());
+            return;
+        }
+        if (ControlUnit.INSTANCE.needToSetResult() && !setResult(calculatorMode)) {
+            return;
+        }
+        setHistoryOnDisplay(calculatorMode);
+        toggleCaretIfComplexOrFraction();
+    }
+
+    //the shown value was edited, it is not the one kept for conversions anymore
     public void displayTextActionHappened() {
+        conversionSource.typed(currentBase);
         ControlUnit.INSTANCE.enteringNewValue();
         calculatorObserver.setBackSpaceEnabled(true);
     }
 
-    public void clear() {
+    public void clear(String valueOnDisplay) {
+        recordUndo(valueOnDisplay);
         resetModel();
         calculatorObserver.setBackSpaceEnabled(true);
     }
 
-    public void clearEntry(CalculatorMode calculatorMode) {
+    public void clearEntry(String valueOnDisplay, CalculatorMode calculatorMode) {
+        recordUndo(valueOnDisplay);
+        conversionSource.typed(currentBase);
         ControlUnit.INSTANCE.enteringNewValue();
         calculatorObserver.setBackSpaceEnabled(true);
         LocalHistory.INSTANCE.popOperand();
@@ -183,71 +534,79 @@ public class CalculatorModel {
         toggleCaretIfComplexOrFraction();
     }
 
+    //a value the model showed is converted from its exact value, any other text is parsed in the base it was typed in
     public void convertAll(String valueOnDisplay, int oldBase, int newBase) {
-        currentBase = oldBase;
-        try {
-            valueOnDisplay = parseStringToNumber(valueOnDisplay, CalculatorMode.P_NUMBER, oldBase).toString();
-            valueOnDisplay = ConverterPToP.convert10ToPAdaptive(valueOnDisplay, newBase);
-            valueOnDisplay = NumberConverter.toScientificIfNeeded(valueOnDisplay, CalculatorMode.P_NUMBER, MAX_SCIENTIFIC_DIGITS_REAL, MAX_SCIENTIFIC_DIGITS_FRACTION);
-        } catch (OverflowException e) {
-            setErrorState(ErrorState.OVERFLOW, CalculatorMode.P_NUMBER);
-            return;
-        } catch (RuntimeException e) {
-            setErrorState(ErrorState.WRONG_DATA, CalculatorMode.P_NUMBER);
-            return;
+        currentBase = conversionSource.baseOf(oldBase);
+        Number value = conversionSource.valueOf(valueOnDisplay);
+        if (value == null) {
+            Outcome<Number> number = parseStringToNumber(valueOnDisplay, CalculatorMode.P_NUMBER, currentBase);
+            if (number.isFailure()) {
+                setErrorState(number.getErrorState(), CalculatorMode.P_NUMBER);
+                return;
+            }
+            value = number.getValue();
+            conversionSource.retain(value, valueOnDisplay, currentBase);
         }
-        try {
-            calculatorObserver.setResult(dotsToCommas(valueOnDisplay));
-        } catch (OverflowException e) {
-            setErrorState(ErrorState.OVERFLOW, CalculatorMode.P_NUMBER);
+        Outcome<String> result = NumberConverter.toDisplayString(value, CalculatorMode.P_NUMBER, newBase,
+                scientificDigitsReal(), scientificDigitsFraction());
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), CalculatorMode.P_NUMBER);
             return;
         }
+        String text = dotsToCommas(result.getValue());
+        calculatorObserver.setResult(text);
+        conversionSource.shown(text, newBase);
         currentBase = newBase;
+        OperationJournal.INSTANCE.baseChanged(newBase);
         setHistoryOnDisplay(CalculatorMode.P_NUMBER);
     }
 
+    //the view scrolled the history, it gets the window ending at the requested position
+    public void showHistoryWindow(int end, CalculatorMode calculatorMode) {
+        calculatorObserver.setHistoryWindow(LocalHistory.INSTANCE.window(historyBase(calculatorMode), end,
+                HISTORY_WINDOW_LENGTH));
+    }
+
+    //only the visible tail of the history is sent to the view, segments rendered before are reused
     private void setHistoryOnDisplay(CalculatorMode calculatorMode) {
-        if (calculatorMode.equals(CalculatorMode.P_NUMBER)) {
-            calculatorObserver.setHistoryText(dotsToCommas(LocalHistory.INSTANCE.toString(currentBase)));
-        } else {
-            calculatorObserver.setHistoryText(dotsToCommas(LocalHistory.INSTANCE.toString()));
-        }
+        Object event = FlightRecording.beginHistoryRender();
+        HistoryWindow historyWindow = LocalHistory.INSTANCE.window(historyBase(calculatorMode), Integer.MAX_VALUE,
+                HISTORY_WINDOW_LENGTH);
+        calculatorObserver.setHistoryWindow(historyWindow);
+        FlightRecording.endHistoryRender(event, calculatorMode, currentBase, historyWindow.getLength());
+    }
+
+    private int historyBase(CalculatorMode calculatorMode) {
+        return calculatorMode.equals(CalculatorMode.P_NUMBER) ? currentBase : 10;
     }
 
     public void pasteFromClipboard(String data, CalculatorMode calculatorMode) {
-        try {
-            data = parseClipboardString(data, calculatorMode);
-        } catch (OverflowException e) {
-            setErrorState(ErrorState.OVERFLOW, calculatorMode);
+        Outcome<Number> number = parseStringToNumber(data, calculatorMode, 10);
+        if (number.isFailure()) {
+            setErrorState(number.getErrorState(), calculatorMode);
             return;
-        } catch (RuntimeException e) {
-            setErrorState(ErrorState.WRONG_DATA, calculatorMode);
+        }
+        Outcome<String> result = NumberConverter.formatScientific(number.getValue().toString(), calculatorMode,
+                scientificDigitsReal(), scientificDigitsFraction());
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), calculatorMode);
             return;
         }
         displayTextActionHappened();
-        calculatorObserver.setResult(data);
-    }
-
-    private String parseClipboardString(String data, CalculatorMode calculatorMode) {
-        data = parseStringToNumber(data, calculatorMode, 10).toString();
-
-        data = NumberConverter.toScientificIfNeeded(data, calculatorMode, MAX_SCIENTIFIC_DIGITS_REAL, MAX_SCIENTIFIC_DIGITS_FRACTION);
-        return dotsToCommas(data);
+        calculatorObserver.setResult(dotsToCommas(result.getValue()));
     }
 
-    private Number parseStringToNumber(String data, CalculatorMode calculatorMode, int baseOfData) {
+    private Outcome<Number> parseStringToNumber(String data, CalculatorMode calculatorMode, int baseOfData) {
         data = commasToDots(data);
-        if (data.isEmpty()) {
-            throw new IllegalArgumentException("data is empty");
-        }
-        if (!checkStringBeforeParse(data, calculatorMode)) {
-            throw new IllegalArgumentException("data is wrong");
+        if (data.isEmpty() || !checkStringBeforeParse(data, calculatorMode)) {
+            return Outcome.failure(ErrorState.WRONG_DATA);
         }
-        return NumberConverter.stringToNumber(data, calculatorMode, baseOfData);
+        return NumberConverter.parseNumber(data, calculatorMode, baseOfData);
     }
 
     public void setBase(int base) {
         currentBase = base;
+        OperationJournal.INSTANCE.baseChanged(base);
     }
 
     private boolean checkStringBeforeParse(String data, CalculatorMode calculatorMode) {
@@ -271,35 +630,23 @@ public class CalculatorModel {
         return true;
     }
 
-    private void setResult(CalculatorMode calculatorMode) {
-        String result = ControlUnit.INSTANCE.getResultValue().toString();
+    private boolean setResult(CalculatorMode calculatorMode) {
+        long start = CalculatorMetrics.start();
+        Outcome<String> result = NumberConverter.toDisplayString(ControlUnit.INSTANCE.getResultValue(), calculatorMode,
+                currentBase, scientificDigitsReal(), scientificDigitsFraction());
+        if (result.isFailure()) {
+            setErrorState(result.getErrorState(), calculatorMode);
+            return false;
+        }
+        String text = dotsToCommas(result.getValue());
+        calculatorObserver.setResult(text);
         if (calculatorMode.equals(CalculatorMode.P_NUMBER)) {
-            result = ConverterPToP.convert10ToPAdaptive(result, currentBase);
+            conversionSource.retain(ControlUnit.INSTANCE.getResultValue(), text, currentBase);
         }
-        result = NumberConverter.toScientificIfNeeded(result, calculatorMode, MAX_SCIENTIFIC_DIGITS_REAL, MAX_SCIENTIFIC_DIGITS_FRACTION);
-        calculatorObserver.setResult(dotsToCommas(result));
         ControlUnit.INSTANCE.resultIsSet();
 
         calculatorObserver.setBackSpaceEnabled(false);
-    }
-
-    private boolean performEquals(Number number, CalculatorMode calculatorMode) {
-        try {
-            ControlUnit.INSTANCE.equalsPressed(number);
-        } catch (DivisionByZeroException e) {
-            setErrorState(ErrorState.DIVISION_BY_ZERO, calculatorMode);
-            return false;
-        }
-        return true;
-    }
-
-    private boolean performOperator(Number number, CalculatorMode calculatorMode, CalculatorOperation calculatorOperation) {
-        try {
-            ControlUnit.INSTANCE.operatorPressed(number, calculatorOperation);
-        } catch (DivisionByZeroException e) {
-            setErrorState(ErrorState.DIVISION_BY_ZERO, calculatorMode);
-            return false;
-        }
+        CalculatorMetrics.result(calculatorMode, start);
         return true;
     }
 
@@ -309,8 +656,6 @@ public class CalculatorModel {
         calculatorObserver.clearResultAfterEnteringDigit();
         toggleCaretIfComplexOrFraction();
         setHistoryOnDisplay(calculatorMode);
-        Memory.INSTANCE.memoryClear();
-        calculatorObserver.disableMemoryButtons(true);
 
         currentBase = 10;
         if (pNumberCalculatorObserver != null) {
@@ -321,6 +666,7 @@ public class CalculatorModel {
     private void toggleMemoryButtons(MemoryOperation memoryOperation) {
         switch (memoryOperation) {
             case MEMORY_ADD:
+            case MEMORY_SUBTRACT:
             case MEMORY_SAVE:
                 calculatorObserver.disableMemoryButtons(false);
                 break;
@@ -330,6 +676,11 @@ public class CalculatorModel {
         }
     }
 
+    private void showMemory() {
+        calculatorObserver.setMemorySlot(Memory.INSTANCE.getSelectedSlot());
+        calculatorObserver.disableMemoryButtons(Memory.INSTANCE.memoryRead() == null);
+    }
+
     private void toggleCaretIfComplexOrFraction() {
         if (complexCalculatorObserver != null) {
             complexCalculatorObserver.setCaretToRealPart();
@@ -342,6 +693,7 @@ public class CalculatorModel {
     private void changeImSignOperation(Number number) {
         Complex complex = (Complex) number;
         complex = complex.negateIm();
+        ControlUnit.INSTANCE.enteringNewValue();
         calculatorObserver.setResult(dotsToCommas(complex.toString()));
     }
 }
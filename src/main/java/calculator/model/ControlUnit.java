@@ -1,10 +1,15 @@
 package calculator.model;
 
+import calculator.model.journal.OperationJournal;
 import calculator.model.memory.Memory;
 import calculator.model.memory.MemoryOperation;
 import calculator.model.numbers.Number;
 import calculator.model.stats.CalculatorOperation;
 import calculator.model.stats.CalculatorState;
+import calculator.model.utils.dto.ExpressionNode;
+import calculator.model.utils.dto.ExpressionOperand;
+import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.dto.Outcome;
 
 public class ControlUnit {
     public static final ControlUnit INSTANCE = new ControlUnit();
@@ -18,6 +23,7 @@ public class ControlUnit {
     }
 
     public void resetCalculator() {
+        OperationJournal.INSTANCE.cleared();
         Processor.INSTANCE.reset();
         state = CalculatorState.FIRST_OPERAND_INPUT;
         needToSetResult = false;
@@ -33,15 +39,23 @@ public class ControlUnit {
 //        System.out.println();
     }
 
-    public void equalsPressed(Number valueOnDisplay) {
+    public Outcome<Number> equalsPressed(Number valueOnDisplay) {
+        return equalsPressed(valueOnDisplay, 1);
+    }
+
+    private Outcome<Number> runEquals(Number valueOnDisplay) {
         debug();
+        Outcome<Number> outcome;
         switch (state) {
             case ERROR:
                 break;
             case FIRST_OPERAND_INPUT:
                 if (Processor.INSTANCE.getRightOperand() != null && Processor.INSTANCE.getOperation() != null) {
                     Processor.INSTANCE.setLeftResultOperand(valueOnDisplay);
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     needToSetResult = true;
                     state = CalculatorState.EQUALS_PRESSED;
                 }
@@ -49,13 +63,19 @@ public class ControlUnit {
             case OPERATOR_SET:
             case SECOND_OPERAND_INPUT:
                 Processor.INSTANCE.setRightOperand(valueOnDisplay);
-                Processor.INSTANCE.operationRun();
+                outcome = Processor.INSTANCE.operationRun();
+                if (outcome.isFailure()) {
+                    return outcome;
+                }
                 needToSetResult = true;
                 state = CalculatorState.EQUALS_PRESSED;
                 break;
             case EQUALS_PRESSED:
-                Processor.INSTANCE.setLeftResultOperand(valueOnDisplay);
-                Processor.INSTANCE.operationRun();
+                //the result is repeated as the model keeps it, the shown text may still be the one before
+                outcome = Processor.INSTANCE.operationRun();
+                if (outcome.isFailure()) {
+                    return outcome;
+                }
                 needToSetResult = true;
                 break;
             default:
@@ -64,10 +84,28 @@ public class ControlUnit {
         LocalHistory.INSTANCE.reset();
         newValue = true;
         resultValue = Processor.INSTANCE.getLeftResultOperand();
+        return Outcome.success(resultValue);
+    }
+
+    //the run of equals presses is computed at once: the first press takes the display value, the rest repeat the operation
+    public Outcome<Number> equalsPressed(Number valueOnDisplay, int times) {
+        OperationJournal.INSTANCE.equalsPressed(valueOnDisplay, times);
+        Outcome<Number> outcome = runEquals(valueOnDisplay);
+        if (outcome.isFailure() || times <= 1 || state != CalculatorState.EQUALS_PRESSED) {
+            return outcome;
+        }
+        outcome = Processor.INSTANCE.operationRepeat(times - 1);
+        if (outcome.isFailure()) {
+            return outcome;
+        }
+        resultValue = Processor.INSTANCE.getLeftResultOperand();
+        return Outcome.success(resultValue);
     }
 
-    public void operatorPressed(Number valueOnDisplay, CalculatorOperation operation) {
+    public Outcome<Number> operatorPressed(Number valueOnDisplay, CalculatorOperation operation) {
+        OperationJournal.INSTANCE.operatorPressed(valueOnDisplay, operation);
         debug();
+        Outcome<Number> outcome;
         CalculatorOperation operationInProcessor;
         switch (state) {
             case ERROR:
@@ -79,7 +117,10 @@ public class ControlUnit {
                     addNumberAndUnaryOperation(valueOnDisplay, operation);
                     operationInProcessor = Processor.INSTANCE.getOperation();
 
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     state = CalculatorState.FIRST_OPERAND_INPUT;
                     needToSetResult = true;
                     Processor.INSTANCE.setOperation(operationInProcessor);
@@ -97,7 +138,10 @@ public class ControlUnit {
                     operationInProcessor = Processor.INSTANCE.getOperation();
                     Processor.INSTANCE.setOperation(operation);
 
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     resultValue = Processor.INSTANCE.getLeftResultOperand();
 
                     Processor.INSTANCE.setRightOperand(Processor.INSTANCE.getLeftResultOperand());
@@ -105,7 +149,7 @@ public class ControlUnit {
                     Processor.INSTANCE.setOperation(operationInProcessor);
                     needToSetResult = true;
                     state = CalculatorState.SECOND_OPERAND_INPUT;
-                    return;
+                    return Outcome.success(resultValue);
                 } else {
                     changeBinaryOperation(operation);
                     Processor.INSTANCE.setOperation(operation);
@@ -121,7 +165,10 @@ public class ControlUnit {
                     Processor.INSTANCE.setOperation(operation);
                     Processor.INSTANCE.setLeftResultOperand(valueOnDisplay);
 
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     resultValue = Processor.INSTANCE.getLeftResultOperand();
 
                     Processor.INSTANCE.setRightOperand(Processor.INSTANCE.getLeftResultOperand());
@@ -129,12 +176,15 @@ public class ControlUnit {
                     Processor.INSTANCE.setOperation(operationInProcessor);
                     needToSetResult = true;
                     state = CalculatorState.SECOND_OPERAND_INPUT;
-                    return;
+                    return Outcome.success(resultValue);
                 } else {
                     addNumberAndBinaryOperation(valueOnDisplay, operation);
 
                     Processor.INSTANCE.setRightOperand(valueOnDisplay);
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     needToSetResult = true;
                     Processor.INSTANCE.setOperation(operation);
                     state = CalculatorState.OPERATOR_SET;
@@ -147,7 +197,10 @@ public class ControlUnit {
                     addNumberAndUnaryOperation(valueOnDisplay, operation);
                     operationInProcessor = Processor.INSTANCE.getOperation();
 
-                    Processor.INSTANCE.operationRun();
+                    outcome = Processor.INSTANCE.operationRun();
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
                     needToSetResult = true;
                     Processor.INSTANCE.setOperation(operationInProcessor);
                 } else {
@@ -159,9 +212,12 @@ public class ControlUnit {
                 break;
         }
         resultValue = Processor.INSTANCE.getLeftResultOperand();
+        return Outcome.success(resultValue);
     }
 
     public void memoryOperationPressed(Number valueOnDisplay, MemoryOperation operation) {
+        OperationJournal.INSTANCE.memoryOperationPressed(valueOnDisplay, operation, Memory.INSTANCE.getSelectedBank(),
+                Memory.INSTANCE.getSelectedSlot());
         debug();
         switch (operation) {
             case MEMORY_ADD:
@@ -169,6 +225,9 @@ public class ControlUnit {
                 break;
             case MEMORY_READ:
                 resultValue = Memory.INSTANCE.memoryRead();
+                if (resultValue != null) {
+                    valueEntered();
+                }
                 break;
             case MEMORY_SAVE:
                 Memory.INSTANCE.memorySave(valueOnDisplay);
@@ -176,11 +235,48 @@ public class ControlUnit {
             case MEMORY_CLEAR:
                 Memory.INSTANCE.memoryClear();
                 break;
+            case MEMORY_SUBTRACT:
+                Memory.INSTANCE.memorySubtract(valueOnDisplay);
+                break;
             default:
                 break;
         }
     }
 
+    //the unary operations of the operand are kept, only its number is replaced
+    public Outcome<Number> tapeOperandEdited(int index, Number number) {
+        OperationJournal.INSTANCE.tapeOperandEdited(index, number);
+        ExpressionOperand current = (ExpressionOperand) LocalHistory.INSTANCE.getNode(index);
+        ExpressionOperand edited = new ExpressionOperand(number);
+        for (int i = current.getUnaryOperations().size() - 1; i >= 0; i--) {
+            edited = edited.withUnaryOperation(current.getUnaryOperations().get(i).getOperation());
+        }
+        return editTape(index, edited);
+    }
+
+    public Outcome<Number> tapeOperationEdited(int index, CalculatorOperation operation) {
+        OperationJournal.INSTANCE.tapeOperationEdited(index, operation);
+        return editTape(index, new ExpressionOperation(operation));
+    }
+
+    //a failed edit leaves the tape as it was, the operands the recompute has changed are put back
+    //while an operator is set the shown value is the result of the tape, a value being typed is left as it is
+    private Outcome<Number> editTape(int index, ExpressionNode node) {
+        Number leftOperand = Processor.INSTANCE.getLeftResultOperand();
+        Number rightOperand = Processor.INSTANCE.getRightOperand();
+        CalculatorOperation operation = Processor.INSTANCE.getOperation();
+        Outcome<Number> outcome = Tape.INSTANCE.replace(index, node);
+        if (outcome.isFailure()) {
+            Processor.INSTANCE.setLeftResultOperand(leftOperand);
+            Processor.INSTANCE.setRightOperand(rightOperand);
+            Processor.INSTANCE.setOperation(operation);
+            return outcome;
+        }
+        resultValue = outcome.getValue();
+        needToSetResult = state == CalculatorState.OPERATOR_SET;
+        return outcome;
+    }
+
     public Number getResultValue() {
         return resultValue;
     }
@@ -193,7 +289,29 @@ public class ControlUnit {
         this.needToSetResult = false;
     }
 
+    CalculatorState getState() {
+        return state;
+    }
+
+    boolean isNewValue() {
+        return newValue;
+    }
+
+    //puts back the state of a saved session, the operands are restored into the processor separately
+    void restore(CalculatorState state, Number resultValue, boolean needToSetResult, boolean newValue) {
+        this.state = state;
+        this.resultValue = resultValue;
+        this.needToSetResult = needToSetResult;
+        this.newValue = newValue;
+    }
+
     public void enteringNewValue() {
+        OperationJournal.INSTANCE.digitEntered();
+        valueEntered();
+    }
+
+    //a value read from memory is entered as if it was typed
+    private void valueEntered() {
         if (state == CalculatorState.OPERATOR_SET) {
             state = CalculatorState.SECOND_OPERAND_INPUT;
         } else if (state == CalculatorState.EQUALS_PRESSED) {
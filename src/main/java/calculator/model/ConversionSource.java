@@ -0,0 +1,47 @@
+package calculator.model;
+
+import calculator.model.numbers.Number;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//exact value behind the number shown in p-number mode with its text in every base it was shown in,
+//a base change converts from the value and not from the rounded text of the previous base
+class ConversionSource {
+
+    private Number value;
+    private final Map<Integer, String> texts = new HashMap<>();
+    private int typedBase;
+
+    void retain(Number value, String text, int base) {
+        this.value = value;
+        texts.clear();
+        texts.put(base, text);
+        typedBase = 0;
+    }
+
+    void shown(String text, int base) {
+        texts.put(base, text);
+    }
+
+    //the text on display was typed or pasted in the base, it is parsed in it whatever base the view thinks it is in
+    void typed(int base) {
+        clear();
+        typedBase = base;
+    }
+
+    //the exact value if the text is one shown for it, a base change the view skipped leaves a text of another base
+    Number valueOf(String text) {
+        return value != null && texts.containsValue(text) ? value : null;
+    }
+
+    int baseOf(int base) {
+        return typedBase != 0 ? typedBase : base;
+    }
+
+    void clear() {
+        value = null;
+        texts.clear();
+        typedBase = 0;
+    }
+}
@@ -5,26 +5,43 @@ import calculator.model.stats.CalculatorOperation;
 import calculator.model.utils.dto.ExpressionNode;
 import calculator.model.utils.dto.ExpressionOperand;
 import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.PersistentStack;
+import calculator.model.utils.dto.HistoryWindow;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import static calculator.model.utils.NumberConverter.dotsToCommas;
+
 public class LocalHistory {
 
     public static final LocalHistory INSTANCE = new LocalHistory();
 
-    private LinkedList<ExpressionNode> historyList;
+    private static final int INITIAL_SEGMENTS_CAPACITY = 16;
+
+    //nodes are never changed in place, so an older stack kept for undo stays as it was
+    private PersistentStack<ExpressionNode> historyList;
+
+    //display text of every node and the end offset of it in the whole history, valid for the first renderedCount
+    //nodes in renderedBase, so an operation renders only the nodes it changed
+    private final List<String> segments = new ArrayList<>();
+    private int[] segmentEnds = new int[INITIAL_SEGMENTS_CAPACITY];
+    private int renderedCount;
+    private int renderedBase;
 
     private LocalHistory() {
-        historyList = new LinkedList<>();
+        historyList = PersistentStack.empty();
     }
 
     public void reset() {
-        historyList.clear();
+        historyList = PersistentStack.empty();
+        invalidateFrom(0);
     }
 
     public void addNumber(Number number) {
-        historyList.addLast(new ExpressionOperand(number));
+        historyList = historyList.push(new ExpressionOperand(number));
     }
 
     public void addOperation(CalculatorOperation operation) {
@@ -36,8 +53,8 @@ public class LocalHistory {
     }
 
     public void popOperand() {
-        if (!historyList.isEmpty() && historyList.getLast() instanceof ExpressionOperand) {
-            historyList.removeLast();
+        if (!historyList.isEmpty() && getLast() instanceof ExpressionOperand) {
+            removeLast();
         }
     }
 
@@ -45,34 +62,33 @@ public class LocalHistory {
         if (operation.isUnary()) {
             throw new IllegalArgumentException("Operation must be binary");
         }
-        historyList.addLast(new ExpressionOperation(operation));
+        historyList = historyList.push(new ExpressionOperation(operation));
     }
 
     public void addUnaryOperation(CalculatorOperation operation) {
         if (!operation.isUnary()) {
             throw new IllegalArgumentException("Operation must be unary");
         }
-        ExpressionNode operand = historyList.removeLast();
+        ExpressionNode operand = removeLast();
         if (!(operand instanceof ExpressionOperand)) {
             throw new NoSuchElementException("Last element of History must be operand");
         }
-        ((ExpressionOperand) (operand)).addUnaryOperation(operation);
-        historyList.addLast(operand);
+        historyList = historyList.push(((ExpressionOperand) operand).withUnaryOperation(operation));
     }
 
     public void changeLastOperation(CalculatorOperation operation) {
         if (operation.isUnary()) {
             throw new IllegalArgumentException("Operation must be binary");
         }
-        if (!(historyList.getLast() instanceof ExpressionOperation)) {
+        if (!(getLast() instanceof ExpressionOperation)) {
             throw new NoSuchElementException("Last element of History must be operand");
         }
-        historyList.removeLast();
-        historyList.addLast(new ExpressionOperation(operation));
+        removeLast();
+        historyList = historyList.push(new ExpressionOperation(operation));
     }
 
     public boolean lastIsOperand() {
-        return (historyList.getLast() instanceof ExpressionOperand);
+        return (getLast() instanceof ExpressionOperand);
     }
 
     public boolean historyIsEmpty() {
@@ -82,7 +98,7 @@ public class LocalHistory {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (ExpressionNode node : historyList) {
+        for (ExpressionNode node : historyList.toList()) {
             sb.append(node.toString());
         }
         return sb.toString();
@@ -90,7 +106,7 @@ public class LocalHistory {
 
     public String toString(int base) {
         StringBuilder sb = new StringBuilder();
-        for (ExpressionNode node : historyList) {
+        for (ExpressionNode node : historyList.toList()) {
             if (node instanceof ExpressionOperand) {
                 sb.append(((ExpressionOperand) node).toString(base));
             } else {
@@ -99,4 +115,121 @@ public class LocalHistory {
         }
         return sb.toString();
     }
+
+    List<ExpressionNode> getNodes() {
+        return historyList.top(historyList.size());
+    }
+
+    void restore(List<ExpressionNode> nodes) {
+        historyList = PersistentStack.of(nodes);
+        invalidateFrom(0);
+    }
+
+    PersistentStack<ExpressionNode> snapshot() {
+        return historyList;
+    }
+
+    //only the nodes the restored history does not share with the current one are rendered again
+    void restore(PersistentStack<ExpressionNode> nodes) {
+        invalidateFrom(PersistentStack.sharedSize(historyList, nodes));
+        historyList = nodes;
+    }
+
+    public void languageChanged() {
+        invalidateFrom(0);
+    }
+
+    //length of the whole history as displayed, operands written in the base
+    public int length(int base) {
+        render(base);
+        return renderedCount == 0 ? 0 : segmentEnds[renderedCount - 1];
+    }
+
+    //index of the node shown at the offset of the whole history, -1 if there is none
+    public int nodeAt(int base, int offset) {
+        int length = length(base);
+        return offset < 0 || offset >= length ? -1 : segmentAt(offset);
+    }
+
+    ExpressionNode getNode(int index) {
+        return historyList.top(historyList.size() - index).get(0);
+    }
+
+    //at most maxLength characters ending at end, which is moved into the history when it is outside of it
+    public HistoryWindow window(int base, int end, int maxLength) {
+        int length = length(base);
+        end = Math.max(Math.min(end, length), Math.min(length, maxLength));
+        int start = Math.max(0, end - maxLength);
+        if (start == end) {
+            return new HistoryWindow("", start, end, length);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        int segment = segmentAt(start);
+        int segmentStart = segment == 0 ? 0 : segmentEnds[segment - 1];
+        while (segmentStart < end) {
+            String text = segments.get(segment);
+            sb.append(text, Math.max(0, start - segmentStart), Math.min(text.length(), end - segmentStart));
+            segmentStart = segmentEnds[segment];
+            segment++;
+        }
+        return new HistoryWindow(sb.toString(), start, end, length);
+    }
+
+    private void render(int base) {
+        if (base != renderedBase) {
+            invalidateFrom(0);
+            renderedBase = base;
+        }
+        int size = historyList.size();
+        if (segmentEnds.length < size) {
+            segmentEnds = Arrays.copyOf(segmentEnds, Math.max(size, segmentEnds.length * 2));
+        }
+        List<ExpressionNode> nodes = historyList.top(size - renderedCount);
+        for (int i = renderedCount; i < size; i++) {
+            ExpressionNode node = nodes.get(i - renderedCount);
+            String text = node instanceof ExpressionOperand
+                    ? ((ExpressionOperand) node).toString(base) : node.toString();
+            text = dotsToCommas(text);
+            segments.add(text);
+            segmentEnds[i] = (i == 0 ? 0 : segmentEnds[i - 1]) + text.length();
+        }
+        renderedCount = size;
+    }
+
+    //first segment that ends after the offset
+    private int segmentAt(int offset) {
+        int low = 0;
+        int high = renderedCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (segmentEnds[middle] <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private ExpressionNode getLast() {
+        if (historyList.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return historyList.peek();
+    }
+
+    private ExpressionNode removeLast() {
+        ExpressionNode last = getLast();
+        int index = historyList.size() - 1;
+        historyList = historyList.pop();
+        invalidateFrom(index);
+        return last;
+    }
+
+    private void invalidateFrom(int index) {
+        if (renderedCount > index) {
+            renderedCount = index;
+            segments.subList(index, segments.size()).clear();
+        }
+    }
 }
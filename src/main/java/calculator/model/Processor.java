@@ -1,17 +1,28 @@
 package calculator.model;
 
+import calculator.model.cache.ResultCache;
+import calculator.model.metrics.CalculatorMetrics;
+import calculator.model.metrics.FlightRecording;
 import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
 import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorBudget;
 import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.ComputationBudget;
+import calculator.model.utils.ComputationGuard;
 import calculator.model.utils.MathUtils;
 import calculator.model.utils.NumberConstant;
-import calculator.model.utils.exceptions.DivisionByZeroException;
+import calculator.model.utils.dto.Outcome;
+import calculator.model.utils.exceptions.BudgetExceededException;
 
 import java.math.BigDecimal;
 
 public class Processor<T extends Number<T>> {
 
     public static final Processor INSTANCE = new Processor();
+    private static final int MAX_EXPONENT = 9999;
     private CalculatorOperation operation;
 
     private Number leftResultOperand;
@@ -38,7 +49,7 @@ public class Processor<T extends Number<T>> {
         rightOperand = null;
     }
 
-    public void operationRun() {
+    public Outcome<Number> operationRun() {
         if (leftResultOperand == null || operation == null) {
             throw new IllegalStateException("Left operand or operation is not set");
         }
@@ -50,50 +61,204 @@ public class Processor<T extends Number<T>> {
                         operation == CalculatorOperation.POW)) {
             throw new IllegalStateException("Right operand is not set");
         }
+        ErrorState errorState = checkOperands();
+        if (errorState != null) {
+            return Outcome.failure(errorState);
+        }
+        CalculatorOperation runningOperation = operation;
+        Number left = leftResultOperand;
+        Number result = null;
+        boolean cached = true;
+        Object event = FlightRecording.beginOperation();
+        long start = CalculatorMetrics.start();
+        ComputationBudget previousBudget = ComputationGuard.enter(CalculatorBudget.OPERATION);
+        try {
+            result = ResultCache.INSTANCE.get(operation, leftResultOperand, rightOperand);
+            if (result == null) {
+                cached = false;
+                result = calculate();
+                ResultCache.INSTANCE.put(operation, leftResultOperand, rightOperand, result);
+            }
+            ComputationGuard.checkDigits(result.digitCount());
+            leftResultOperand = result;
+            return Outcome.success(result);
+        } catch (BudgetExceededException e) {
+            return Outcome.failure(ErrorState.BUDGET_EXCEEDED);
+        } finally {
+            ComputationGuard.exit(previousBudget);
+            CalculatorMetrics.operation(runningOperation, start);
+            FlightRecording.endOperation(event, runningOperation, left, rightOperand, result, cached);
+        }
+    }
+
+    //runs the binary operation the given number of times, each time on the previous result, as repeated equals does
+    //the closed form is only taken where it gives the very number the single runs give, the rest is run step by step
+    public Outcome<Number> operationRepeat(int times) {
+        if (leftResultOperand == null || rightOperand == null || operation == null) {
+            throw new IllegalStateException("Left or right operand or operation is not set");
+        }
+        if (!repeatsInClosedForm(times)) {
+            for (int i = 0; i < times; i++) {
+                Outcome<Number> outcome = operationRun();
+                if (outcome.isFailure()) {
+                    return outcome;
+                }
+            }
+            return Outcome.success(leftResultOperand);
+        }
+        ErrorState errorState = checkOperands();
+        if (errorState != null) {
+            return Outcome.failure(errorState);
+        }
+        CalculatorOperation runningOperation = operation;
+        Number left = leftResultOperand;
+        Number result = null;
+        boolean cached = true;
+        Object event = FlightRecording.beginOperation();
+        long start = CalculatorMetrics.start();
+        ComputationBudget previousBudget = ComputationGuard.enter(CalculatorBudget.OPERATION);
+        try {
+            result = ResultCache.INSTANCE.get(operation, leftResultOperand, rightOperand, times);
+            if (result == null) {
+                cached = false;
+                result = calculateRepeat(times);
+                ResultCache.INSTANCE.put(operation, leftResultOperand, rightOperand, times, result);
+            }
+            ComputationGuard.checkDigits(result.digitCount());
+            leftResultOperand = result;
+            return Outcome.success(result);
+        } catch (BudgetExceededException e) {
+            return Outcome.failure(ErrorState.BUDGET_EXCEEDED);
+        } finally {
+            ComputationGuard.exit(previousBudget);
+            CalculatorMetrics.operation(runningOperation, start);
+            FlightRecording.endOperation(event, runningOperation, left, rightOperand, result, cached);
+        }
+    }
+
+    //fractions are exact, reals are exact while no result is rounded to their precision, complex numbers are rounded
+    //after every operation, so their runs are never taken at once
+    private boolean repeatsInClosedForm(int times) {
+        if (operation != CalculatorOperation.ADD && operation != CalculatorOperation.SUBTRACT
+                && operation != CalculatorOperation.MULTIPLY && operation != CalculatorOperation.DIVIDE) {
+            return false;
+        }
+        if (leftResultOperand instanceof Fraction) {
+            return true;
+        }
+        if (!(leftResultOperand instanceof Real)) {
+            return false;
+        }
+        BigDecimal left = leftResultOperand.toBigDecimal();
+        BigDecimal right = rightOperand.toBigDecimal();
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+                //the sums in between lie between the first and the last one, so none is longer than both
+                BigDecimal step = operation == CalculatorOperation.ADD ? right : right.negate();
+                BigDecimal total = step.multiply(BigDecimal.valueOf(times));
+                return total.precision() <= Real.PRECISION && left.add(step).precision() <= Real.PRECISION
+                        && left.add(total).precision() <= Real.PRECISION;
+            case MULTIPLY:
+                //a product has at most the digits of both factors
+                return left.precision() + (long) right.precision() * times <= Real.PRECISION;
+            default:
+                //every quotient is rounded to the scale of a real
+                return false;
+        }
+    }
+
+    private Number calculateRepeat(int times) {
+        switch (operation) {
+            case ADD:
+                return leftResultOperand.add(multiple(rightOperand, times));
+            case SUBTRACT:
+                return leftResultOperand.subtract(multiple(rightOperand, times));
+            case MULTIPLY:
+                return leftResultOperand.multiply(power(rightOperand, times));
+            default:
+                return leftResultOperand.divide(power(rightOperand, times));
+        }
+    }
+
+    //n * number by doubling, so only additions of the number's own type are needed
+    private static Number multiple(Number number, int n) {
+        Number result = null;
+        Number addend = number;
+        while (true) {
+            ComputationGuard.check();
+            if ((n & 1) != 0) {
+                result = result == null ? addend : result.add(addend);
+            }
+            n >>>= 1;
+            if (n == 0) {
+                return result;
+            }
+            addend = addend.add(addend);
+        }
+    }
+
+    private static Number power(Number number, int n) {
+        Number result = null;
+        Number factor = number;
+        while (true) {
+            ComputationGuard.check();
+            if ((n & 1) != 0) {
+                result = result == null ? factor : result.multiply(factor);
+                ComputationGuard.checkDigits(result.digitCount());
+            }
+            n >>>= 1;
+            if (n == 0) {
+                return result;
+            }
+            factor = factor.square();
+            ComputationGuard.checkDigits(factor.digitCount());
+        }
+    }
+
+    //domain errors are known before the computation starts
+    private ErrorState checkOperands() {
+        switch (operation) {
+            case DIVIDE:
+                return rightOperand.compareToConst(NumberConstant.ZERO) ? ErrorState.DIVISION_BY_ZERO : null;
+            case REVERSE:
+                return leftResultOperand.compareToConst(NumberConstant.ZERO) ? ErrorState.DIVISION_BY_ZERO : null;
+            case POW:
+                int exponent = ((Complex) rightOperand).getReal().intValue();
+                return exponent < 0 || exponent > MAX_EXPONENT ? ErrorState.WRONG_DATA : null;
+            default:
+                return null;
+        }
+    }
+
+    private Number calculate() {
         switch (operation) {
             case ADD:
-                leftResultOperand = leftResultOperand.add(rightOperand);
-                break;
+                return leftResultOperand.add(rightOperand);
             case SUBTRACT:
-                leftResultOperand = leftResultOperand.subtract(rightOperand);
-                break;
+                return leftResultOperand.subtract(rightOperand);
             case MULTIPLY:
-                leftResultOperand = leftResultOperand.multiply(rightOperand);
-                break;
+                return leftResultOperand.multiply(rightOperand);
             case DIVIDE:
-                if (rightOperand.compareToConst(NumberConstant.ZERO)) {
-                    throw new DivisionByZeroException("Cannot divide by zero");
-                }
-                leftResultOperand = leftResultOperand.divide(rightOperand);
-                break;
+                return leftResultOperand.divide(rightOperand);
             case NEGATE:
-                leftResultOperand = leftResultOperand.negate();
-                break;
+                return leftResultOperand.negate();
             case REVERSE:
-                if (leftResultOperand.compareToConst(NumberConstant.ZERO)) {
-                    throw new DivisionByZeroException("Cannot divide by zero");
-                }
-                leftResultOperand = leftResultOperand.reverse();
-                break;
+                return leftResultOperand.reverse();
             case SQUARE:
-                leftResultOperand = leftResultOperand.square();
-                break;
+                return leftResultOperand.square();
             case ABS:
-                leftResultOperand = new Complex(((Complex) leftResultOperand).module(), BigDecimal.ZERO);
-                break;
+                return new Complex(((Complex) leftResultOperand).module(), BigDecimal.ZERO);
             case DEG:
-                leftResultOperand = new Complex(MathUtils.radToDegrees(((Complex) leftResultOperand).complexArgument()), BigDecimal.ZERO);
-                break;
+                return new Complex(MathUtils.radToDegrees(((Complex) leftResultOperand).complexArgument()), BigDecimal.ZERO);
             case POW:
-                leftResultOperand = (((Complex) leftResultOperand).pow(((Complex) rightOperand).getReal().intValue()));
-                break;
+                return (((Complex) leftResultOperand).pow(((Complex) rightOperand).getReal().intValue()));
             case RAD:
-                leftResultOperand = new Complex(((Complex) leftResultOperand).complexArgument(), BigDecimal.ZERO);
-                break;
+                return new Complex(((Complex) leftResultOperand).complexArgument(), BigDecimal.ZERO);
             case SQRT:
-                leftResultOperand = ((Complex) leftResultOperand).sqrt();
+                return ((Complex) leftResultOperand).sqrt();
             default:
-                //throw
+                return leftResultOperand;
         }
     }
 
@@ -0,0 +1,241 @@
+package calculator.model;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.CalculatorState;
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.codec.BinaryWriter;
+import calculator.model.utils.codec.NumberCodec;
+import calculator.model.utils.dto.ExpressionNode;
+import calculator.model.utils.dto.ExpressionOperand;
+import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.exceptions.CorruptedDataException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+//state of the calculator between two runs: magic, version, state section, history section, crc32 of what is before it
+//every section is a varint length and its bytes, the history is decoded only when it is restored
+//the memory is not a part of it, the memory slots are kept by the memory itself
+final class SessionSnapshot {
+
+    static final int MAGIC = 0x43534E50;
+    static final int VERSION = 2;
+
+    private static final int NEED_TO_SET_RESULT = 1;
+    private static final int NEW_VALUE = 2;
+    private static final int OPERAND = 0;
+    private static final int OPERATION = 1;
+    private static final int CRC_SIZE = 4;
+
+    private final CalculatorMode calculatorMode;
+    private final int base;
+    private final String displayText;
+    private final CalculatorState state;
+    private final int flags;
+    private final Number resultValue;
+    private final Number leftOperand;
+    private final Number rightOperand;
+    private final CalculatorOperation operation;
+    private final ByteBuffer history;
+
+    private SessionSnapshot(CalculatorMode calculatorMode, int base, String displayText, CalculatorState state,
+                            int flags, Number resultValue, Number leftOperand, Number rightOperand,
+                            CalculatorOperation operation, ByteBuffer history) {
+        this.calculatorMode = calculatorMode;
+        this.base = base;
+        this.displayText = displayText;
+        this.state = state;
+        this.flags = flags;
+        this.resultValue = resultValue;
+        this.leftOperand = leftOperand;
+        this.rightOperand = rightOperand;
+        this.operation = operation;
+        this.history = history;
+    }
+
+    //called on the compute thread, the singletons are not changed by anyone else there
+    static SessionSnapshot capture(CalculatorMode calculatorMode, int base, String displayText) {
+        ControlUnit controlUnit = ControlUnit.INSTANCE;
+        int flags = (controlUnit.needToSetResult() ? NEED_TO_SET_RESULT : 0)
+                | (controlUnit.isNewValue() ? NEW_VALUE : 0);
+        BinaryWriter writer = new BinaryWriter();
+        writeHistory(writer, LocalHistory.INSTANCE.getNodes());
+        return new SessionSnapshot(calculatorMode, base, displayText, controlUnit.getState(), flags,
+                controlUnit.getResultValue(), Processor.INSTANCE.getLeftResultOperand(),
+                Processor.INSTANCE.getRightOperand(), Processor.INSTANCE.getOperation(),
+                ByteBuffer.wrap(writer.toByteArray()));
+    }
+
+    byte[] encode() {
+        BinaryWriter section = new BinaryWriter();
+        section.writeVarInt(calculatorMode.ordinal());
+        section.writeVarInt(base);
+        section.writeString(displayText);
+        section.writeVarInt(state.ordinal());
+        section.writeByte(flags);
+        writeNullableNumber(section, resultValue);
+        writeNullableNumber(section, leftOperand);
+        writeNullableNumber(section, rightOperand);
+        section.writeVarInt(operation == null ? 0 : operation.ordinal() + 1);
+
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).array());
+        writer.writeByte(VERSION);
+        writer.writeVarInt(section.size());
+        writer.writeBytes(section.toByteArray());
+        ByteBuffer historyBytes = history.duplicate();
+        writer.writeVarInt(historyBytes.remaining());
+        byte[] values = new byte[historyBytes.remaining()];
+        historyBytes.get(values);
+        writer.writeBytes(values);
+
+        CRC32 crc = new CRC32();
+        crc.update(writer.toByteArray(), 0, writer.size());
+        writer.writeBytes(ByteBuffer.allocate(CRC_SIZE).putInt((int) crc.getValue()).array());
+        return writer.toByteArray();
+    }
+
+    //checks the whole snapshot and decodes the state, the history section is only sliced off the buffer
+    static SessionSnapshot decode(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES + 1 + CRC_SIZE || buffer.getInt(buffer.position()) != MAGIC) {
+            throw new CorruptedDataException("File is not a calculator session");
+        }
+        int crcPosition = buffer.limit() - CRC_SIZE;
+        CRC32 crc = new CRC32();
+        ByteBuffer checked = buffer.duplicate();
+        checked.limit(crcPosition);
+        crc.update(checked);
+        if ((int) crc.getValue() != buffer.getInt(crcPosition)) {
+            throw new CorruptedDataException("Session checksum does not match");
+        }
+
+        ByteBuffer content = buffer.duplicate();
+        content.limit(crcPosition);
+        content.position(buffer.position() + Integer.BYTES);
+        BinaryReader reader = new BinaryReader(content);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new CorruptedDataException("Unsupported session version " + version);
+        }
+        int stateEnd = reader.readVarInt() + reader.position();
+        CalculatorMode calculatorMode = byOrdinal(CalculatorMode.values(), reader.readVarInt());
+        int base = reader.readVarInt();
+        String displayText = reader.readString();
+        CalculatorState state = byOrdinal(CalculatorState.values(), reader.readVarInt());
+        int flags = reader.readByte();
+        Number resultValue = readNullableNumber(reader);
+        Number leftOperand = readNullableNumber(reader);
+        Number rightOperand = readNullableNumber(reader);
+        int operationCode = reader.readVarInt();
+        CalculatorOperation operation = operationCode == 0 ? null
+                : byOrdinal(CalculatorOperation.values(), operationCode - 1);
+        if (reader.position() != stateEnd) {
+            throw new CorruptedDataException("State section has a wrong length");
+        }
+
+        int historyLength = reader.readVarInt();
+        if (historyLength != reader.remaining()) {
+            throw new CorruptedDataException("History section has a wrong length");
+        }
+        ByteBuffer history = content.slice();
+        return new SessionSnapshot(calculatorMode, base, displayText, state, flags, resultValue, leftOperand,
+                rightOperand, operation, history);
+    }
+
+    CalculatorMode getCalculatorMode() {
+        return calculatorMode;
+    }
+
+    int getBase() {
+        return base;
+    }
+
+    String getDisplayText() {
+        return displayText;
+    }
+
+    CalculatorState getState() {
+        return state;
+    }
+
+    void restoreState() {
+        Processor.INSTANCE.setLeftResultOperand(leftOperand);
+        Processor.INSTANCE.setRightOperand(rightOperand);
+        Processor.INSTANCE.setOperation(operation);
+        ControlUnit.INSTANCE.restore(state, resultValue, (flags & NEED_TO_SET_RESULT) != 0, (flags & NEW_VALUE) != 0);
+    }
+
+    void restoreHistory() {
+        LocalHistory.INSTANCE.restore(readHistory(new BinaryReader(history.duplicate())));
+    }
+
+    private static void writeHistory(BinaryWriter writer, List<ExpressionNode> nodes) {
+        writer.writeVarInt(nodes.size());
+        for (ExpressionNode node : nodes) {
+            if (node instanceof ExpressionOperand) {
+                ExpressionOperand operand = (ExpressionOperand) node;
+                writer.writeByte(OPERAND);
+                NumberCodec.write(writer, operand.getNumber());
+                writer.writeVarInt(operand.getUnaryOperations().size());
+                for (ExpressionOperation unaryOperation : operand.getUnaryOperations()) {
+                    writer.writeVarInt(unaryOperation.getOperation().ordinal());
+                }
+            } else {
+                writer.writeByte(OPERATION);
+                writer.writeVarInt(((ExpressionOperation) node).getOperation().ordinal());
+            }
+        }
+    }
+
+    private static List<ExpressionNode> readHistory(BinaryReader reader) {
+        int size = reader.readVarInt();
+        List<ExpressionNode> nodes = new ArrayList<>(Math.min(size, reader.remaining()));
+        CalculatorOperation[] operations = CalculatorOperation.values();
+        for (int i = 0; i < size; i++) {
+            int type = reader.readByte();
+            if (type == OPERAND) {
+                ExpressionOperand operand = new ExpressionOperand(NumberCodec.read(reader));
+                int unaryCount = reader.readVarInt();
+                if (unaryCount > reader.remaining()) {
+                    throw new CorruptedDataException("Unexpected end of data");
+                }
+                CalculatorOperation[] unaryOperations = new CalculatorOperation[unaryCount];
+                for (int j = 0; j < unaryCount; j++) {
+                    unaryOperations[j] = byOrdinal(operations, reader.readVarInt());
+                }
+                //operations are written outermost first and added innermost first
+                for (int j = unaryCount - 1; j >= 0; j--) {
+                    operand.addUnaryOperation(unaryOperations[j]);
+                }
+                nodes.add(operand);
+            } else if (type == OPERATION) {
+                nodes.add(new ExpressionOperation(byOrdinal(operations, reader.readVarInt())));
+            } else {
+                throw new CorruptedDataException("Unknown history node type " + type);
+            }
+        }
+        return nodes;
+    }
+
+    private static void writeNullableNumber(BinaryWriter writer, Number number) {
+        writer.writeByte(number == null ? 0 : 1);
+        if (number != null) {
+            NumberCodec.write(writer, number);
+        }
+    }
+
+    private static Number readNullableNumber(BinaryReader reader) {
+        return reader.readByte() == 0 ? null : NumberCodec.read(reader);
+    }
+
+    private static <E> E byOrdinal(E[] values, int ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new CorruptedDataException("Unknown ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
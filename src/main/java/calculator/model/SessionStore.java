@@ -0,0 +1,70 @@
+package calculator.model;
+
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+//session file, by default in the home directory, -Dcalculator.session=<file> moves it and an empty value disables it
+class SessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionStore.class);
+    private static final String SESSION_PROPERTY = "calculator.session";
+    private static final Path DEFAULT_PATH = Paths.get(System.getProperty("user.home"), ".calculator", "session");
+
+    static final SessionStore INSTANCE = open(System.getProperty(SESSION_PROPERTY));
+
+    private final Path path;
+
+    SessionStore(Path path) {
+        this.path = path;
+    }
+
+    private static SessionStore open(String path) {
+        if (path == null) {
+            return new SessionStore(DEFAULT_PATH);
+        }
+        return new SessionStore(path.isEmpty() ? null : Paths.get(path));
+    }
+
+    //the file is mapped, not read, a missing or damaged session starts the calculator from scratch
+    SessionSnapshot load() {
+        if (path == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return SessionSnapshot.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | CorruptedDataException e) {
+            LOGGER.warn("Session " + path + " can not be resumed", e);
+            return null;
+        }
+    }
+
+    //written next to the session and moved over it, so a crash while writing leaves the previous session
+    void save(SessionSnapshot snapshot) {
+        if (path == null) {
+            return;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Files.write(temporary, snapshot.encode());
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Session " + path + " can not be saved", e);
+        }
+    }
+}
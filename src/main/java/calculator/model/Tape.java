@@ -0,0 +1,148 @@
+package calculator.model;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.PersistentStack;
+import calculator.model.utils.dto.ExpressionNode;
+import calculator.model.utils.dto.ExpressionOperand;
+import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.dto.Outcome;
+
+import java.util.Arrays;
+import java.util.List;
+
+//the history read as an adding machine tape, operands are computed from left to right as the calculator does
+//the result after every node is kept for the history it was computed for, as the history is a persistent stack
+//the results stay valid for the nodes an edited history shares with it, so only the nodes after an edit are computed
+final class Tape {
+
+    static final Tape INSTANCE = new Tape();
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private PersistentStack<ExpressionNode> computed = PersistentStack.empty();
+    private Number[] results = new Number[INITIAL_CAPACITY];
+    private CalculatorOperation[] operations = new CalculatorOperation[INITIAL_CAPACITY];
+
+    private Tape() {
+    }
+
+    //a tape is edited while the next operand is awaited, so it ends with a binary operation
+    static boolean isEditable() {
+        PersistentStack<ExpressionNode> history = LocalHistory.INSTANCE.snapshot();
+        return !history.isEmpty() && history.peek() instanceof ExpressionOperation;
+    }
+
+    //replaces the node with the same kind of node, puts the new history and its result into the engine
+    Outcome<Number> replace(int index, ExpressionNode node) {
+        PersistentStack<ExpressionNode> history = LocalHistory.INSTANCE.snapshot();
+        int size = history.size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Tape of " + size + " nodes has no node " + index);
+        }
+        int from = Math.min(index, PersistentStack.sharedSize(computed, history));
+        List<ExpressionNode> suffix = history.top(size - from);
+        if (suffix.get(index - from).getClass() != node.getClass()) {
+            throw new IllegalArgumentException("Node " + index + " is of another kind");
+        }
+        PersistentStack<ExpressionNode> edited = history;
+        for (int i = size - 1; i >= index; i--) {
+            edited = edited.pop();
+        }
+        PersistentStack<ExpressionNode> known = edited;
+        for (int i = index - 1; i >= from; i--) {
+            known = known.pop();
+        }
+        //the results after from are overwritten, they belong to no history until the edit is done
+        computed = known;
+        Outcome<Number> outcome = compute(history, suffix, from, index, node);
+        if (outcome.isFailure()) {
+            return outcome;
+        }
+
+        edited = edited.push(node);
+        for (int i = index + 1; i < size; i++) {
+            edited = edited.push(suffix.get(i - from));
+        }
+        computed = edited;
+        LocalHistory.INSTANCE.restore(edited);
+        return outcome;
+    }
+
+    //results of the nodes from the first one not known, the edited node is used in place of the one at index
+    private Outcome<Number> compute(PersistentStack<ExpressionNode> history, List<ExpressionNode> suffix, int from,
+                                    int index, ExpressionNode node) {
+        int size = history.size();
+        if (results.length < size) {
+            results = Arrays.copyOf(results, Math.max(size, results.length * 2));
+            operations = Arrays.copyOf(operations, results.length);
+        }
+        Number result = from == 0 ? null : results[from - 1];
+        CalculatorOperation operation = from == 0 ? null : operations[from - 1];
+        Number lastOperand = null;
+        for (int i = from; i < size; i++) {
+            ExpressionNode current = i == index ? node : suffix.get(i - from);
+            if (current instanceof ExpressionOperation) {
+                operation = ((ExpressionOperation) current).getOperation();
+            } else {
+                Outcome<Number> operand = value((ExpressionOperand) current);
+                if (operand.isFailure()) {
+                    return operand;
+                }
+                lastOperand = operand.getValue();
+                if (result == null) {
+                    result = lastOperand;
+                } else {
+                    Outcome<Number> outcome = run(operation, result, lastOperand);
+                    if (outcome.isFailure()) {
+                        return outcome;
+                    }
+                    result = outcome.getValue();
+                }
+            }
+            results[i] = result;
+            operations[i] = operation;
+        }
+        if (lastOperand == null) {
+            Outcome<Number> operand = value(lastOperand(history));
+            if (operand.isFailure()) {
+                return operand;
+            }
+            lastOperand = operand.getValue();
+        }
+
+        Processor.INSTANCE.setLeftResultOperand(result);
+        Processor.INSTANCE.setOperation(operation);
+        Processor.INSTANCE.setRightOperand(size > 2 ? lastOperand : null);
+        return Outcome.success(result);
+    }
+
+    //the operand with its unary operations, the innermost one is the last in the list
+    private static Outcome<Number> value(ExpressionOperand operand) {
+        Number value = operand.getNumber();
+        List<ExpressionOperation> unaryOperations = operand.getUnaryOperations();
+        for (int i = unaryOperations.size() - 1; i >= 0; i--) {
+            Outcome<Number> outcome = run(unaryOperations.get(i).getOperation(), value, null);
+            if (outcome.isFailure()) {
+                return outcome;
+            }
+            value = outcome.getValue();
+        }
+        return Outcome.success(value);
+    }
+
+    private static Outcome<Number> run(CalculatorOperation operation, Number left, Number right) {
+        Processor.INSTANCE.setLeftResultOperand(left);
+        Processor.INSTANCE.setRightOperand(right);
+        Processor.INSTANCE.setOperation(operation);
+        return Processor.INSTANCE.operationRun();
+    }
+
+    private static ExpressionOperand lastOperand(PersistentStack<ExpressionNode> history) {
+        PersistentStack<ExpressionNode> stack = history;
+        while (!(stack.peek() instanceof ExpressionOperand)) {
+            stack = stack.pop();
+        }
+        return (ExpressionOperand) stack.peek();
+    }
+}
@@ -0,0 +1,129 @@
+package calculator.model;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.CalculatorState;
+import calculator.model.utils.PersistentStack;
+import calculator.model.utils.dto.ExpressionNode;
+
+//states of the calculator before the last steps, undone and redone in constant time
+//a state holds the immutable operands and the persistent history stack, so it shares everything it did not change
+//with the states next to it, the oldest states are dropped when the ring is full
+public final class UndoHistory {
+
+    static final int CAPACITY = 256;
+
+    private final Ring undoStates = new Ring();
+    private final Ring redoStates = new Ring();
+
+    //the state before a step, a new step can not be redone to anymore
+    public void record(State state) {
+        undoStates.push(state);
+        redoStates.clear();
+    }
+
+    //null if there is nothing to undo, the current state can be redone to afterwards
+    public State undo(State current) {
+        State state = undoStates.pop();
+        if (state != null) {
+            redoStates.push(current);
+        }
+        return state;
+    }
+
+    public State redo(State current) {
+        State state = redoStates.pop();
+        if (state != null) {
+            undoStates.push(current);
+        }
+        return state;
+    }
+
+    void clear() {
+        undoStates.clear();
+        redoStates.clear();
+    }
+
+    public static final class State {
+
+        private final CalculatorState state;
+        private final Number resultValue;
+        private final boolean needToSetResult;
+        private final boolean newValue;
+        private final Number leftOperand;
+        private final Number rightOperand;
+        private final CalculatorOperation operation;
+        private final PersistentStack<ExpressionNode> history;
+        private final String displayText;
+        private final int base;
+
+        private State(String displayText, int base) {
+            ControlUnit controlUnit = ControlUnit.INSTANCE;
+            state = controlUnit.getState();
+            resultValue = controlUnit.getResultValue();
+            needToSetResult = controlUnit.needToSetResult();
+            newValue = controlUnit.isNewValue();
+            leftOperand = Processor.INSTANCE.getLeftResultOperand();
+            rightOperand = Processor.INSTANCE.getRightOperand();
+            operation = Processor.INSTANCE.getOperation();
+            history = LocalHistory.INSTANCE.snapshot();
+            this.displayText = displayText;
+            this.base = base;
+        }
+
+        //called on the compute thread, the singletons are not changed by anyone else there
+        public static State capture(String displayText, int base) {
+            return new State(displayText, base);
+        }
+
+        public void restore() {
+            Processor.INSTANCE.setLeftResultOperand(leftOperand);
+            Processor.INSTANCE.setRightOperand(rightOperand);
+            Processor.INSTANCE.setOperation(operation);
+            ControlUnit.INSTANCE.restore(state, resultValue, needToSetResult, newValue);
+            LocalHistory.INSTANCE.restore(history);
+        }
+
+        CalculatorState getState() {
+            return state;
+        }
+
+        String getDisplayText() {
+            return displayText;
+        }
+
+        int getBase() {
+            return base;
+        }
+    }
+
+    private static final class Ring {
+
+        private final State[] states = new State[CAPACITY];
+        private int end;
+        private int size;
+
+        void push(State state) {
+            states[end] = state;
+            end = (end + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+        }
+
+        State pop() {
+            if (size == 0) {
+                return null;
+            }
+            end = (end + CAPACITY - 1) % CAPACITY;
+            size--;
+            State state = states[end];
+            states[end] = null;
+            return state;
+        }
+
+        void clear() {
+            while (size > 0) {
+                pop();
+            }
+        }
+    }
+}
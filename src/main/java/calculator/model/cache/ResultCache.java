@@ -0,0 +1,125 @@
+package calculator.model.cache;
+
+import calculator.model.configuration.Config;
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorCache;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.CalculatorPrecision;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.Objects;
+
+//memoizes results of pure expensive operations, weighted by the digits kept in the cache
+public class ResultCache {
+
+    public static final ResultCache INSTANCE = new ResultCache();
+
+    private volatile Cache<Key, Number> cache;
+
+    private ResultCache() {
+        cache = build(Config.getCacheWeight(CalculatorCache.RESULT));
+        Config.addListener((oldSnapshot, newSnapshot) -> {
+            long maxWeight = newSnapshot.getCacheWeight(CalculatorCache.RESULT);
+            if (maxWeight != oldSnapshot.getCacheWeight(CalculatorCache.RESULT)) {
+                cache = build(maxWeight);
+            }
+        });
+    }
+
+    //a guava cache can not be resized, a new weight starts an empty cache
+    private static Cache<Key, Number> build(long maxWeight) {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, Number result) -> key.weight() + result.digitCount())
+                .recordStats()
+                .build();
+    }
+
+    //returns null if the result is not cached or the operation is too cheap to be cached
+    public Number get(CalculatorOperation operation, Number left, Number right) {
+        return get(operation, left, right, 1);
+    }
+
+    //the result of the binary operation repeated the given number of times on its own result
+    public Number get(CalculatorOperation operation, Number left, Number right, int times) {
+        if (!operation.isExpensive()) {
+            return null;
+        }
+        return cache.getIfPresent(new Key(operation, left, operation.isUnary() ? null : right, times));
+    }
+
+    public void put(CalculatorOperation operation, Number left, Number right, Number result) {
+        put(operation, left, right, 1, result);
+    }
+
+    public void put(CalculatorOperation operation, Number left, Number right, int times, Number result) {
+        if (!operation.isExpensive()) {
+            return;
+        }
+        cache.put(new Key(operation, left, operation.isUnary() ? null : right, times), result);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private static int precisionOf(Number number) {
+        if (number instanceof Real) {
+            return CalculatorPrecision.REAL_PRECISION.getPrecision();
+        } else if (number instanceof Complex) {
+            return CalculatorPrecision.COMPLEX_PRECISION.getPrecision();
+        }
+        //fractions are exact
+        return 0;
+    }
+
+    //operands are kept as strings: Complex.equals compares with epsilon and can not be used for hashing
+    private static final class Key {
+        private final CalculatorOperation operation;
+        private final String left;
+        private final String right;
+        private final int precision;
+        private final int times;
+
+        private Key(CalculatorOperation operation, Number left, Number right, int times) {
+            this.operation = operation;
+            this.left = left.toString();
+            this.right = right == null ? "" : right.toString();
+            this.precision = precisionOf(left);
+            this.times = times;
+        }
+
+        private int weight() {
+            return left.length() + right.length();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return precision == key.precision &&
+                    times == key.times &&
+                    operation == key.operation &&
+                    left.equals(key.left) &&
+                    right.equals(key.right);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, left, right, precision, times);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package calculator.model.configuration;
 
+import calculator.model.stats.CalculatorBudget;
+import calculator.model.stats.CalculatorCache;
 import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorPrecision;
 import calculator.view.localization.Language;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
 import java.util.prefs.Preferences;
 
+//the preferences are read once, later reads come from the snapshot in memory and changes are written behind
 public class Config {
 
     private static final String APPLICATION_NODE_NAME = "calculator";
@@ -13,32 +20,148 @@ public class Config {
     private static final String DEFAULT_LANGUAGE_KEY = Language.ENGLISH.name();
     private static final String DEFAULT_CALCULATOR_MODE_KEY = CalculatorMode.BASIC.name();
 
-    private static Preferences preferences;
+    private static final List<ConfigListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static Preferences preferences = Preferences.userRoot().node(APPLICATION_NODE_NAME);
+    private static ConfigWriter writer = new ConfigWriter(preferences);
+    private static volatile ConfigSnapshot snapshot = load();
+
+    private Config() {
 
-    static {
-        Preferences root = Preferences.userRoot();
-        preferences = root.node(APPLICATION_NODE_NAME);
     }
 
-    private Config() {
+    public static ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public static void addListener(ConfigListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(ConfigListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    //blocks until the pending changes are written
+    public static void flush() {
+        writerOf().flush();
+    }
+
+    //the configuration is read from the node anew, tests use it to keep away from the preferences of the user
+    //returns the node used before, the changes pending for it are written first
+    static Preferences usePreferences(Preferences newPreferences) {
+        Preferences oldPreferences;
+        synchronized (Config.class) {
+            writer.flush();
+            oldPreferences = preferences;
+            preferences = newPreferences;
+            writer = new ConfigWriter(newPreferences);
+            snapshot = load();
+        }
+        return oldPreferences;
+    }
 
+    private static synchronized ConfigWriter writerOf() {
+        return writer;
     }
 
     public static Language getLanguage() {
-        String language = preferences.get(LANGUAGE_KEY, DEFAULT_LANGUAGE_KEY);
-        return Language.valueOf(language);
+        return snapshot.getLanguage();
     }
 
     public static void setLanguage(Language language) {
-        preferences.put(LANGUAGE_KEY, language.toString());
+        update(current -> current.withLanguage(language), LANGUAGE_KEY, language.toString());
     }
 
     public static CalculatorMode getCalculatorMode() {
-        String calculatorMode = preferences.get(CALCULATOR_MODE_KEY, DEFAULT_CALCULATOR_MODE_KEY);
-        return CalculatorMode.valueOf(calculatorMode);
+        return snapshot.getCalculatorMode();
     }
 
     public static void setCalculatorMode(CalculatorMode calculatorMode) {
-        preferences.put(CALCULATOR_MODE_KEY, calculatorMode.toString());
+        update(current -> current.withCalculatorMode(calculatorMode), CALCULATOR_MODE_KEY, calculatorMode.toString());
+    }
+
+    public static long getTimeBudgetMillis(CalculatorBudget budget) {
+        return snapshot.getTimeBudgetMillis(budget);
+    }
+
+    public static void setTimeBudgetMillis(CalculatorBudget budget, long timeMillis) {
+        update(current -> current.withTimeBudgetMillis(budget, timeMillis), budget.getTimeKey(),
+                Long.toString(timeMillis));
+    }
+
+    public static int getDigitsBudget(CalculatorBudget budget) {
+        return snapshot.getDigitsBudget(budget);
+    }
+
+    public static void setDigitsBudget(CalculatorBudget budget, int maxDigits) {
+        update(current -> current.withDigitsBudget(budget, maxDigits), budget.getDigitsKey(),
+                Integer.toString(maxDigits));
+    }
+
+    public static int getPrecision(CalculatorPrecision precision) {
+        return snapshot.getPrecision(precision);
+    }
+
+    public static void setPrecision(CalculatorPrecision precision, int digits) {
+        if (!precision.isConfigurable()) {
+            throw new IllegalArgumentException(String.format("Precision %s can not be configured", precision));
+        }
+        update(current -> current.withPrecision(precision, digits), precision.getConfigKey(),
+                Integer.toString(digits));
+    }
+
+    public static long getCacheWeight(CalculatorCache cache) {
+        return snapshot.getCacheWeight(cache);
+    }
+
+    public static void setCacheWeight(CalculatorCache cache, long maxWeight) {
+        update(current -> current.withCacheWeight(cache, maxWeight), cache.getWeightKey(),
+                Long.toString(maxWeight));
+    }
+
+    private static void update(UnaryOperator<ConfigSnapshot> change, String key, String value) {
+        ConfigSnapshot oldSnapshot;
+        ConfigSnapshot newSnapshot;
+        ConfigWriter currentWriter;
+        synchronized (Config.class) {
+            oldSnapshot = snapshot;
+            newSnapshot = change.apply(oldSnapshot);
+            snapshot = newSnapshot;
+            currentWriter = writer;
+        }
+        currentWriter.put(key, value);
+        for (ConfigListener listener : LISTENERS) {
+            listener.configChanged(oldSnapshot, newSnapshot);
+        }
+    }
+
+    private static ConfigSnapshot load() {
+        Language language = Language.valueOf(preferences.get(LANGUAGE_KEY, DEFAULT_LANGUAGE_KEY));
+        CalculatorMode calculatorMode = CalculatorMode.valueOf(
+                preferences.get(CALCULATOR_MODE_KEY, DEFAULT_CALCULATOR_MODE_KEY));
+
+        CalculatorBudget[] budgets = CalculatorBudget.values();
+        long[] timeBudgetsMillis = new long[budgets.length];
+        int[] digitsBudgets = new int[budgets.length];
+        for (CalculatorBudget budget : budgets) {
+            timeBudgetsMillis[budget.ordinal()] = preferences.getLong(budget.getTimeKey(), budget.getTimeMillis());
+            digitsBudgets[budget.ordinal()] = preferences.getInt(budget.getDigitsKey(), budget.getMaxDigits());
+        }
+
+        CalculatorPrecision[] calculatorPrecisions = CalculatorPrecision.values();
+        int[] precisions = new int[calculatorPrecisions.length];
+        for (CalculatorPrecision precision : calculatorPrecisions) {
+            precisions[precision.ordinal()] = precision.isConfigurable()
+                    ? preferences.getInt(precision.getConfigKey(), precision.getPrecision())
+                    : precision.getPrecision();
+        }
+
+        CalculatorCache[] caches = CalculatorCache.values();
+        long[] cacheWeights = new long[caches.length];
+        for (CalculatorCache cache : caches) {
+            cacheWeights[cache.ordinal()] = preferences.getLong(cache.getWeightKey(), cache.getMaxWeight());
+        }
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, digitsBudgets, precisions,
+                cacheWeights);
     }
 }
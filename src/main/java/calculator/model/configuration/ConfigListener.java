@@ -0,0 +1,7 @@
+package calculator.model.configuration;
+
+//called on the thread that changed the configuration, after the new snapshot is visible to every reader
+public interface ConfigListener {
+
+    void configChanged(ConfigSnapshot oldSnapshot, ConfigSnapshot newSnapshot);
+}
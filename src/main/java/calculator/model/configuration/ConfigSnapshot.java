@@ -0,0 +1,89 @@
+package calculator.model.configuration;
+
+import calculator.model.stats.CalculatorBudget;
+import calculator.model.stats.CalculatorCache;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorPrecision;
+import calculator.view.localization.Language;
+
+import java.util.Arrays;
+
+//configuration at one moment, never changed after creation, a change publishes a new snapshot
+//values of the enums are kept in arrays by ordinal so a read on the computation path is one index
+public final class ConfigSnapshot {
+
+    private final Language language;
+    private final CalculatorMode calculatorMode;
+    private final long[] timeBudgetsMillis;
+    private final int[] digitsBudgets;
+    private final int[] precisions;
+    private final long[] cacheWeights;
+
+    ConfigSnapshot(Language language, CalculatorMode calculatorMode, long[] timeBudgetsMillis, int[] digitsBudgets,
+                   int[] precisions, long[] cacheWeights) {
+        this.language = language;
+        this.calculatorMode = calculatorMode;
+        this.timeBudgetsMillis = timeBudgetsMillis;
+        this.digitsBudgets = digitsBudgets;
+        this.precisions = precisions;
+        this.cacheWeights = cacheWeights;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public CalculatorMode getCalculatorMode() {
+        return calculatorMode;
+    }
+
+    public long getTimeBudgetMillis(CalculatorBudget budget) {
+        return timeBudgetsMillis[budget.ordinal()];
+    }
+
+    public int getDigitsBudget(CalculatorBudget budget) {
+        return digitsBudgets[budget.ordinal()];
+    }
+
+    public int getPrecision(CalculatorPrecision precision) {
+        return precisions[precision.ordinal()];
+    }
+
+    public long getCacheWeight(CalculatorCache cache) {
+        return cacheWeights[cache.ordinal()];
+    }
+
+    ConfigSnapshot withLanguage(Language language) {
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, digitsBudgets, precisions,
+                cacheWeights);
+    }
+
+    ConfigSnapshot withCalculatorMode(CalculatorMode calculatorMode) {
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, digitsBudgets, precisions,
+                cacheWeights);
+    }
+
+    ConfigSnapshot withTimeBudgetMillis(CalculatorBudget budget, long timeMillis) {
+        long[] values = Arrays.copyOf(timeBudgetsMillis, timeBudgetsMillis.length);
+        values[budget.ordinal()] = timeMillis;
+        return new ConfigSnapshot(language, calculatorMode, values, digitsBudgets, precisions, cacheWeights);
+    }
+
+    ConfigSnapshot withDigitsBudget(CalculatorBudget budget, int maxDigits) {
+        int[] values = Arrays.copyOf(digitsBudgets, digitsBudgets.length);
+        values[budget.ordinal()] = maxDigits;
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, values, precisions, cacheWeights);
+    }
+
+    ConfigSnapshot withPrecision(CalculatorPrecision precision, int digits) {
+        int[] values = Arrays.copyOf(precisions, precisions.length);
+        values[precision.ordinal()] = digits;
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, digitsBudgets, values, cacheWeights);
+    }
+
+    ConfigSnapshot withCacheWeight(CalculatorCache cache, long maxWeight) {
+        long[] values = Arrays.copyOf(cacheWeights, cacheWeights.length);
+        values[cache.ordinal()] = maxWeight;
+        return new ConfigSnapshot(language, calculatorMode, timeBudgetsMillis, digitsBudgets, precisions, values);
+    }
+}
@@ -0,0 +1,72 @@
+package calculator.model.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+//writes changed keys to the preferences on its own thread, the changes made within the delay go out in one sync
+class ConfigWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWriter.class);
+    private static final String WRITER_THREAD_NAME = "calculator-config-writer";
+    private static final long WRITE_DELAY_MILLIS = 500;
+
+    private final Preferences preferences;
+    private final ScheduledExecutorService executorService;
+    private final Object writeLock = new Object();
+    private final Map<String, String> pendingValues = new LinkedHashMap<>();
+    private boolean writeScheduled;
+
+    ConfigWriter(Preferences preferences) {
+        this.preferences = preferences;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, WRITER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executorService = executor;
+        //the writer thread is a daemon, a change made right before exit is written by the hook
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, WRITER_THREAD_NAME + "-shutdown"));
+    }
+
+    //a later value of the same key replaces the pending one
+    void put(String key, String value) {
+        synchronized (pendingValues) {
+            pendingValues.put(key, value);
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+        executorService.schedule(this::flush, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    //batches are written one at a time, so an older batch never overwrites a newer one
+    void flush() {
+        synchronized (writeLock) {
+            Map<String, String> batch;
+            synchronized (pendingValues) {
+                batch = new LinkedHashMap<>(pendingValues);
+                pendingValues.clear();
+                writeScheduled = false;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            batch.forEach(preferences::put);
+            try {
+                preferences.flush();
+            } catch (BackingStoreException e) {
+                LOGGER.warn("Configuration could not be written", e);
+            }
+        }
+    }
+}
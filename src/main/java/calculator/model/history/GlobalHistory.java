@@ -0,0 +1,426 @@
+package calculator.model.history;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.codec.BinaryWriter;
+import calculator.model.utils.codec.NumberCodec;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//completed calculations of every session, kept in the home directory, -Dcalculator.history=<directory> moves them
+//and an empty value disables them
+//records are appended to mapped segments of a fixed size: varint length, time, mode, expression, result text, result
+//every record has an entry in the mapped index: location, day and mode, hash of the result text, so a search reads
+//the index only and decodes just the matching records
+public class GlobalHistory {
+
+    static final int MAGIC = 0x43484953;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    static final String INDEX_FILE_NAME = "index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GlobalHistory.class);
+    private static final String HISTORY_PROPERTY = "calculator.history";
+    private static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".calculator", "history");
+    private static final String FLUSH_THREAD_NAME = "calculator-history";
+    private static final String SEGMENT_NAME_FORMAT = "%08d.log";
+    private static final String SEGMENT_NAME_PATTERN = "[0-9]*.log";
+    private static final int SEGMENT_SIZE = 8 << 20;
+    private static final int INDEX_ENTRY_SIZE = 16;
+    private static final int INDEX_REGION_ENTRIES = 1 << 16;
+    private static final int MODE_BITS = 3;
+    private static final int MODE_MASK = (1 << MODE_BITS) - 1;
+    //records appended within this interval are forced to disk together, never on the appending thread
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    public static final GlobalHistory INSTANCE = open(System.getProperty(HISTORY_PROPERTY));
+
+    private final Path directory;
+    private final FileChannel indexChannel;
+    private final ScheduledExecutorService flusher;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<MappedByteBuffer> indexRegions = new ArrayList<>();
+    private final List<MappedByteBuffer> unforced = new ArrayList<>();
+    private final BinaryWriter body = new BinaryWriter();
+    private final BinaryWriter lengthPrefix = new BinaryWriter();
+    private long size;
+
+    private GlobalHistory() {
+        directory = null;
+        indexChannel = null;
+        flusher = null;
+    }
+
+    GlobalHistory(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE_NAME), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lock();
+            mapSegments();
+            long regionBytes = (long) INDEX_REGION_ENTRIES * INDEX_ENTRY_SIZE;
+            long regionCount = Math.max(1, (indexChannel.size() + regionBytes - 1) / regionBytes);
+            for (int i = 0; i < regionCount; i++) {
+                mapIndexRegion();
+            }
+            size = countIndexed();
+            recover();
+        } catch (IOException | CorruptedDataException e) {
+            indexChannel.close();
+            throw e;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    private static GlobalHistory open(String directory) {
+        if (directory != null && directory.isEmpty()) {
+            return new GlobalHistory();
+        }
+        Path path = directory == null ? DEFAULT_DIRECTORY : Paths.get(directory);
+        try {
+            return new GlobalHistory(path);
+        } catch (IOException | CorruptedDataException e) {
+            LOGGER.error("Can not open history " + path + ", it is off for this session", e);
+            return new GlobalHistory();
+        }
+    }
+
+    public boolean isEnabled() {
+        return indexChannel != null;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    //one append to the mapped segment and one index entry, the disk is synced later by the flush thread
+    public synchronized void append(long timeMillis, CalculatorMode calculatorMode, String expression,
+                                    String resultText, Number result) {
+        if (indexChannel == null) {
+            return;
+        }
+        body.reset();
+        body.writeVarLong(timeMillis);
+        body.writeByte(calculatorMode.ordinal());
+        body.writeString(expression);
+        body.writeString(resultText);
+        NumberCodec.write(body, result);
+        lengthPrefix.reset();
+        lengthPrefix.writeVarInt(body.size());
+        int length = lengthPrefix.size() + body.size();
+        if (length > SEGMENT_SIZE - HEADER_SIZE) {
+            LOGGER.warn("History record of {} bytes does not fit into a segment", length);
+            return;
+        }
+        try {
+            MappedByteBuffer segment = segments.get(segments.size() - 1);
+            if (segment.remaining() < length) {
+                segment = mapSegment(segments.size(), true);
+            }
+            int position = segment.position();
+            lengthPrefix.writeTo(segment);
+            body.writeTo(segment);
+            markUnforced(segment);
+            writeIndexEntry(size, location(segments.size() - 1, position), dayAndMode(timeMillis, calculatorMode),
+                    resultText.hashCode());
+            size++;
+        } catch (IOException e) {
+            LOGGER.error("Can not extend history", e);
+        }
+    }
+
+    //null when there is no such record or it can not be read
+    public synchronized HistoryRecord read(long index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        long location = readLocation(index);
+        try {
+            return decode(index, segmentOf(location), offsetOf(location));
+        } catch (CorruptedDataException e) {
+            LOGGER.warn("History record " + index + " can not be read", e);
+            return null;
+        }
+    }
+
+    //newest first, a null filter matches every record
+    public synchronized List<HistoryRecord> search(CalculatorMode calculatorMode, LocalDate day, String resultText,
+                                                   int limit) {
+        List<HistoryRecord> records = new ArrayList<>(Math.min(limit, 64));
+        int resultHash = resultText == null ? 0 : resultText.hashCode();
+        long epochDay = day == null ? 0 : day.toEpochDay();
+        for (long index = size - 1; index >= 0 && records.size() < limit; index--) {
+            ByteBuffer region = indexRegions.get((int) (index / INDEX_REGION_ENTRIES));
+            int offset = (int) (index % INDEX_REGION_ENTRIES) * INDEX_ENTRY_SIZE;
+            int dayAndMode = region.getInt(offset + Long.BYTES);
+            if (calculatorMode != null && (dayAndMode & MODE_MASK) != calculatorMode.ordinal()
+                    || day != null && (dayAndMode >>> MODE_BITS) != epochDay
+                    || resultText != null && region.getInt(offset + Long.BYTES + Integer.BYTES) != resultHash) {
+                continue;
+            }
+            HistoryRecord record = read(index);
+            if (record != null && (resultText == null || resultText.equals(record.getResultText()))) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    public void flush() {
+        List<MappedByteBuffer> toForce;
+        synchronized (this) {
+            if (unforced.isEmpty()) {
+                return;
+            }
+            toForce = new ArrayList<>(unforced);
+            unforced.clear();
+        }
+        toForce.forEach(MappedByteBuffer::force);
+    }
+
+    public void close() {
+        if (indexChannel == null) {
+            return;
+        }
+        flusher.shutdown();
+        flush();
+        try {
+            indexChannel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Can not close history", e);
+        }
+    }
+
+    //every process appends at its own position, so only one of them may have the history, the lock goes with the
+    //index channel
+    private void lock() throws IOException {
+        FileLock lock;
+        try {
+            lock = indexChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("History " + directory + " is used by another calculator");
+        }
+    }
+
+    private void mapSegments() throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_NAME_PATTERN)) {
+            for (Path ignored : files) {
+                count++;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (!Files.exists(segmentPath(i))) {
+                throw new CorruptedDataException("History segment " + i + " is missing");
+            }
+            mapSegment(i, false);
+        }
+        if (count == 0) {
+            mapSegment(0, true);
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int number, boolean create) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+        }
+        if (create) {
+            segment.putInt(MAGIC).put((byte) VERSION);
+            markUnforced(segment);
+        } else if (segment.getInt(0) != MAGIC || segment.get(Integer.BYTES) != VERSION) {
+            throw new CorruptedDataException("File " + segmentPath(number) + " is not a history segment");
+        }
+        segment.position(HEADER_SIZE);
+        if (!segments.isEmpty()) {
+            markUnforced(segments.get(segments.size() - 1));
+        }
+        segments.add(segment);
+        return segment;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format(SEGMENT_NAME_FORMAT, number));
+    }
+
+    private void mapIndexRegion() throws IOException {
+        long regionBytes = (long) INDEX_REGION_ENTRIES * INDEX_ENTRY_SIZE;
+        indexRegions.add(indexChannel.map(FileChannel.MapMode.READ_WRITE, indexRegions.size() * regionBytes,
+                regionBytes));
+    }
+
+    //entries are written in order and a written entry never has a zero location, so the count is found by bisection
+    private long countIndexed() {
+        long low = 0;
+        long high = (long) indexRegions.size() * INDEX_REGION_ENTRIES;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (readLocation(middle) != 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //records a crash left between the segment and the index are indexed, a damaged record and what follows it is
+    //dropped
+    private void recover() throws IOException {
+        int segment = 0;
+        int position = HEADER_SIZE;
+        if (size > 0) {
+            long location = readLocation(size - 1);
+            segment = segmentOf(location);
+            position = offsetOf(location);
+            if (segment >= segments.size()) {
+                throw new CorruptedDataException("History index points to a missing segment");
+            }
+            position += recordLength(segments.get(segment), position);
+        }
+        while (true) {
+            MappedByteBuffer buffer = segments.get(segment);
+            HistoryRecord record = null;
+            try {
+                record = decode(size, segment, position);
+            } catch (CorruptedDataException e) {
+                clear(buffer, position);
+            }
+            if (record != null) {
+                writeIndexEntry(size, location(segment, position),
+                        dayAndMode(record.getTimeMillis(), record.getCalculatorMode()),
+                        record.getResultText().hashCode());
+                size++;
+                position += recordLength(buffer, position);
+            } else if (segment + 1 < segments.size()) {
+                segment++;
+                position = HEADER_SIZE;
+            } else {
+                buffer.position(position);
+                return;
+            }
+        }
+    }
+
+    private static int recordLength(ByteBuffer segment, int position) {
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(position);
+        BinaryReader reader = new BinaryReader(buffer);
+        int length = reader.readVarInt();
+        return reader.position() - position + length;
+    }
+
+    //a damaged record may hold zeros, so the rest of the segment is cleared and not just up to the first zero
+    private static void clear(ByteBuffer segment, int position) {
+        for (int i = position; i < segment.limit(); i++) {
+            segment.put(i, (byte) 0);
+        }
+    }
+
+    //null at the end of the written part of the segment
+    private HistoryRecord decode(long index, int segment, int position) {
+        ByteBuffer buffer = segments.get(segment).duplicate();
+        if (position >= buffer.limit()) {
+            return null;
+        }
+        buffer.position(position);
+        BinaryReader reader = new BinaryReader(buffer);
+        int length = reader.readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        if (length > reader.remaining()) {
+            throw new CorruptedDataException("History record is cut off");
+        }
+        buffer.limit(reader.position() + length);
+        long timeMillis = reader.readVarLong();
+        int mode = reader.readByte();
+        CalculatorMode[] modes = CalculatorMode.values();
+        if (mode >= modes.length) {
+            throw new CorruptedDataException("Unknown calculator mode " + mode);
+        }
+        String expression = reader.readString();
+        String resultText = reader.readString();
+        Number result = NumberCodec.read(reader);
+        return new HistoryRecord(index, timeMillis, modes[mode], expression, resultText, result);
+    }
+
+    private void writeIndexEntry(long index, long location, int dayAndMode, int resultHash) throws IOException {
+        int region = (int) (index / INDEX_REGION_ENTRIES);
+        if (region == indexRegions.size()) {
+            mapIndexRegion();
+        }
+        MappedByteBuffer buffer = indexRegions.get(region);
+        int offset = (int) (index % INDEX_REGION_ENTRIES) * INDEX_ENTRY_SIZE;
+        buffer.putInt(offset + Long.BYTES, dayAndMode);
+        buffer.putInt(offset + Long.BYTES + Integer.BYTES, resultHash);
+        //the location is written last, it is what makes the entry count
+        buffer.putLong(offset, location);
+        markUnforced(buffer);
+    }
+
+    private long readLocation(long index) {
+        ByteBuffer region = indexRegions.get((int) (index / INDEX_REGION_ENTRIES));
+        return region.getLong((int) (index % INDEX_REGION_ENTRIES) * INDEX_ENTRY_SIZE);
+    }
+
+    private void markUnforced(MappedByteBuffer buffer) {
+        for (MappedByteBuffer other : unforced) {
+            if (other == buffer) {
+                return;
+            }
+        }
+        unforced.add(buffer);
+    }
+
+    private static long location(int segment, int offset) {
+        return (long) segment << Integer.SIZE | offset;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> Integer.SIZE);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    private static int dayAndMode(long timeMillis, CalculatorMode calculatorMode) {
+        long epochDay = Instant.ofEpochMilli(timeMillis).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+        return (int) epochDay << MODE_BITS | calculatorMode.ordinal();
+    }
+}
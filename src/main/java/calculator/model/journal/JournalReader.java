@@ -0,0 +1,83 @@
+package calculator.model.journal;
+
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.exceptions.CorruptedDataException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//iterates over journal records, a torn or zeroed record ends the journal
+public class JournalReader {
+
+    private final BinaryReader reader;
+    private int recordEnd;
+    private JournalRecordType type;
+    private long delayMicros;
+
+    public JournalReader(ByteBuffer buffer) {
+        reader = new BinaryReader(buffer);
+        if (!buffer.hasRemaining()) {
+            recordEnd = 0;
+            return;
+        }
+        if (buffer.remaining() < OperationJournal.HEADER_SIZE || buffer.getInt() != OperationJournal.MAGIC) {
+            throw new CorruptedDataException("File is not a calculator journal");
+        }
+        int version = reader.readByte();
+        if (version != OperationJournal.VERSION) {
+            throw new CorruptedDataException("Unsupported journal version " + version);
+        }
+        recordEnd = reader.position();
+    }
+
+    public static JournalReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new JournalReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public boolean next() {
+        reader.position(recordEnd);
+        if (!reader.hasRemaining()) {
+            return false;
+        }
+        try {
+            int length = reader.readVarInt();
+            int start = reader.position();
+            if (length == 0 || length > reader.remaining()) {
+                return false;
+            }
+            type = JournalRecordType.byCode(reader.readByte());
+            delayMicros = reader.readVarLong();
+            if (type == null || reader.position() > start + length) {
+                return false;
+            }
+            recordEnd = start + length;
+            return true;
+        } catch (CorruptedDataException e) {
+            return false;
+        }
+    }
+
+    public JournalRecordType getType() {
+        return type;
+    }
+
+    //time since the previous record was written
+    public long getDelayMicros() {
+        return delayMicros;
+    }
+
+    //positioned at the payload of the current record
+    public BinaryReader getPayload() {
+        return reader;
+    }
+
+    //position right after the last valid record
+    public int getEnd() {
+        return recordEnd;
+    }
+}
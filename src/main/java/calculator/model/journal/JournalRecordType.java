@@ -0,0 +1,37 @@
+package calculator.model.journal;
+
+public enum JournalRecordType {
+    DIGIT_ENTRY(1),
+    OPERATOR(2),
+    EQUALS(3),
+    MEMORY(4),
+    CLEAR(5),
+    BASE_CHANGE(6),
+    UNDO_STEP(7),
+    UNDO(8),
+    REDO(9),
+    TAPE_EDIT(10);
+
+    private static final JournalRecordType[] BY_CODE = new JournalRecordType[11];
+
+    static {
+        for (JournalRecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private int code;
+
+    JournalRecordType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    //null if the code is unknown
+    public static JournalRecordType byCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,128 @@
+package calculator.model.journal;
+
+import calculator.model.ControlUnit;
+import calculator.model.UndoHistory;
+import calculator.model.memory.Memory;
+import calculator.model.memory.MemoryOperation;
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.codec.NumberCodec;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+//re-executes a journal against the engine without pauses between records
+//run it without -Dcalculator.journal, otherwise the replayed events are journaled again
+//the replay keeps the memory for the session only, so the slots kept by the calculator are not cleared
+public class JournalReplayer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalReplayer.class);
+    private static final CalculatorOperation[] OPERATIONS = CalculatorOperation.values();
+    private static final MemoryOperation[] MEMORY_OPERATIONS = MemoryOperation.values();
+    private static final CalculatorMode[] MODES = CalculatorMode.values();
+    private static final String MEMORY_PROPERTY = "calculator.memory";
+
+    private JournalReplayer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            LOGGER.error("Usage: JournalReplayer <journal file>");
+            return;
+        }
+        //set before the memory is opened, it is first touched by the replay
+        System.setProperty(MEMORY_PROPERTY, "");
+        long start = System.nanoTime();
+        int records = replay(Paths.get(args[0]));
+        LOGGER.info("Replayed {} records in {} ms, result: {}", records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ControlUnit.INSTANCE.getResultValue());
+    }
+
+    //returns the number of replayed records
+    public static int replay(Path journal) throws IOException {
+        return replay(JournalReader.open(journal));
+    }
+
+    public static int replay(JournalReader reader) {
+        ControlUnit.INSTANCE.resetCalculator();
+        Memory.INSTANCE.memoryClearAll();
+        UndoHistory undoHistory = new UndoHistory();
+        int records = 0;
+        while (reader.next()) {
+            try {
+                apply(reader.getType(), reader.getPayload(), undoHistory);
+            } catch (CorruptedDataException | IndexOutOfBoundsException | IllegalArgumentException
+                    | ClassCastException e) {
+                LOGGER.warn("Journal is corrupted after {} records", records);
+                break;
+            }
+            records++;
+        }
+        return records;
+    }
+
+    private static void apply(JournalRecordType type, BinaryReader payload, UndoHistory undoHistory) {
+        Number value;
+        switch (type) {
+            case DIGIT_ENTRY:
+                ControlUnit.INSTANCE.enteringNewValue();
+                break;
+            case OPERATOR:
+                value = NumberCodec.read(payload);
+                ControlUnit.INSTANCE.operatorPressed(value, OPERATIONS[payload.readVarInt()]);
+                break;
+            case EQUALS:
+                value = NumberCodec.read(payload);
+                ControlUnit.INSTANCE.equalsPressed(value, payload.readVarInt());
+                break;
+            case MEMORY:
+                value = NumberCodec.read(payload);
+                MemoryOperation memoryOperation = MEMORY_OPERATIONS[payload.readVarInt()];
+                Memory.INSTANCE.selectSlot(payload.readVarInt());
+                //the bank keeps the numbers of one mode apart from the others
+                Memory.INSTANCE.selectBank(MODES[payload.readVarInt()]);
+                ControlUnit.INSTANCE.memoryOperationPressed(value, memoryOperation);
+                break;
+            case CLEAR:
+                ControlUnit.INSTANCE.resetCalculator();
+                break;
+            case BASE_CHANGE:
+                //numbers are journaled in base 10, the base only matters for the display
+                payload.readVarInt();
+                break;
+            case TAPE_EDIT:
+                int index = payload.readVarInt();
+                if (payload.readByte() == OperationJournal.TAPE_OPERAND) {
+                    ControlUnit.INSTANCE.tapeOperandEdited(index, NumberCodec.read(payload));
+                } else {
+                    ControlUnit.INSTANCE.tapeOperationEdited(index, OPERATIONS[payload.readVarInt()]);
+                }
+                break;
+            //the display text and base only matter for showing an undone value
+            case UNDO_STEP:
+                undoHistory.record(UndoHistory.State.capture("", 10));
+                break;
+            case UNDO:
+                restore(undoHistory.undo(UndoHistory.State.capture("", 10)));
+                break;
+            case REDO:
+                restore(undoHistory.redo(UndoHistory.State.capture("", 10)));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void restore(UndoHistory.State state) {
+        if (state != null) {
+            state.restore();
+        }
+    }
+}
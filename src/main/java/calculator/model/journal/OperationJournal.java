@@ -0,0 +1,286 @@
+package calculator.model.journal;
+
+import calculator.model.memory.MemoryOperation;
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.codec.BinaryWriter;
+import calculator.model.utils.codec.NumberCodec;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//append-only journal of ControlUnit input events, enabled with -Dcalculator.journal=<file>
+//record: varint length, type, varint micros since previous record, payload; zero length ends the journal
+public class OperationJournal {
+
+    static final int MAGIC = 0x434A524E;
+    //2: memory records name the bank and slot, undo, redo and tape edits are journaled
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 5;
+    static final int TAPE_OPERAND = 0;
+    static final int TAPE_OPERATION = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationJournal.class);
+    private static final String JOURNAL_PROPERTY = "calculator.journal";
+    private static final String FLUSH_THREAD_NAME = "calculator-journal";
+    private static final int REGION_SIZE = 1 << 20;
+    //records written within this interval are forced to disk together
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    public static final OperationJournal INSTANCE = open(System.getProperty(JOURNAL_PROPERTY));
+
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+    private final BinaryWriter body = new BinaryWriter();
+    private final BinaryWriter lengthPrefix = new BinaryWriter();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long lastRecordNanos;
+    private boolean dirty;
+
+    private OperationJournal() {
+        channel = null;
+        flusher = null;
+    }
+
+    OperationJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            regionStart = recover();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+        } catch (IOException | CorruptedDataException e) {
+            channel.close();
+            throw e;
+        }
+        lastRecordNanos = System.nanoTime();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    private static OperationJournal open(String path) {
+        if (path == null) {
+            return new OperationJournal();
+        }
+        try {
+            return new OperationJournal(Paths.get(path));
+        } catch (IOException | CorruptedDataException e) {
+            LOGGER.error("Can not open journal " + path, e);
+            return new OperationJournal();
+        }
+    }
+
+    //finds the end of the last complete record and cuts off what a crash may have left after it
+    private long recover() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put((byte) VERSION).flip();
+            channel.write(header, 0);
+            return HEADER_SIZE;
+        }
+        JournalReader reader = new JournalReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        while (reader.next()) {
+        }
+        channel.truncate(reader.getEnd());
+        return reader.getEnd();
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public void digitEntered() {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.DIGIT_ENTRY);
+            endRecord();
+        }
+    }
+
+    public void operatorPressed(Number value, CalculatorOperation operation) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.OPERATOR);
+            NumberCodec.write(body, value);
+            body.writeVarInt(operation.ordinal());
+            endRecord();
+        }
+    }
+
+    public void equalsPressed(Number value, int times) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.EQUALS);
+            NumberCodec.write(body, value);
+            body.writeVarInt(times);
+            endRecord();
+        }
+    }
+
+    public void memoryOperationPressed(Number value, MemoryOperation operation, CalculatorMode bank, int slot) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.MEMORY);
+            NumberCodec.write(body, value);
+            body.writeVarInt(operation.ordinal());
+            body.writeVarInt(slot);
+            body.writeVarInt(bank.ordinal());
+            endRecord();
+        }
+    }
+
+    public void cleared() {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.CLEAR);
+            endRecord();
+        }
+    }
+
+    public void baseChanged(int base) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.BASE_CHANGE);
+            body.writeVarInt(base);
+            endRecord();
+        }
+    }
+
+    public void tapeOperandEdited(int index, Number number) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.TAPE_EDIT);
+            body.writeVarInt(index);
+            body.writeByte(TAPE_OPERAND);
+            NumberCodec.write(body, number);
+            endRecord();
+        }
+    }
+
+    public void tapeOperationEdited(int index, CalculatorOperation operation) {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.TAPE_EDIT);
+            body.writeVarInt(index);
+            body.writeByte(TAPE_OPERATION);
+            body.writeVarInt(operation.ordinal());
+            endRecord();
+        }
+    }
+
+    //the state before this record can be undone to
+    public void undoStepRecorded() {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.UNDO_STEP);
+            endRecord();
+        }
+    }
+
+    //only written when a state was undone or redone, so the replay keeps the same states as the calculator
+    public void undone() {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.UNDO);
+            endRecord();
+        }
+    }
+
+    public void redone() {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            startRecord(JournalRecordType.REDO);
+            endRecord();
+        }
+    }
+
+    private void startRecord(JournalRecordType type) {
+        long now = System.nanoTime();
+        body.reset();
+        body.writeByte(type.getCode());
+        body.writeVarLong(TimeUnit.NANOSECONDS.toMicros(now - lastRecordNanos));
+        lastRecordNanos = now;
+    }
+
+    private void endRecord() {
+        lengthPrefix.reset();
+        lengthPrefix.writeVarInt(body.size());
+        int length = lengthPrefix.size() + body.size();
+        try {
+            if (region.remaining() < length) {
+                region.force();
+                regionStart += region.position();
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, length));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Can not extend journal", e);
+            return;
+        }
+        lengthPrefix.writeTo(region);
+        body.writeTo(region);
+        dirty = true;
+    }
+
+    public void flush() {
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            toForce = region;
+        }
+        toForce.force();
+    }
+
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        flusher.shutdown();
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Can not close journal", e);
+        }
+    }
+}
@@ -1,34 +1,191 @@
 package calculator.model.memory;
 
 import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.codec.BinaryWriter;
+import calculator.model.utils.codec.NumberCodec;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class Memory <T extends Number<T>> {
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
-    public static final Memory INSTANCE = new Memory();
-    private Number<T> memoryValue;
+//every mode has its own bank of slots, so a slot only holds numbers of its mode
+//the slots are kept in a mapped file in the home directory, -Dcalculator.memory=<file> moves it and an empty value
+//keeps the memory for the session only
+//file: magic, version, mode count, slot count, then a cell of a fixed size per slot with a varint length and the number
+public class Memory<T extends Number<T>> {
+
+    public static final int SLOT_COUNT = 4;
+
+    static final int MAGIC = 0x434D454D;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int CELL_SIZE = 4096;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Memory.class);
+    private static final String MEMORY_PROPERTY = "calculator.memory";
+    private static final Path DEFAULT_PATH = Paths.get(System.getProperty("user.home"), ".calculator", "memory");
+    private static final int MODE_COUNT = CalculatorMode.values().length;
+
+    public static final Memory INSTANCE = open(System.getProperty(MEMORY_PROPERTY));
+
+    private final Number[][] banks = new Number[MODE_COUNT][SLOT_COUNT];
+    private final MappedByteBuffer store;
+    private final BinaryWriter cell = new BinaryWriter();
+    private final BinaryWriter length = new BinaryWriter();
+    private int bank;
+    private int slot;
 
     private Memory() {
+        store = null;
+    }
+
+    Memory(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            store = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) MODE_COUNT * SLOT_COUNT * CELL_SIZE);
+        }
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(store::force));
+    }
+
+    private static Memory open(String path) {
+        if (path != null && path.isEmpty()) {
+            return new Memory();
+        }
+        Path file = path == null ? DEFAULT_PATH : Paths.get(path);
+        try {
+            return new Memory(file);
+        } catch (IOException e) {
+            LOGGER.error("Can not open memory " + file + ", the memory is kept for the session only", e);
+            return new Memory();
+        }
+    }
+
+    //a file of another layout is started anew, a damaged slot is left empty
+    private void load() {
+        if (store.getInt(0) != MAGIC || store.get(4) != VERSION || store.get(5) != MODE_COUNT
+                || store.get(6) != SLOT_COUNT) {
+            for (int i = 0; i < store.capacity(); i++) {
+                store.put(i, (byte) 0);
+            }
+            store.putInt(0, MAGIC).put(4, (byte) VERSION).put(5, (byte) MODE_COUNT).put(6, (byte) SLOT_COUNT);
+            return;
+        }
+        for (int mode = 0; mode < MODE_COUNT; mode++) {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                ByteBuffer buffer = store.duplicate();
+                buffer.position(cellOffset(mode, slot));
+                buffer.limit(buffer.position() + CELL_SIZE);
+                BinaryReader reader = new BinaryReader(buffer);
+                try {
+                    if (reader.readVarInt() != 0) {
+                        banks[mode][slot] = NumberCodec.read(reader);
+                    }
+                } catch (CorruptedDataException e) {
+                    LOGGER.warn("Memory slot {} of {} is damaged", slot, CalculatorMode.values()[mode]);
+                    store.put(cellOffset(mode, slot), (byte) 0);
+                }
+            }
+        }
+    }
+
+    public void selectBank(CalculatorMode calculatorMode) {
+        bank = calculatorMode.ordinal();
+    }
+
+    public void selectSlot(int slot) {
+        if (slot < 0 || slot >= SLOT_COUNT) {
+            throw new IllegalArgumentException("Memory slot " + slot + " does not exist");
+        }
+        this.slot = slot;
+    }
+
+    public int getSelectedSlot() {
+        return slot;
+    }
+
+    public CalculatorMode getSelectedBank() {
+        return CalculatorMode.values()[bank];
     }
 
     public void memoryClear() {
-        memoryValue = null;
+        write(null);
     }
 
-    //this function may return null if memory was cleared or never used
+    //clears every slot of every mode, the selection stays
+    public void memoryClearAll() {
+        int selectedBank = bank;
+        int selectedSlot = slot;
+        for (bank = 0; bank < MODE_COUNT; bank++) {
+            for (slot = 0; slot < SLOT_COUNT; slot++) {
+                write(null);
+            }
+        }
+        bank = selectedBank;
+        slot = selectedSlot;
+    }
+
+    //this function may return null if the slot was cleared or never used
+    @SuppressWarnings("unchecked")
     public Number<T> memoryRead() {
-        return memoryValue;
+        return banks[bank][slot];
     }
 
     public Number<T> memoryAdd(T addend) {
-        if (memoryValue == null) {
-            memoryValue = addend;
-        } else {
-            memoryValue = memoryValue.add(addend);
-        }
-        return memoryValue;
+        Number<T> memoryValue = memoryRead();
+        write(memoryValue == null ? addend : memoryValue.add(addend));
+        return memoryRead();
+    }
+
+    public Number<T> memorySubtract(T subtrahend) {
+        Number<T> memoryValue = memoryRead();
+        write(memoryValue == null ? subtrahend.negate() : memoryValue.subtract(subtrahend));
+        return memoryRead();
     }
 
     public void memorySave(Number<T> value) {
-        memoryValue = value;
+        write(value);
+    }
+
+    //the slot is written through to the mapped file, the operating system writes it out
+    private void write(Number value) {
+        banks[bank][slot] = value;
+        if (store == null) {
+            return;
+        }
+        cell.reset();
+        if (value != null) {
+            NumberCodec.write(cell, value);
+        }
+        length.reset();
+        length.writeVarInt(cell.size());
+        int offset = cellOffset(bank, slot);
+        if (length.size() + cell.size() > CELL_SIZE) {
+            LOGGER.warn("Number in memory slot {} is too long to be kept after exit", slot);
+            store.put(offset, (byte) 0);
+            return;
+        }
+        ByteBuffer buffer = store.duplicate();
+        buffer.position(offset);
+        length.writeTo(buffer);
+        cell.writeTo(buffer);
+    }
+
+    private static int cellOffset(int mode, int slot) {
+        return HEADER_SIZE + (mode * SLOT_COUNT + slot) * CELL_SIZE;
     }
 }
@@ -4,5 +4,6 @@ public enum MemoryOperation {
     MEMORY_ADD,
     MEMORY_CLEAR,
     MEMORY_SAVE,
-    MEMORY_READ
+    MEMORY_READ,
+    MEMORY_SUBTRACT
 }
@@ -0,0 +1,155 @@
+package calculator.model.metrics;
+
+import calculator.model.cache.ResultCache;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+public class CalculatorMetrics implements CalculatorMetricsMXBean {
+
+    //read once at class loading, so the disabled checks are folded away by the JIT
+    public static final boolean ENABLED = Boolean.getBoolean("calculator.metrics");
+    public static final CalculatorMetrics INSTANCE = new CalculatorMetrics();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CalculatorMetrics.class);
+    private static final String OBJECT_NAME = "calculator:type=Metrics";
+    private static final double NANOS_IN_MICRO = 1000;
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final LatencyHistogram[] operations;
+    private final LatencyHistogram[] parses;
+    private final LatencyHistogram[] results;
+    private final LatencyHistogram conversionsToP;
+    private final LatencyHistogram conversionsTo10;
+
+    private CalculatorMetrics() {
+        operations = new LatencyHistogram[CalculatorOperation.values().length];
+        for (CalculatorOperation operation : CalculatorOperation.values()) {
+            operations[operation.ordinal()] = histogram("operation." + operation.name());
+        }
+        parses = new LatencyHistogram[CalculatorMode.values().length];
+        results = new LatencyHistogram[CalculatorMode.values().length];
+        for (CalculatorMode mode : CalculatorMode.values()) {
+            parses[mode.ordinal()] = histogram("parse." + mode.name());
+            results[mode.ordinal()] = histogram("result." + mode.name());
+        }
+        conversionsToP = histogram("conversion.10_TO_P");
+        conversionsTo10 = histogram("conversion.P_TO_10");
+    }
+
+    private LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histograms.put(name, histogram);
+        return histogram;
+    }
+
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static void operation(CalculatorOperation operation, long start) {
+        if (ENABLED) {
+            INSTANCE.operations[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static void parse(CalculatorMode mode, long start) {
+        if (ENABLED) {
+            INSTANCE.parses[mode.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static void result(CalculatorMode mode, long start) {
+        if (ENABLED) {
+            INSTANCE.results[mode.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static void conversionToP(long start) {
+        if (ENABLED) {
+            INSTANCE.conversionsToP.record(System.nanoTime() - start);
+        }
+    }
+
+    public static void conversionTo10(long start) {
+        if (ENABLED) {
+            INSTANCE.conversionsTo10.record(System.nanoTime() - start);
+        }
+    }
+
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            LOGGER.warn("Can not register metrics MBean", e);
+        }
+    }
+
+    public LatencyHistogram getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                counts.put(name, histogram.getCount());
+            }
+        });
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMeanMicros() {
+        return micros(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return micros(histogram -> histogram.getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return micros(histogram -> histogram.getPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        return micros(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public double getResultCacheHitRate() {
+        return ResultCache.INSTANCE.getHitRate();
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    private Map<String, Double> micros(ToDoubleFunction<LatencyHistogram> nanos) {
+        Map<String, Double> micros = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                micros.put(name, nanos.applyAsDouble(histogram) / NANOS_IN_MICRO);
+            }
+        });
+        return micros;
+    }
+}
@@ -0,0 +1,23 @@
+package calculator.model.metrics;
+
+import java.util.Map;
+
+//keys are "operation.<OPERATION>", "parse.<MODE>", "result.<MODE>", "conversion.10_TO_P" and "conversion.P_TO_10"
+public interface CalculatorMetricsMXBean {
+
+    boolean isEnabled();
+
+    Map<String, Long> getCounts();
+
+    Map<String, Double> getMeanMicros();
+
+    Map<String, Double> getP50Micros();
+
+    Map<String, Double> getP99Micros();
+
+    Map<String, Double> getMaxMicros();
+
+    double getResultCacheHitRate();
+
+    void reset();
+}
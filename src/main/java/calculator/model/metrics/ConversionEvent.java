@@ -0,0 +1,46 @@
+package calculator.model.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("calculator.Conversion")
+@Label("Base Conversion")
+@Description("Conversion of a number between base 10 and base P")
+@Category("Calculator")
+@StackTrace(false)
+public class ConversionEvent extends Event {
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Base")
+    public int base;
+
+    @Label("Digits")
+    public int digits;
+
+    @Label("Precision")
+    public int precision;
+
+    static Object start() {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void finish(Object started, String direction, int base, int digits, int precision) {
+        ConversionEvent event = (ConversionEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.direction = direction;
+            event.base = base;
+            event.digits = digits;
+            event.precision = precision;
+            event.commit();
+        }
+    }
+}
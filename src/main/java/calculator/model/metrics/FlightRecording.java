@@ -0,0 +1,78 @@
+package calculator.model.metrics;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+
+//flight recorder events of the calculator, jdk.jfr is missing on Java 8 runtimes before update 262
+//without it nothing is recorded, the event classes extend jdk.jfr.Event and are only loaded through here
+//a begin method returns null if events are not available, its result is passed to the matching end method
+public final class FlightRecording {
+
+    private static final String EVENT_CLASS = "jdk.jfr.Event";
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecording() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName(EVENT_CLASS, false, FlightRecording.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static Object beginKeyPress() {
+        return AVAILABLE ? KeyPressEvent.start() : null;
+    }
+
+    public static void endKeyPress(Object event, String step, CalculatorMode mode, String operation, String value,
+                                   long queuedNanos) {
+        if (event != null) {
+            KeyPressEvent.finish(event, step, mode, operation, value, queuedNanos);
+        }
+    }
+
+    public static Object beginOperation() {
+        return AVAILABLE ? OperationEvent.start() : null;
+    }
+
+    public static void endOperation(Object event, CalculatorOperation operation, Number left, Number right,
+                                    Number result, boolean cached) {
+        if (event != null) {
+            OperationEvent.finish(event, operation, left, right, result, cached);
+        }
+    }
+
+    public static Object beginConversion() {
+        return AVAILABLE ? ConversionEvent.start() : null;
+    }
+
+    public static void endConversion(Object event, String direction, int base, int digits, int precision) {
+        if (event != null) {
+            ConversionEvent.finish(event, direction, base, digits, precision);
+        }
+    }
+
+    public static Object beginHistoryRender() {
+        return AVAILABLE ? HistoryRenderEvent.start() : null;
+    }
+
+    public static void endHistoryRender(Object event, CalculatorMode mode, int base, int length) {
+        if (event != null) {
+            HistoryRenderEvent.finish(event, mode, base, length);
+        }
+    }
+
+    public static Object beginSceneSwitch() {
+        return AVAILABLE ? SceneSwitchEvent.start() : null;
+    }
+
+    public static void endSceneSwitch(Object event, CalculatorMode fromMode, CalculatorMode toMode) {
+        if (event != null) {
+            SceneSwitchEvent.finish(event, fromMode, toMode);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package calculator.model.metrics;
+
+import calculator.model.stats.CalculatorMode;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("calculator.HistoryRender")
+@Label("History Render")
+@Description("Rendering of the local history text")
+@Category("Calculator")
+@StackTrace(false)
+public class HistoryRenderEvent extends Event {
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Base")
+    public int base;
+
+    @Label("Length")
+    public int length;
+
+    static Object start() {
+        HistoryRenderEvent event = new HistoryRenderEvent();
+        event.begin();
+        return event;
+    }
+
+    static void finish(Object started, CalculatorMode mode, int base, int length) {
+        HistoryRenderEvent event = (HistoryRenderEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode.name();
+            event.base = base;
+            event.length = length;
+            event.commit();
+        }
+    }
+}
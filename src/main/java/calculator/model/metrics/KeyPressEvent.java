@@ -0,0 +1,53 @@
+package calculator.model.metrics;
+
+import calculator.model.stats.CalculatorMode;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("calculator.KeyPress")
+@Label("Key Press")
+@Description("Model step triggered by a button or key, executed on the compute thread")
+@Category("Calculator")
+@StackTrace(false)
+public class KeyPressEvent extends Event {
+
+    @Label("Step")
+    public String step;
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Value Length")
+    public int valueLength;
+
+    @Label("Queued Nanos")
+    @Description("Time between the key press and the start of the model step")
+    public long queuedNanos;
+
+    static Object start() {
+        KeyPressEvent event = new KeyPressEvent();
+        event.begin();
+        return event;
+    }
+
+    static void finish(Object started, String step, CalculatorMode mode, String operation, String value,
+                       long queuedNanos) {
+        KeyPressEvent event = (KeyPressEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.step = step;
+            event.mode = mode == null ? null : mode.name();
+            event.operation = operation;
+            event.valueLength = value == null ? 0 : value.length();
+            event.queuedNanos = queuedNanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package calculator.model.metrics;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorOperation;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("calculator.Operation")
+@Label("Operation")
+@Description("Processor operation run")
+@Category("Calculator")
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Number Type")
+    public String numberType;
+
+    @Label("Left Digits")
+    public int leftDigits;
+
+    @Label("Right Digits")
+    public int rightDigits;
+
+    @Label("Result Digits")
+    public int resultDigits;
+
+    @Label("Cached")
+    public boolean cached;
+
+    static Object start() {
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        return event;
+    }
+
+    //the digits are only counted when the event is recorded
+    static void finish(Object started, CalculatorOperation operation, Number left, Number right, Number result,
+                       boolean cached) {
+        OperationEvent event = (OperationEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.numberType = left.getClass().getSimpleName();
+            event.leftDigits = left.digitCount();
+            event.rightDigits = operation.isUnary() || right == null ? 0 : right.digitCount();
+            event.resultDigits = result == null ? 0 : result.digitCount();
+            event.cached = cached;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package calculator.model.metrics;
+
+import calculator.model.stats.CalculatorMode;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("calculator.SceneSwitch")
+@Label("Scene Switch")
+@Description("Creation and setup of the scene of another calculator mode")
+@Category("Calculator")
+@StackTrace(false)
+public class SceneSwitchEvent extends Event {
+
+    @Label("From Mode")
+    public String fromMode;
+
+    @Label("To Mode")
+    public String toMode;
+
+    static Object start() {
+        SceneSwitchEvent event = new SceneSwitchEvent();
+        event.begin();
+        return event;
+    }
+
+    static void finish(Object started, CalculatorMode fromMode, CalculatorMode toMode) {
+        SceneSwitchEvent event = (SceneSwitchEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.fromMode = fromMode.name();
+            event.toMode = toMode.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package calculator.model.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+//milestones of one cold start, counted from the jvm start
+//-Dcalculator.startup=true logs them, -Dcalculator.startup.report=<file> also writes "name millis" lines
+//and -Dcalculator.startup.exit=true closes the application once it is interactive
+public class StartupTimeline {
+
+    public static final boolean ENABLED = Boolean.getBoolean("calculator.startup");
+    public static final boolean EXIT_WHEN_INTERACTIVE = Boolean.getBoolean("calculator.startup.exit");
+    public static final StartupTimeline INSTANCE = new StartupTimeline();
+
+    public static final String MAIN = "main";
+    public static final String WARMUP = "warmup";
+    public static final String FX_START = "fxStart";
+    public static final String SCENE_READY = "sceneReady";
+    public static final String SHOWN = "shown";
+    public static final String FIRST_FRAME = "firstFrame";
+    public static final String INTERACTIVE = "interactive";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeline.class);
+    private static final String REPORT_FILE = System.getProperty("calculator.startup.report");
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long jvmStartNanos;
+    private final List<String> names = new ArrayList<>();
+    private final List<Long> marks = new ArrayList<>();
+
+    //the management classes are only loaded when the timeline is on, they are a cold start cost of their own
+    private StartupTimeline() {
+        jvmStartNanos = ENABLED ? System.nanoTime()
+                - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime()) : 0;
+    }
+
+    public static void mark(String name) {
+        if (ENABLED) {
+            INSTANCE.add(name, System.nanoTime());
+        }
+    }
+
+    private synchronized void add(String name, long nanos) {
+        if (!names.contains(name)) {
+            names.add(name);
+            marks.add(nanos - jvmStartNanos);
+        }
+    }
+
+    public synchronized void report() {
+        StringBuilder line = new StringBuilder("Startup timeline:");
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            String millis = String.format(Locale.ROOT, "%.1f", marks.get(i) / NANOS_IN_MILLI);
+            line.append(' ').append(names.get(i)).append(' ').append(millis).append(" ms");
+            file.append(names.get(i)).append(' ').append(millis).append('\n');
+        }
+        LOGGER.info(line.toString());
+        if (REPORT_FILE != null) {
+            try {
+                Files.write(Paths.get(REPORT_FILE), file.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOGGER.error("Error writing startup report " + REPORT_FILE, e);
+            }
+        }
+    }
+}
@@ -127,7 +127,7 @@ public class Complex implements Number<Complex> {
         if (exponent < 0 || exponent > 9999) {
             throw new IllegalArgumentException("Negative Exponent");
         }
-        BigDecimal module = this.module().pow(exponent, new MathContext(MAX_PRECISION, HALF_UP));
+        BigDecimal module = MathUtils.pow(this.module(), exponent, new MathContext(MAX_PRECISION, HALF_UP));
         BigDecimal fi = this.complexArgument().multiply(BigDecimal.valueOf(exponent));
         return new Complex(MathUtils.taylorCos(fi).multiply(module), MathUtils.taylorSin(fi).multiply(module));
     }
@@ -168,6 +168,12 @@ public class Complex implements Number<Complex> {
         return null;
     }
 
+    @Override
+    public int digitCount() {
+        return Math.max(Math.max(real.precision(), real.precision() - real.scale()),
+                Math.max(imaginary.precision(), imaginary.precision() - imaginary.scale()));
+    }
+
     public BigDecimal getReal() {
         real = real.stripTrailingZeros();
         return real;
@@ -8,6 +8,8 @@ import java.math.BigInteger;
 import java.util.Objects;
 
 public class Fraction implements Number<Fraction> {
+    private static final double LOG10_OF_2 = Math.log10(2);
+
     private BigInteger numerator;
     private BigInteger denominator;
 
@@ -119,4 +121,10 @@ public class Fraction implements Number<Fraction> {
     public BigDecimal toBigDecimal() {
         return null;
     }
+
+    //estimated from bit length, exact count would need toString()
+    @Override
+    public int digitCount() {
+        return (int) ((numerator.bitLength() + denominator.bitLength()) * LOG10_OF_2) + 2;
+    }
 }
@@ -29,4 +29,6 @@ public interface Number<T extends Number<T>> {
     boolean compareToConst(NumberConstant constant);
 
     BigDecimal toBigDecimal();
+
+    int digitCount();
 }
@@ -9,13 +9,16 @@ import java.util.Objects;
 
 public class Real implements Number<Real> {
 
+    //significant digits every real is rounded to
+    public static final int PRECISION = 100;
+
     private BigDecimal value;
 
     public Real(BigDecimal number) {
         if (number == null) {
             throw new IllegalArgumentException("Arguments can not be null");
         }
-        number = number.round(new MathContext(100, RoundingMode.HALF_UP));
+        number = number.round(new MathContext(PRECISION, RoundingMode.HALF_UP));
         value = number;
     }
 
@@ -79,7 +82,12 @@ public class Real implements Number<Real> {
 
     @Override
     public BigDecimal toBigDecimal() {
-        return null;
+        return value;
+    }
+
+    @Override
+    public int digitCount() {
+        return Math.max(value.precision(), value.precision() - value.scale());
     }
 
     String getExp() {
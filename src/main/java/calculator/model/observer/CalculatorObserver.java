@@ -2,6 +2,8 @@ package calculator.model.observer;
 
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
 import calculator.view.localization.Language;
 
 import java.util.List;
@@ -18,7 +20,7 @@ public interface CalculatorObserver {
 
     void setResult(String result);
 
-    void setHistoryText(String text);
+    void setHistoryWindow(HistoryWindow historyWindow);
 
     void clearResultAfterEnteringDigit();
 
@@ -30,5 +32,15 @@ public interface CalculatorObserver {
 
     void disableMemoryButtons(boolean value);
 
+    void setMemorySlot(int slot);
+
+    void setBusy(boolean value);
+
+    void showGlobalHistory(List<HistoryRecord> records);
+
+    void editTapeNode(int index, String text, boolean operand);
+
+    void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState);
+
     String getValue();
 }
@@ -0,0 +1,180 @@
+package calculator.model.observer;
+
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
+import calculator.view.localization.Language;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+//model runs on the compute thread, every view update is marshalled through the view executor
+//state updates of one key press are merged into a single view update that is applied once
+public class DispatchingCalculatorObserver implements CalculatorObserver {
+
+    private final CalculatorObserver calculatorObserver;
+    private final Executor viewExecutor;
+    private final InputSequence inputSequence;
+
+    private ViewUpdate pendingUpdate;
+    private boolean applyScheduled;
+
+    public DispatchingCalculatorObserver(CalculatorObserver calculatorObserver, Executor viewExecutor,
+                                         InputSequence inputSequence) {
+        this.calculatorObserver = calculatorObserver;
+        this.viewExecutor = viewExecutor;
+        this.inputSequence = inputSequence;
+    }
+
+    //runs a view task after the state collected so far, e.g. one that reads the value text
+    public void execute(Runnable viewTask) {
+        viewExecutor.execute(() -> {
+            applyPendingUpdate();
+            viewTask.run();
+        });
+    }
+
+    public void resetCaret(Runnable caretReset) {
+        synchronized (this) {
+            pendingUpdate().resetCaret(caretReset);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void updateDigitButtons(List<String> buttonsText) {
+        execute(() -> calculatorObserver.updateDigitButtons(buttonsText));
+    }
+
+    @Override
+    public void updateCalculatorMode(CalculatorMode calculatorMode) {
+        execute(() -> calculatorObserver.updateCalculatorMode(calculatorMode));
+    }
+
+    @Override
+    public void updateLanguage(Language language) {
+        execute(() -> calculatorObserver.updateLanguage(language));
+    }
+
+    @Override
+    public void setBackSpaceEnabled(boolean value) {
+        synchronized (this) {
+            pendingUpdate().setBackSpaceEnabled(value);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void setResult(String result) {
+        synchronized (this) {
+            pendingUpdate().setResult(result, inputSequence.answered());
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void setHistoryWindow(HistoryWindow historyWindow) {
+        synchronized (this) {
+            pendingUpdate().setHistoryWindow(historyWindow);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void clearResultAfterEnteringDigit() {
+        synchronized (this) {
+            pendingUpdate().clearResultAfterEnteringDigit(inputSequence.answered());
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void copyValueToClipboard() {
+        execute(calculatorObserver::copyValueToClipboard);
+    }
+
+    @Override
+    public void pasteValueFromClipboard() {
+        execute(calculatorObserver::pasteValueFromClipboard);
+    }
+
+    @Override
+    public void setErrorState(ErrorState errorState) {
+        synchronized (this) {
+            pendingUpdate().setErrorState(errorState);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void disableMemoryButtons(boolean value) {
+        synchronized (this) {
+            pendingUpdate().disableMemoryButtons(value);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void setMemorySlot(int slot) {
+        execute(() -> calculatorObserver.setMemorySlot(slot));
+    }
+
+    @Override
+    public void setBusy(boolean value) {
+        synchronized (this) {
+            pendingUpdate().setBusy(value);
+        }
+        scheduleApply();
+    }
+
+    @Override
+    public void showGlobalHistory(List<HistoryRecord> records) {
+        execute(() -> calculatorObserver.showGlobalHistory(records));
+    }
+
+    @Override
+    public void editTapeNode(int index, String text, boolean operand) {
+        execute(() -> calculatorObserver.editTapeNode(index, text, operand));
+    }
+
+    @Override
+    public void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState) {
+        execute(() -> calculatorObserver.tapeEditFailed(index, text, operand, errorState));
+    }
+
+    @Override
+    public String getValue() {
+        return calculatorObserver.getValue();
+    }
+
+    private ViewUpdate pendingUpdate() {
+        if (pendingUpdate == null) {
+            pendingUpdate = new ViewUpdate();
+        }
+        return pendingUpdate;
+    }
+
+    //only the first change of a batch schedules it, the executor may also run it right away
+    private void scheduleApply() {
+        synchronized (this) {
+            if (applyScheduled || pendingUpdate == null) {
+                return;
+            }
+            applyScheduled = true;
+        }
+        viewExecutor.execute(this::applyPendingUpdate);
+    }
+
+    private void applyPendingUpdate() {
+        ViewUpdate update;
+        synchronized (this) {
+            update = pendingUpdate;
+            pendingUpdate = null;
+            applyScheduled = false;
+        }
+        if (update != null) {
+            update.applyTo(calculatorObserver, inputSequence);
+        }
+    }
+}
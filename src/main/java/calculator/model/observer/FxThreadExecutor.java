@@ -0,0 +1,18 @@
+package calculator.model.observer;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executor;
+
+public enum FxThreadExecutor implements Executor {
+    INSTANCE;
+
+    @Override
+    public void execute(Runnable command) {
+        if (Platform.isFxApplicationThread()) {
+            command.run();
+        } else {
+            Platform.runLater(command);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package calculator.model.observer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//digits are typed into the view while the compute thread still works on an earlier key press,
+//a value text sent for a key press older than the last typed digit would overwrite the digit and is dropped
+public class InputSequence {
+
+    private final AtomicLong typed = new AtomicLong();
+    private volatile long answered;
+
+    //called by the view thread after the value text was edited
+    public void typed() {
+        typed.incrementAndGet();
+    }
+
+    public long current() {
+        return typed.get();
+    }
+
+    //called by the compute thread before the task submitted at the input runs
+    public void answering(long input) {
+        answered = input;
+    }
+
+    long answered() {
+        return answered;
+    }
+
+    boolean isStale(long input) {
+        return input < typed.get();
+    }
+}
@@ -0,0 +1,83 @@
+package calculator.model.observer;
+
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryWindow;
+
+//view state collected from the model between two applications on the fx thread, later values replace earlier ones
+class ViewUpdate {
+
+    private Boolean backSpaceEnabled;
+    private ErrorState errorState;
+    private String result;
+    private long resultInput;
+    private HistoryWindow historyWindow;
+    private boolean clearResultAfterEnteringDigit;
+    private long clearResultInput;
+    private Runnable caretReset;
+    private Boolean memoryButtonsDisabled;
+    private Boolean busy;
+
+    void setBackSpaceEnabled(boolean value) {
+        backSpaceEnabled = value;
+    }
+
+    //an error replaces the value text, a result after the error is still shown on top of it
+    void setErrorState(ErrorState errorState) {
+        this.errorState = errorState;
+        result = null;
+    }
+
+    void setResult(String result, long input) {
+        this.result = result;
+        resultInput = input;
+    }
+
+    void setHistoryWindow(HistoryWindow historyWindow) {
+        this.historyWindow = historyWindow;
+    }
+
+    void clearResultAfterEnteringDigit(long input) {
+        clearResultAfterEnteringDigit = true;
+        clearResultInput = input;
+    }
+
+    void resetCaret(Runnable caretReset) {
+        this.caretReset = caretReset;
+    }
+
+    void disableMemoryButtons(boolean value) {
+        memoryButtonsDisabled = value;
+    }
+
+    void setBusy(boolean value) {
+        busy = value;
+    }
+
+    //the value text and the clearing of it are left to digits typed after the key press they answer
+    void applyTo(CalculatorObserver calculatorObserver, InputSequence inputSequence) {
+        if (backSpaceEnabled != null) {
+            calculatorObserver.setBackSpaceEnabled(backSpaceEnabled);
+        }
+        if (errorState != null) {
+            calculatorObserver.setErrorState(errorState);
+        }
+        if (result != null && !inputSequence.isStale(resultInput)) {
+            calculatorObserver.setResult(result);
+        }
+        if (historyWindow != null) {
+            calculatorObserver.setHistoryWindow(historyWindow);
+        }
+        if (clearResultAfterEnteringDigit && !inputSequence.isStale(clearResultInput)) {
+            calculatorObserver.clearResultAfterEnteringDigit();
+        }
+        if (caretReset != null) {
+            caretReset.run();
+        }
+        if (memoryButtonsDisabled != null) {
+            calculatorObserver.disableMemoryButtons(memoryButtonsDisabled);
+        }
+        if (busy != null) {
+            calculatorObserver.setBusy(busy);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package calculator.model.stats;
+
+public enum CalculatorBudget {
+    OPERATION("budget_operation_millis", "budget_operation_digits", 2000, 10000),
+    CONVERSION("budget_conversion_millis", "budget_conversion_digits", 2000, 4000);
+
+    private String timeKey;
+    private String digitsKey;
+    private long timeMillis;
+    private int maxDigits;
+
+    CalculatorBudget(String timeKey, String digitsKey, long timeMillis, int maxDigits) {
+        this.timeKey = timeKey;
+        this.digitsKey = digitsKey;
+        this.timeMillis = timeMillis;
+        this.maxDigits = maxDigits;
+    }
+
+    public String getTimeKey() {
+        return timeKey;
+    }
+
+    public String getDigitsKey() {
+        return digitsKey;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int getMaxDigits() {
+        return maxDigits;
+    }
+}
@@ -0,0 +1,21 @@
+package calculator.model.stats;
+
+public enum CalculatorCache {
+    RESULT("result_cache_max_weight", 200_000);
+
+    private String weightKey;
+    private long maxWeight;
+
+    CalculatorCache(String weightKey, long maxWeight) {
+        this.weightKey = weightKey;
+        this.maxWeight = maxWeight;
+    }
+
+    public String getWeightKey() {
+        return weightKey;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+}
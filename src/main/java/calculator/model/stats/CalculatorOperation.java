@@ -1,40 +1,58 @@
 package calculator.model.stats;
 
 import static calculator.view.localization.LanguageProperties.getProperty;
+import static calculator.view.localization.LanguageProperties.indexOf;
 
 public enum CalculatorOperation {
 
-    ADD("ADD", false, getProperty("calculator_scene.operation_plus")),
-    SUBTRACT("SUBTRACT", false, getProperty("calculator_scene.operation_minus")),
-    MULTIPLY("MULTIPLY", false, getProperty("calculator_scene.operation_multiply")),
-    DIVIDE("DIVIDE", false, getProperty("calculator_scene.operation_divide")),
-    REVERSE("REVERSE", true, getProperty("calculator_scene.operation_reverse")),
-    NEGATE("NEGATE", true, getProperty("calculator_scene.operation_negate")),
-    SQUARE("SQUARE", true, getProperty("calculator_scene.operation_square")),
+    ADD("ADD", false, false, "calculator_scene.operation_plus"),
+    SUBTRACT("SUBTRACT", false, false, "calculator_scene.operation_minus"),
+    MULTIPLY("MULTIPLY", false, false, "calculator_scene.operation_multiply"),
+    DIVIDE("DIVIDE", false, true, "calculator_scene.operation_divide"),
+    REVERSE("REVERSE", true, true, "calculator_scene.operation_reverse"),
+    NEGATE("NEGATE", true, false, "calculator_scene.operation_negate"),
+    SQUARE("SQUARE", true, true, "calculator_scene.operation_square"),
     //only for complex:
-    IM_NEGATE("IM_NEGATE", true, getProperty("complex_calculator_scene.operation_im_negate")),
-    ABS("ABS", true, getProperty("complex_calculator_scene.operation_abs")),
-    RAD("RAD", true, getProperty("complex_calculator_scene.operation_rad")),
-    DEG("DEG", true, getProperty("complex_calculator_scene.operation_deg")),
-    POW("POW", false, getProperty("complex_calculator_scene.operation_pow")),
-    SQRT("SQRT", true, getProperty("complex_calculator_scene.operation_sqrt"));
+    IM_NEGATE("IM_NEGATE", true, false, "complex_calculator_scene.operation_im_negate"),
+    ABS("ABS", true, true, "complex_calculator_scene.operation_abs"),
+    RAD("RAD", true, true, "complex_calculator_scene.operation_rad"),
+    DEG("DEG", true, true, "complex_calculator_scene.operation_deg"),
+    POW("POW", false, true, "complex_calculator_scene.operation_pow"),
+    SQRT("SQRT", true, true, "complex_calculator_scene.operation_sqrt");
 
 
+    private static final int UNRESOLVED_INDEX = Integer.MIN_VALUE;
+
     private String name;
     private boolean unary;
-    private String mathSign;
-
-    CalculatorOperation(String operation, boolean unaryFlag, String mS) {
+    //pure operation which is worth caching, cheap add/subtract are recomputed
+    private boolean expensive;
+    //resolved on first use, so loading the enum does not read the localization files
+    //the index is the same in every language, the sign follows a language switch
+    private String mathSignKey;
+    private volatile int mathSignIndex = UNRESOLVED_INDEX;
+
+    CalculatorOperation(String operation, boolean unaryFlag, boolean expensiveFlag, String mathSignKey) {
         name = operation;
         unary = unaryFlag;
-        mathSign = mS;
+        expensive = expensiveFlag;
+        this.mathSignKey = mathSignKey;
     }
 
     public boolean isUnary() {
         return unary;
     }
 
+    public boolean isExpensive() {
+        return expensive;
+    }
+
     public String getMathSign() {
-        return mathSign;
+        int index = mathSignIndex;
+        if (index == UNRESOLVED_INDEX) {
+            index = indexOf(mathSignKey);
+            mathSignIndex = index;
+        }
+        return getProperty(index);
     }
 }
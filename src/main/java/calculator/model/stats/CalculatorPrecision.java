@@ -1,17 +1,28 @@
 package calculator.model.stats;
 
 public enum CalculatorPrecision {
-    REAL_PRECISION(100, 90),
-    COMPLEX_PRECISION(11, 10),
-    SCIENTIFIC_DIGITS_REAL(30, 30),
-    SCIENTIFIC_DIGITS_FRACTION(13, 13);
+    REAL_PRECISION(100, 90, null),
+    COMPLEX_PRECISION(11, 10, null),
+    SCIENTIFIC_DIGITS_REAL(30, 30, "precision_scientific_digits_real"),
+    SCIENTIFIC_DIGITS_FRACTION(13, 13, "precision_scientific_digits_fraction");
 
     int precision;
     int comparePrecision;
+    //only the digits shown can be configured, numbers are compared and cached with the arithmetic precision
+    private String configKey;
 
-    CalculatorPrecision(int precision, int comparePrecision) {
+    CalculatorPrecision(int precision, int comparePrecision, String configKey) {
         this.precision = precision;
         this.comparePrecision = comparePrecision;
+        this.configKey = configKey;
+    }
+
+    public boolean isConfigurable() {
+        return configKey != null;
+    }
+
+    public String getConfigKey() {
+        return configKey;
     }
 
     public int getPrecision() {
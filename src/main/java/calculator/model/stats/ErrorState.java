@@ -1,20 +1,32 @@
 package calculator.model.stats;
 
 import static calculator.view.localization.LanguageProperties.getProperty;
+import static calculator.view.localization.LanguageProperties.indexOf;
 
 public enum ErrorState {
 
-    DIVISION_BY_ZERO(getProperty("calculator_scene.error_division_by_zero")),
-    OVERFLOW(getProperty("calculator_scene.error_overflow")),
-    WRONG_DATA(getProperty("calculator_scene.error_wrong_data"));
+    DIVISION_BY_ZERO("calculator_scene.error_division_by_zero"),
+    OVERFLOW("calculator_scene.error_overflow"),
+    WRONG_DATA("calculator_scene.error_wrong_data"),
+    BUDGET_EXCEEDED("calculator_scene.error_budget_exceeded");
 
-    String errorStateText;
+    private static final int UNRESOLVED_INDEX = Integer.MIN_VALUE;
 
-    ErrorState(String errorStateText) {
-        this.errorStateText = errorStateText;
+    //resolved on first use, so loading the enum does not read the localization files
+    //the index is the same in every language, the text follows a language switch
+    private String errorStateKey;
+    private volatile int errorStateIndex = UNRESOLVED_INDEX;
+
+    ErrorState(String errorStateKey) {
+        this.errorStateKey = errorStateKey;
     }
 
     public String getErrorStateText() {
-        return errorStateText;
+        int index = errorStateIndex;
+        if (index == UNRESOLVED_INDEX) {
+            index = indexOf(errorStateKey);
+            errorStateIndex = index;
+        }
+        return getProperty(index);
     }
 }
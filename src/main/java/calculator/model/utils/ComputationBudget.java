@@ -0,0 +1,32 @@
+package calculator.model.utils;
+
+import java.util.concurrent.TimeUnit;
+
+public final class ComputationBudget {
+
+    private final long deadlineNanos;
+    private final int maxDigits;
+
+    private ComputationBudget(long deadlineNanos, int maxDigits) {
+        this.deadlineNanos = deadlineNanos;
+        this.maxDigits = maxDigits;
+    }
+
+    public static ComputationBudget start(long timeMillis, int maxDigits) {
+        return new ComputationBudget(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeMillis), maxDigits);
+    }
+
+    //nested budget can not outlive the enclosing one
+    ComputationBudget narrow(ComputationBudget inner) {
+        long deadline = deadlineNanos - inner.deadlineNanos < 0 ? deadlineNanos : inner.deadlineNanos;
+        return new ComputationBudget(deadline, Math.min(maxDigits, inner.maxDigits));
+    }
+
+    boolean timeIsOver() {
+        return System.nanoTime() - deadlineNanos > 0;
+    }
+
+    public int getMaxDigits() {
+        return maxDigits;
+    }
+}
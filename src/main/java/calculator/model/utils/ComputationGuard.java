@@ -0,0 +1,67 @@
+package calculator.model.utils;
+
+import calculator.model.configuration.Config;
+import calculator.model.stats.CalculatorBudget;
+import calculator.model.utils.exceptions.BudgetExceededException;
+import calculator.model.utils.exceptions.ComputationCancelledException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//long running loops call check() so that a stale computation can be cancelled from the compute executor
+//and so that a computation can not run longer or produce more digits than its budget allows
+public final class ComputationGuard {
+
+    private static final ThreadLocal<ComputationBudget> CURRENT_BUDGET = new ThreadLocal<>();
+    private static final ThreadLocal<AtomicBoolean> CURRENT_CANCELLATION = new ThreadLocal<>();
+
+    private ComputationGuard() {
+    }
+
+    //returns the previous budget, it must be restored with exit()
+    public static ComputationBudget enter(CalculatorBudget calculatorBudget) {
+        return enter(ComputationBudget.start(Config.getTimeBudgetMillis(calculatorBudget),
+                Config.getDigitsBudget(calculatorBudget)));
+    }
+
+    public static ComputationBudget enter(ComputationBudget budget) {
+        ComputationBudget previous = CURRENT_BUDGET.get();
+        CURRENT_BUDGET.set(previous == null ? budget : previous.narrow(budget));
+        return previous;
+    }
+
+    public static void exit(ComputationBudget previous) {
+        if (previous == null) {
+            CURRENT_BUDGET.remove();
+        } else {
+            CURRENT_BUDGET.set(previous);
+        }
+    }
+
+    //the flag is raised from another thread, an interrupt instead would close the journal and history channels
+    //the computation happens to write to
+    public static void watch(AtomicBoolean cancellation) {
+        if (cancellation == null) {
+            CURRENT_CANCELLATION.remove();
+        } else {
+            CURRENT_CANCELLATION.set(cancellation);
+        }
+    }
+
+    public static void check() {
+        AtomicBoolean cancellation = CURRENT_CANCELLATION.get();
+        if (cancellation != null && cancellation.get()) {
+            throw new ComputationCancelledException("Computation was cancelled");
+        }
+        ComputationBudget budget = CURRENT_BUDGET.get();
+        if (budget != null && budget.timeIsOver()) {
+            throw new BudgetExceededException("Time budget exceeded");
+        }
+    }
+
+    public static void checkDigits(int digits) {
+        ComputationBudget budget = CURRENT_BUDGET.get();
+        if (budget != null && digits > budget.getMaxDigits()) {
+            throw new BudgetExceededException("Digits budget exceeded");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package calculator.model.utils;
 
+import calculator.model.metrics.CalculatorMetrics;
+import calculator.model.metrics.FlightRecording;
+import calculator.model.stats.CalculatorBudget;
 import calculator.model.stats.CalculatorPrecision;
 
 import java.math.BigDecimal;
@@ -32,6 +35,20 @@ public class ConverterPToP {
 
     public static String convert10ToP(String valueString, int base, int precision) {
         checkArguments(valueString, base, precision);
+        Object event = FlightRecording.beginConversion();
+        long start = CalculatorMetrics.start();
+        ComputationBudget previousBudget = ComputationGuard.enter(CalculatorBudget.CONVERSION);
+        try {
+            ComputationGuard.checkDigits(valueString.length());
+            return convertBudgeted10ToP(valueString, base, precision);
+        } finally {
+            ComputationGuard.exit(previousBudget);
+            CalculatorMetrics.conversionToP(start);
+            FlightRecording.endConversion(event, "10_TO_P", base, valueString.length(), precision);
+        }
+    }
+
+    private static String convertBudgeted10ToP(String valueString, int base, int precision) {
         valueString = valueString.toUpperCase();
         BigDecimal value = new BigDecimal(valueString);
         value = value.stripTrailingZeros();
@@ -72,6 +89,8 @@ public class ConverterPToP {
         value = value.abs();
         StringBuilder result = new StringBuilder();
         while (!value.equals(BigInteger.ZERO)) {
+            ComputationGuard.check();
+            ComputationGuard.checkDigits(result.length());
             result.append(Digits.getDigitFromInt(value.remainder(BigInteger.valueOf(base)).intValue()));
             value = value.divide(BigInteger.valueOf(base));
         }
@@ -88,6 +107,7 @@ public class ConverterPToP {
         value = value.abs();
         StringBuilder result = new StringBuilder();
         for (int i = 0; i <= precision; i++) {
+            ComputationGuard.check();
             int digit = value.divideToIntegralValue(multiplier).intValue();
             if (digit > 0) {
                 value = value.subtract(multiplier.multiply(BigDecimal.valueOf(digit)));
@@ -100,6 +120,20 @@ public class ConverterPToP {
 
     public static String convertPTo10(String value, int base, int precision) {
         checkArguments(value, base, precision);
+        Object event = FlightRecording.beginConversion();
+        long start = CalculatorMetrics.start();
+        ComputationBudget previousBudget = ComputationGuard.enter(CalculatorBudget.CONVERSION);
+        try {
+            ComputationGuard.checkDigits(value.length());
+            return convertBudgetedPTo10(value, base, precision);
+        } finally {
+            ComputationGuard.exit(previousBudget);
+            CalculatorMetrics.conversionTo10(start);
+            FlightRecording.endConversion(event, "P_TO_10", base, value.length(), precision);
+        }
+    }
+
+    private static String convertBudgetedPTo10(String value, int base, int precision) {
         value = cutTrailingZeros(value).toUpperCase();
         String[] stringArray = value.split("\\.");
         BigInteger number = convertBigIntegerPTo10(stringArray[0], base);
@@ -133,6 +167,7 @@ public class ConverterPToP {
         BigInteger multiplier = BigInteger.ONE;
         BigInteger result = BigInteger.ZERO;
         for (int i = value.length() - 1; i >= 0; i--) {
+            ComputationGuard.check();
             result = result.add(multiplier.multiply(BigInteger.valueOf(Digits.getDigitFromChar(value.charAt(i)))));
             multiplier = multiplier.multiply(BigInteger.valueOf(base));
         }
@@ -145,6 +180,7 @@ public class ConverterPToP {
                 (precision + 1) * 2, RoundingMode.HALF_UP));
         BigDecimal result = new BigDecimal(0);
         for (char digit : value.toCharArray()) {
+            ComputationGuard.check();
             result = result.add(multiplier.multiply(BigDecimal.valueOf(Digits.getDigitFromChar(digit))));
             multiplier = multiplier.multiply(BigDecimal.valueOf(1.0 / base));
         }
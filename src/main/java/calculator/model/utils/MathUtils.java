@@ -4,6 +4,7 @@ import calculator.model.stats.CalculatorPrecision;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 
 import static java.math.RoundingMode.HALF_UP;
 
@@ -24,6 +25,7 @@ public final class MathUtils {
         BigInteger denominator = BigInteger.ONE;
         BigDecimal ans = BigDecimal.ZERO;
         for (long i = 0; i < TAYLOR_SERIES_LENGTH; i++) {
+            ComputationGuard.check();
             ans = ans.add(addend.divide(new BigDecimal(denominator), MAX_PRECISION, HALF_UP));
             denominator = denominator.multiply(BigInteger.valueOf((i * 2 + 2)));
             denominator = denominator.multiply(BigInteger.valueOf((i * 2 + 3)));
@@ -38,6 +40,7 @@ public final class MathUtils {
         BigInteger denominator = BigInteger.ONE.add(BigInteger.ONE);
         BigDecimal ans = BigDecimal.ONE;
         for (long i = 1; i < TAYLOR_SERIES_LENGTH; i++) {
+            ComputationGuard.check();
             ans = ans.add(addend.divide(new BigDecimal(denominator), MAX_PRECISION, HALF_UP));
             denominator = denominator.multiply(BigInteger.valueOf((i * 2 + 1)));
             denominator = denominator.multiply(BigInteger.valueOf((i * 2 + 2)));
@@ -59,6 +62,7 @@ public final class MathUtils {
         BigDecimal denominator = BigDecimal.ONE;
         BigDecimal ans = BigDecimal.ZERO;
         for (long i = 0; i < TAYLOR_SERIES_LENGTH; i++) {
+            ComputationGuard.check();
             ans = ans.add(addend.divide(denominator, MAX_PRECISION, HALF_UP));
             denominator = denominator.add(BigDecimal.valueOf(2));
             addend = addend.multiply(a).multiply(a).negate();
@@ -81,6 +85,29 @@ public final class MathUtils {
         }
     }
 
+    //binary powering with cooperative budget checks, works with extra digits like BigDecimal.pow(int, MathContext)
+    public static BigDecimal pow(BigDecimal base, int exponent, MathContext mathContext) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Negative Exponent");
+        }
+        MathContext workContext = new MathContext(mathContext.getPrecision()
+                + Integer.toString(exponent).length() + 1, mathContext.getRoundingMode());
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal square = base;
+        while (exponent > 0) {
+            ComputationGuard.check();
+            if ((exponent & 1) == 1) {
+                result = result.multiply(square, workContext);
+                ComputationGuard.checkDigits(result.precision() - result.scale());
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                square = square.multiply(square, workContext);
+            }
+        }
+        return result.round(mathContext);
+    }
+
     public static BigDecimal radToDegrees(BigDecimal fi) {
         return fi.multiply(BigDecimal.valueOf(180).divide(BigDecimal.valueOf(Math.PI), CalculatorPrecision.REAL_PRECISION.getPrecision(), HALF_UP));
     }
@@ -96,6 +123,7 @@ public final class MathUtils {
     private static BigDecimal sqrtNewtonRaphson(BigDecimal c, BigDecimal xn, BigDecimal precision) {
         BigDecimal fx, fpx, xn1, currentSquare, currentPrecision;
         do {
+            ComputationGuard.check();
             fx = xn.pow(2).add(c.negate());
             fpx = xn.multiply(new BigDecimal(2));
             xn1 = fx.divide(fpx, 2 * SQRT_DIG.intValue(), HALF_UP);
@@ -1,12 +1,17 @@
 package calculator.model.utils;
 
+import calculator.model.metrics.CalculatorMetrics;
 import calculator.model.numbers.Complex;
 import calculator.model.numbers.Fraction;
 import calculator.model.numbers.Number;
 import calculator.model.numbers.Real;
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOverflow;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.Outcome;
+import calculator.model.utils.exceptions.BudgetExceededException;
 import calculator.model.utils.exceptions.OverflowException;
+import calculator.model.utils.exceptions.WrongDataException;
 import javafx.util.Pair;
 
 import java.math.BigDecimal;
@@ -20,21 +25,8 @@ public class NumberConverter {
 
     private static final int OVERFLOW_LENGTH = CalculatorOverflow.REAL_OVERFLOW.getLength();
     private static final int OVERFLOW_LENGTH_COMPLEX = CalculatorOverflow.COMPLEX_OVERFLOW.getLength();
-
-    private static String fromScientific(String value, CalculatorMode calculatorMode) {
-        switch (calculatorMode) {
-            case BASIC:
-            case P_NUMBER:
-                return realFromScientific(value);
-            case FRACTION:
-                Pair<String, String> fraction = stringToNumeratorAndDenominator(value);
-                String numerator = realFromScientific(fraction.getKey());
-                String denominator = realFromScientific(fraction.getValue());
-                return numerator + "/" + denominator;
-            default:
-                return value;
-        }
-    }
+    private static final int MAX_POWER_LENGTH = 9;
+    private static final String EXP = "exp";
 
     private static String realFromScientific(String value) {
         String[] arr = value.split("exp");
@@ -167,22 +159,44 @@ public class NumberConverter {
         return value.substring(0, dotPos) + "." + value.substring(dotPos) + "exp" + (intSize - 1);
     }
 
-    public static Number stringToNumber(String value, CalculatorMode mode, int base) {
+    public static Outcome<Number> parseNumber(String value, CalculatorMode mode, int base) {
         value = commasToDots(value);
-        value = fromScientific(value, mode);
-        switch (mode) {
-            case BASIC:
-            case P_NUMBER:
-                value = value.toUpperCase();
-                value = ConverterPToP.convertPTo10Adaptive(value, base);
-                return stringToReal(value);
-            case COMPLEX:
-                return stringToComplex(value);
-            case FRACTION:
-                return stringToFraction(value);
-            default:
-                return stringToReal("0");
+        long start = CalculatorMetrics.start();
+        try {
+            switch (mode) {
+                case BASIC:
+                case P_NUMBER:
+                    return parseReal(value, base);
+                case COMPLEX:
+                    return parseComplex(value);
+                case FRACTION:
+                    return parseFraction(value);
+                default:
+                    return Outcome.success(stringToReal("0"));
+            }
+        } catch (BudgetExceededException e) {
+            return Outcome.failure(ErrorState.BUDGET_EXCEEDED);
+        } finally {
+            CalculatorMetrics.parse(mode, start);
+        }
+    }
+
+    public static Number stringToNumber(String value, CalculatorMode mode, int base) {
+        Outcome<Number> number = parseNumber(value, mode, base);
+        if (number.isFailure()) {
+            throw new WrongDataException("Incorrect number " + value);
         }
+        return number.getValue();
+    }
+
+    private static Outcome<Number> parseReal(String value, int base) {
+        ErrorState errorState = checkScientific(value, base);
+        if (errorState != null) {
+            return Outcome.failure(errorState);
+        }
+        value = realFromScientific(value).toUpperCase();
+        value = ConverterPToP.convertPTo10Adaptive(value, base);
+        return Outcome.success(stringToReal(value));
     }
 
     private static Number stringToReal(String value) {
@@ -190,34 +204,44 @@ public class NumberConverter {
     }
 
     //format : x + yi,
-    private static Number stringToComplex(String value) {
+    private static Outcome<Number> parseComplex(String value) {
         value = value.replaceAll("\\s+", "");
         boolean realIsNegative = false;
         boolean imIsNegative = false;
         if (value.startsWith("-")) {
             realIsNegative = true;
-            value = value.replaceFirst("-", "");
+            value = value.substring(1);
         } else if (value.startsWith("+")) {
-            value = value.replaceFirst("\\+", "");
+            value = value.substring(1);
         }
 
-        if (value.contains("-")) {
+        if (value.indexOf('-') >= 0) {
             imIsNegative = true;
         }
-        value = value.replaceFirst("[-+]", " ");
-        String[] arr = value.split("\\s");
-        if (arr.length > 2) {
-            throw new IllegalArgumentException("Incorrect complex number");
-        }
+        int delimiter = indexOfSign(value);
+        String first = delimiter < 0 ? value : value.substring(0, delimiter);
+        String second = delimiter < 0 ? "" : value.substring(delimiter + 1);
+
         BigDecimal real = BigDecimal.ZERO;
         BigDecimal im = BigDecimal.ZERO;
-        if (arr[0].endsWith("i")) {
-            im = new BigDecimal(arr[0].replaceFirst("i", ""));
+        if (first.endsWith("i")) {
+            first = removeFirstI(first);
+            if (!isDecimal(first)) {
+                return Outcome.failure(ErrorState.WRONG_DATA);
+            }
+            im = new BigDecimal(first);
         } else {
-            real = new BigDecimal(arr[0]);
+            if (!isDecimal(first)) {
+                return Outcome.failure(ErrorState.WRONG_DATA);
+            }
+            real = new BigDecimal(first);
         }
-        if (arr.length > 1) {
-            im = new BigDecimal(arr[1].replaceFirst("i", ""));
+        if (!second.isEmpty()) {
+            second = removeFirstI(second);
+            if (!isDecimal(second)) {
+                return Outcome.failure(ErrorState.WRONG_DATA);
+            }
+            im = new BigDecimal(second);
         }
 
         if (realIsNegative) {
@@ -226,7 +250,164 @@ public class NumberConverter {
         if (imIsNegative) {
             im = im.negate();
         }
-        return new Complex(real, im);
+        return Outcome.success(new Complex(real, im));
+    }
+
+    private static Outcome<Number> parseFraction(String value) {
+        value = value.replaceAll("\\s+", "");
+        int delimiter = value.indexOf('/');
+        if (delimiter < 0 || delimiter != value.lastIndexOf('/')) {
+            return Outcome.failure(ErrorState.WRONG_DATA);
+        }
+        String numerator = value.substring(0, delimiter);
+        String denominator = value.substring(delimiter + 1);
+        ErrorState errorState = checkScientific(numerator, 10);
+        if (errorState == null) {
+            errorState = checkScientific(denominator, 10);
+        }
+        if (errorState != null) {
+            return Outcome.failure(errorState);
+        }
+        numerator = realFromScientific(numerator);
+        denominator = realFromScientific(denominator);
+        if (!isInteger(numerator) || !isInteger(denominator)) {
+            return Outcome.failure(ErrorState.WRONG_DATA);
+        }
+        BigInteger denominatorValue = new BigInteger(denominator);
+        if (denominatorValue.signum() == 0) {
+            return Outcome.failure(ErrorState.WRONG_DATA);
+        }
+        return Outcome.success(new Fraction(new BigInteger(numerator), denominatorValue));
+    }
+
+    //mirrors realFromScientific: [-]mantissa[exp[+-]power], mantissa must be in 0.00 format if power is present
+    private static ErrorState checkScientific(String value, int base) {
+        int length = value.length();
+        int start = value.startsWith("-") ? 1 : 0;
+        int expIndex = value.indexOf(EXP);
+        int mantissaEnd = expIndex < 0 ? length : expIndex;
+        if (!isDigits(value, start, mantissaEnd, base)) {
+            return ErrorState.WRONG_DATA;
+        }
+        if (expIndex < 0) {
+            return null;
+        }
+        int dotIndex = value.indexOf('.', start);
+        if (dotIndex >= 0 && dotIndex < mantissaEnd && dotIndex != start + 1) {
+            return ErrorState.WRONG_DATA;
+        }
+        int powerStart = expIndex + EXP.length();
+        if (powerStart < length && (value.charAt(powerStart) == '-' || value.charAt(powerStart) == '+')) {
+            powerStart++;
+        }
+        int powerLength = length - powerStart;
+        if (powerLength == 0 || powerLength > MAX_POWER_LENGTH) {
+            return ErrorState.WRONG_DATA;
+        }
+        int power = 0;
+        for (int i = powerStart; i < length; i++) {
+            int digit = digitValue(value.charAt(i));
+            if (digit < 0 || digit >= 10) {
+                return ErrorState.WRONG_DATA;
+            }
+            power = power * 10 + digit;
+        }
+        return power > OVERFLOW_LENGTH ? ErrorState.OVERFLOW : null;
+    }
+
+    //digits of the base with at most one dot
+    private static boolean isDigits(String value, int from, int to, int base) {
+        boolean hasDigit = false;
+        boolean hasDot = false;
+        for (int i = from; i < to; i++) {
+            char ch = value.charAt(i);
+            if (ch == '.' && !hasDot) {
+                hasDot = true;
+                continue;
+            }
+            int digit = digitValue(ch);
+            if (digit < 0 || digit >= base) {
+                return false;
+            }
+            hasDigit = true;
+        }
+        return hasDigit;
+    }
+
+    private static boolean isInteger(String value) {
+        int start = value.startsWith("-") ? 1 : 0;
+        if (start == value.length()) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //grammar of new BigDecimal(String) with a bounded exponent
+    private static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int exponentIndex = i;
+        while (exponentIndex < length && value.charAt(exponentIndex) != 'e' && value.charAt(exponentIndex) != 'E') {
+            exponentIndex++;
+        }
+        if (!isDigits(value, i, exponentIndex, 10)) {
+            return false;
+        }
+        if (exponentIndex == length) {
+            return true;
+        }
+        i = exponentIndex + 1;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        if (length - i == 0 || length - i > MAX_POWER_LENGTH) {
+            return false;
+        }
+        int power = 0;
+        for (; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+            power = power * 10 + (ch - '0');
+        }
+        return power <= OVERFLOW_LENGTH;
+    }
+
+    private static int digitValue(char ch) {
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        }
+        if (ch >= 'A' && ch <= 'F') {
+            return ch - 'A' + 10;
+        }
+        if (ch >= 'a' && ch <= 'f') {
+            return ch - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static int indexOfSign(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String removeFirstI(String value) {
+        int index = value.indexOf('i');
+        return index < 0 ? value : value.substring(0, index) + value.substring(index + 1);
     }
 
     //format : a/b
@@ -282,24 +463,53 @@ public class NumberConverter {
     }
 
     public static String toScientificIfNeeded(String data, CalculatorMode calculatorMode, int maxLen, int maxLenFract) {
+        Outcome<String> outcome = formatScientific(data, calculatorMode, maxLen, maxLenFract);
+        if (outcome.isFailure()) {
+            if (outcome.getErrorState() == ErrorState.OVERFLOW) {
+                throw new OverflowException("Overflow");
+            }
+            throw new WrongDataException("Incorrect number " + data);
+        }
+        return outcome.getValue();
+    }
+
+    public static Outcome<String> formatScientific(String data, CalculatorMode calculatorMode, int maxLen, int maxLenFract) {
         if (calculatorMode.equals(CalculatorMode.COMPLEX)) {
-            Complex complex = (Complex) stringToNumber(data, calculatorMode, 10);
+            Outcome<Number> number = parseNumber(data, calculatorMode, 10);
+            if (number.isFailure()) {
+                return Outcome.failure(number.getErrorState());
+            }
+            Complex complex = (Complex) number.getValue();
             if (complex.getReal().toPlainString().length() > OVERFLOW_LENGTH_COMPLEX
                     || complex.getImaginary().toPlainString().length() > OVERFLOW_LENGTH_COMPLEX) {
-                throw new OverflowException("Overflow");
+                return Outcome.failure(ErrorState.OVERFLOW);
             }
         }
         if (data.length() > OVERFLOW_LENGTH) {
-            throw new OverflowException("Overflow");
+            return Outcome.failure(ErrorState.OVERFLOW);
         }
         if (data.length() > maxLen) {
             if (calculatorMode.equals(CalculatorMode.BASIC) || calculatorMode.equals(CalculatorMode.P_NUMBER)) {
-                return NumberConverter.toScientific(data, maxLen, calculatorMode);
+                return Outcome.success(NumberConverter.toScientific(data, maxLen, calculatorMode));
             } else if (calculatorMode.equals(CalculatorMode.FRACTION)) {
-                return NumberConverter.toScientific(data, maxLenFract, calculatorMode);
+                return Outcome.success(NumberConverter.toScientific(data, maxLenFract, calculatorMode));
+            }
+        }
+        return Outcome.success(data);
+    }
+
+    //value of the number as it is shown on the display of the given mode and base
+    public static Outcome<String> toDisplayString(Number number, CalculatorMode calculatorMode, int base,
+                                                  int maxLen, int maxLenFract) {
+        try {
+            String value = number.toString();
+            if (calculatorMode.equals(CalculatorMode.P_NUMBER)) {
+                value = ConverterPToP.convert10ToPAdaptive(value, base);
             }
+            return formatScientific(value, calculatorMode, maxLen, maxLenFract);
+        } catch (BudgetExceededException e) {
+            return Outcome.failure(ErrorState.BUDGET_EXCEEDED);
         }
-        return data;
     }
 
 }
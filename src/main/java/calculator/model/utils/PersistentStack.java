@@ -0,0 +1,97 @@
+package calculator.model.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+//immutable stack, a push or a pop makes a new stack that shares every other element with the old one,
+//so keeping an old stack costs nothing more than the reference to it
+public final class PersistentStack<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentStack EMPTY = new PersistentStack<>(null, null, 0);
+
+    private final E top;
+    private final PersistentStack<E> rest;
+    private final int size;
+
+    private PersistentStack(E top, PersistentStack<E> rest, int size) {
+        this.top = top;
+        this.rest = rest;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentStack<E> empty() {
+        return EMPTY;
+    }
+
+    public static <E> PersistentStack<E> of(List<E> elements) {
+        PersistentStack<E> stack = empty();
+        for (E element : elements) {
+            stack = stack.push(element);
+        }
+        return stack;
+    }
+
+    public PersistentStack<E> push(E element) {
+        return new PersistentStack<>(element, this, size + 1);
+    }
+
+    public PersistentStack<E> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return rest;
+    }
+
+    public E peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return top;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //the count elements on the top, the one pushed first comes first
+    @SuppressWarnings("unchecked")
+    public List<E> top(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Stack of " + size + " has no " + count + " elements on the top");
+        }
+        Object[] elements = new Object[count];
+        PersistentStack<E> stack = this;
+        for (int i = count - 1; i >= 0; i--) {
+            elements[i] = stack.top;
+            stack = stack.rest;
+        }
+        return (List<E>) Arrays.asList(elements);
+    }
+
+    public List<E> toList() {
+        return new ArrayList<>(top(size));
+    }
+
+    //number of the bottom elements both stacks share, the walk only goes over the elements they do not share
+    public static int sharedSize(PersistentStack<?> a, PersistentStack<?> b) {
+        while (a.size > b.size) {
+            a = a.rest;
+        }
+        while (b.size > a.size) {
+            b = b.rest;
+        }
+        while (a != b) {
+            a = a.rest;
+            b = b.rest;
+        }
+        return a.size;
+    }
+}
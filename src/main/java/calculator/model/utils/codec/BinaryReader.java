@@ -0,0 +1,101 @@
+package calculator.model.utils.codec;
+
+import calculator.model.utils.exceptions.CorruptedDataException;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+//reads what BinaryWriter wrote, malformed input ends with CorruptedDataException
+public class BinaryReader {
+
+    private static final int MAX_VAR_LONG_BYTES = 10;
+
+    private final ByteBuffer buffer;
+
+    public BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public void position(int position) {
+        buffer.position(position);
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] values = new byte[length];
+        buffer.get(values);
+        return values;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int i = 0; i < MAX_VAR_LONG_BYTES; i++) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CorruptedDataException("Varint is too long");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new CorruptedDataException("Varint does not fit into int");
+        }
+        return (int) value;
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public BigInteger readBigInteger() {
+        int length = readVarInt();
+        if (length == 0) {
+            return BigInteger.valueOf(readSignedVarLong());
+        }
+        return new BigInteger(readBytes(length));
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        StringBuilder value = new StringBuilder(Math.min(length, buffer.remaining()));
+        for (int i = 0; i < length; i++) {
+            require(1);
+            int b = buffer.get(buffer.position()) & 0xFF;
+            if (b < 0x80) {
+                buffer.get();
+                value.append((char) b);
+            } else {
+                value.append((char) readVarInt());
+            }
+        }
+        return value.toString();
+    }
+
+    private void require(int length) {
+        if (length < 0 || buffer.remaining() < length) {
+            throw new CorruptedDataException("Unexpected end of data");
+        }
+    }
+}
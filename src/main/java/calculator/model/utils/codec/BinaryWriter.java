@@ -0,0 +1,89 @@
+package calculator.model.utils.codec;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+//growable byte buffer with LEB128 varints, reused between records to avoid allocations
+public class BinaryWriter {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, bytes, size, values.length);
+        size += values.length;
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    //zigzag keeps small negative numbers short
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBigInteger(BigInteger value) {
+        if (value.bitLength() < Long.SIZE - 1) {
+            writeVarLong(0);
+            writeSignedVarLong(value.longValue());
+        } else {
+            byte[] magnitude = value.toByteArray();
+            writeVarLong(magnitude.length);
+            writeBytes(magnitude);
+        }
+    }
+
+    public void writeString(String value) {
+        writeVarInt(value.length());
+        ensureCapacity(value.length() * 3);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                bytes[size++] = (byte) ch;
+            } else {
+                writeVarInt(ch);
+            }
+        }
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package calculator.model.utils.codec;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import calculator.model.utils.exceptions.CorruptedDataException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+//binary form of numbers: type tag, then every BigDecimal as zigzag scale and unscaled value
+public final class NumberCodec {
+
+    private static final int REAL = 0;
+    private static final int COMPLEX = 1;
+    private static final int FRACTION = 2;
+
+    private NumberCodec() {
+    }
+
+    public static void write(BinaryWriter writer, Number number) {
+        if (number instanceof Real) {
+            writer.writeByte(REAL);
+            writeBigDecimal(writer, number.toBigDecimal());
+        } else if (number instanceof Complex) {
+            writer.writeByte(COMPLEX);
+            writeBigDecimal(writer, ((Complex) number).getReal());
+            writeBigDecimal(writer, ((Complex) number).getImaginary());
+        } else if (number instanceof Fraction) {
+            writer.writeByte(FRACTION);
+            writer.writeBigInteger(((Fraction) number).getNumerator());
+            writer.writeBigInteger(((Fraction) number).getDenominator());
+        } else {
+            throw new IllegalArgumentException("Unknown number type " + number.getClass());
+        }
+    }
+
+    public static Number read(BinaryReader reader) {
+        int type = reader.readByte();
+        switch (type) {
+            case REAL:
+                return new Real(readBigDecimal(reader));
+            case COMPLEX:
+                return new Complex(readBigDecimal(reader), readBigDecimal(reader));
+            case FRACTION:
+                BigInteger numerator = reader.readBigInteger();
+                BigInteger denominator = reader.readBigInteger();
+                if (denominator.signum() == 0) {
+                    throw new CorruptedDataException("Denominator is zero");
+                }
+                return new Fraction(numerator, denominator);
+            default:
+                throw new CorruptedDataException("Unknown number type " + type);
+        }
+    }
+
+    public static void writeBigDecimal(BinaryWriter writer, BigDecimal value) {
+        writer.writeSignedVarLong(value.scale());
+        writer.writeBigInteger(value.unscaledValue());
+    }
+
+    public static BigDecimal readBigDecimal(BinaryReader reader) {
+        long scale = reader.readSignedVarLong();
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            throw new CorruptedDataException("Scale is out of range");
+        }
+        return new BigDecimal(reader.readBigInteger(), (int) scale);
+    }
+}
@@ -38,6 +38,14 @@ public class ExpressionOperand implements ExpressionNode {
         unaryOperations.addFirst(new ExpressionOperation(operation));
     }
 
+    //a copy with the operation added, the history keeps older operands unchanged for undo
+    public ExpressionOperand withUnaryOperation(CalculatorOperation operation) {
+        ExpressionOperand operand = new ExpressionOperand(number);
+        operand.unaryOperations.addAll(unaryOperations);
+        operand.addUnaryOperation(operation);
+        return operand;
+    }
+
     @Override
     public String toString() {
         return toString(10);
@@ -0,0 +1,49 @@
+package calculator.model.utils.dto;
+
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+
+//completed calculation of the global history, texts are written in base 10 as the calculator shows them
+public class HistoryRecord {
+
+    private final long index;
+    private final long timeMillis;
+    private final CalculatorMode calculatorMode;
+    private final String expression;
+    private final String resultText;
+    private final Number result;
+
+    public HistoryRecord(long index, long timeMillis, CalculatorMode calculatorMode, String expression,
+                         String resultText, Number result) {
+        this.index = index;
+        this.timeMillis = timeMillis;
+        this.calculatorMode = calculatorMode;
+        this.expression = expression;
+        this.resultText = resultText;
+        this.result = result;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public CalculatorMode getCalculatorMode() {
+        return calculatorMode;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public String getResultText() {
+        return resultText;
+    }
+
+    public Number getResult() {
+        return result;
+    }
+}
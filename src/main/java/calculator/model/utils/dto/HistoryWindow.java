@@ -0,0 +1,39 @@
+package calculator.model.utils.dto;
+
+//visible part of the history, [start, end) of the whole rendered history of the given length
+public class HistoryWindow {
+
+    public static final HistoryWindow EMPTY = new HistoryWindow("", 0, 0, 0);
+
+    private final String text;
+    private final int start;
+    private final int end;
+    private final int length;
+
+    public HistoryWindow(String text, int start, int end, int length) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.length = length;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isScrollable() {
+        return text.length() < length;
+    }
+}
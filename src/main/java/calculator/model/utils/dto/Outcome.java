@@ -0,0 +1,53 @@
+package calculator.model.utils.dto;
+
+import calculator.model.stats.ErrorState;
+
+//result of a model step, carries ErrorState instead of throwing; failures are shared constants
+public final class Outcome<T> {
+
+    private static final Outcome<?>[] FAILURES;
+
+    static {
+        ErrorState[] errorStates = ErrorState.values();
+        FAILURES = new Outcome<?>[errorStates.length];
+        for (ErrorState errorState : errorStates) {
+            FAILURES[errorState.ordinal()] = new Outcome<>(null, errorState);
+        }
+    }
+
+    private final T value;
+    private final ErrorState errorState;
+
+    private Outcome(T value, ErrorState errorState) {
+        this.value = value;
+        this.errorState = errorState;
+    }
+
+    public static <T> Outcome<T> success(T value) {
+        return new Outcome<>(value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> failure(ErrorState errorState) {
+        return (Outcome<T>) FAILURES[errorState.ordinal()];
+    }
+
+    public boolean isSuccess() {
+        return errorState == null;
+    }
+
+    public boolean isFailure() {
+        return errorState != null;
+    }
+
+    public T getValue() {
+        if (errorState != null) {
+            throw new IllegalStateException("Outcome is a failure: " + errorState);
+        }
+        return value;
+    }
+
+    public ErrorState getErrorState() {
+        return errorState;
+    }
+}
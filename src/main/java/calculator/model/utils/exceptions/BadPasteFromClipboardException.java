@@ -5,4 +5,9 @@ public class BadPasteFromClipboardException extends RuntimeException {
     public BadPasteFromClipboardException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,13 @@
+package calculator.model.utils.exceptions;
+
+public class BudgetExceededException extends RuntimeException {
+
+    public BudgetExceededException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,13 @@
+package calculator.model.utils.exceptions;
+
+public class ComputationCancelledException extends RuntimeException {
+
+    public ComputationCancelledException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
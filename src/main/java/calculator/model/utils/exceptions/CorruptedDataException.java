@@ -0,0 +1,7 @@
+package calculator.model.utils.exceptions;
+
+public class CorruptedDataException extends RuntimeException {
+    public CorruptedDataException(String message) {
+        super(message);
+    }
+}
@@ -5,4 +5,9 @@ public class DivisionByZeroException extends ArithmeticException {
     public DivisionByZeroException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
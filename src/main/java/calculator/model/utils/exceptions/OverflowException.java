@@ -4,4 +4,9 @@ public class OverflowException extends RuntimeException {
     public OverflowException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
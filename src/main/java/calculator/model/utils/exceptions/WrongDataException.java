@@ -0,0 +1,13 @@
+package calculator.model.utils.exceptions;
+
+public class WrongDataException extends IllegalArgumentException {
+
+    public WrongDataException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -6,26 +6,25 @@ import java.util.Arrays;
 
 public enum Language {
 
-    ENGLISH("/lang/en_US.properties", StandardCharsets.UTF_8,
-            LanguageProperties.getLanguageName("language.english")),
-    RUSSIAN("/lang/ru_RU.properties", StandardCharsets.UTF_8,
-            LanguageProperties.getLanguageName("language.russian"));
+    ENGLISH("/lang/en_US.properties", StandardCharsets.UTF_8, "language.english"),
+    RUSSIAN("/lang/ru_RU.properties", StandardCharsets.UTF_8, "language.russian");
 
     static final Language DEFAULT_LANGUAGE = Language.ENGLISH;
 
     private String localizationFile;
     private Charset charset;
-    private String languageName;
+    private String languageNameKey;
 
-    Language(String localizationFile, Charset charset, String languageName) {
+    //the name is read on first use, LanguageProperties keeps tables by language and must not be loaded in between
+    Language(String localizationFile, Charset charset, String languageNameKey) {
         this.localizationFile = localizationFile;
         this.charset = charset;
-        this.languageName = languageName;
+        this.languageNameKey = languageNameKey;
     }
 
     public static Language getLanguageFromLanguageName(String languageName) {
         return Arrays.stream(Language.values())
-                .filter(language -> languageName.equals(language.languageName))
+                .filter(language -> languageName.equals(language.getLanguageName()))
                 .findAny()
                 .orElseThrow(() -> new IllegalArgumentException(String.format("Language %s not found", languageName)));
     }
@@ -39,6 +38,6 @@ public enum Language {
     }
 
     public String getLanguageName() {
-        return languageName;
+        return LanguageProperties.getLanguageName(languageNameKey);
     }
 }
@@ -8,6 +8,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Properties;
 
 public class LanguageProperties {
@@ -16,28 +18,46 @@ public class LanguageProperties {
     private static final String LANGUAGE_PROPERTIES_FILE = "/lang/languages.properties";
     private static final Charset LANGUAGE_PROPERTIES_CHARSET = StandardCharsets.UTF_8;
 
+    //readers only see the current table through this reference, a language switch swaps it
+    private static volatile MessageTable table;
+    private static volatile Language language;
     private static Properties defaultProperties;
-    private static Properties properties;
+    private static Map<String, Integer> keyIndex;
     private static Properties languages;
-    private static Language language;
+    //created on first use, the languages may still be initializing when this class is loaded
+    private static Map<Language, MessageTable> tables;
 
     private LanguageProperties() {
     }
 
-    public static void setLanguage(Language language) {
+    public static synchronized void setLanguage(Language language) {
+        table = tableOf(language);
         LanguageProperties.language = language;
     }
 
     public static Language getLanguage() {
-        return language == null ? Language.DEFAULT_LANGUAGE : language;
+        Language current = language;
+        return current == null ? Language.DEFAULT_LANGUAGE : current;
     }
 
-    public static synchronized String getProperty(String key) {
-        if (properties == null) {
-            initProperties();
+    //compiles the tables of all languages, so a later switch does not read any file
+    public static synchronized void precompile() {
+        for (Language value : Language.values()) {
+            tableOf(value);
         }
-        String value = properties.getProperty(key);
-        return value != null ? value : defaultProperties.getProperty(key);
+    }
+
+    public static String getProperty(String key) {
+        return currentTable().get(key);
+    }
+
+    //index of the key in the tables of every language, for callers that look the same key up repeatedly
+    public static int indexOf(String key) {
+        return currentTable().indexOf(key);
+    }
+
+    public static String getProperty(int index) {
+        return currentTable().get(index);
     }
 
     static synchronized String getLanguageName(String key) {
@@ -47,14 +67,31 @@ public class LanguageProperties {
         return languages.getProperty(key);
     }
 
-    private static void initProperties() {
-        if (language == null) {
-            language = Language.DEFAULT_LANGUAGE;
+    private static MessageTable currentTable() {
+        MessageTable current = table;
+        if (current == null) {
+            synchronized (LanguageProperties.class) {
+                if (table == null) {
+                    table = tableOf(getLanguage());
+                }
+                current = table;
+            }
+        }
+        return current;
+    }
+
+    private static MessageTable tableOf(Language language) {
+        if (keyIndex == null) {
+            defaultProperties = new Properties();
+            loadPropertiesFile(defaultProperties, Language.DEFAULT_LANGUAGE);
+            keyIndex = MessageTable.indexKeys(defaultProperties);
+            tables = new EnumMap<>(Language.class);
         }
-        properties = new Properties();
-        defaultProperties = new Properties();
-        loadPropertiesFile(properties, language);
-        loadPropertiesFile(defaultProperties, Language.DEFAULT_LANGUAGE);
+        return tables.computeIfAbsent(language, value -> {
+            Properties properties = new Properties();
+            loadPropertiesFile(properties, value);
+            return MessageTable.compile(keyIndex, defaultProperties, properties);
+        });
     }
 
     private static void initLanguagesPropertiesFile() {
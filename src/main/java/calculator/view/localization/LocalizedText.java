@@ -0,0 +1,30 @@
+package calculator.view.localization;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+//texts of the scene graph that follow the language, a switch relabels them in place without rebuilding the scenes
+public final class LocalizedText {
+
+    private static final ObjectProperty<Language> LANGUAGE = new SimpleObjectProperty<>();
+
+    private LocalizedText() {
+    }
+
+    public static StringBinding of(String key) {
+        return Bindings.createStringBinding(() -> LanguageProperties.getProperty(key), LANGUAGE);
+    }
+
+    public static ReadOnlyObjectProperty<Language> languageProperty() {
+        return LANGUAGE;
+    }
+
+    //on the fx thread, the bound texts are updated right away
+    public static void switchLanguage(Language language) {
+        LanguageProperties.setLanguage(language);
+        LANGUAGE.set(language);
+    }
+}
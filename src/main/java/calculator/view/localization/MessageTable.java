@@ -0,0 +1,52 @@
+package calculator.view.localization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+//messages of one language in an array ordered like the keys of the default language, immutable once compiled
+//a key the language does not translate holds the default message, so a look-up never falls back
+final class MessageTable {
+
+    static final int MISSING_KEY = -1;
+
+    private final Map<String, Integer> keyIndex;
+    private final String[] messages;
+
+    private MessageTable(Map<String, Integer> keyIndex, String[] messages) {
+        this.keyIndex = keyIndex;
+        this.messages = messages;
+    }
+
+    static Map<String, Integer> indexKeys(Properties defaultMessages) {
+        List<String> keys = new ArrayList<>(defaultMessages.stringPropertyNames());
+        Collections.sort(keys);
+        Map<String, Integer> keyIndex = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            keyIndex.put(keys.get(i), i);
+        }
+        return Collections.unmodifiableMap(keyIndex);
+    }
+
+    static MessageTable compile(Map<String, Integer> keyIndex, Properties defaultMessages, Properties messages) {
+        String[] compiled = new String[keyIndex.size()];
+        keyIndex.forEach((key, index) -> compiled[index] = messages.getProperty(key, defaultMessages.getProperty(key)));
+        return new MessageTable(keyIndex, compiled);
+    }
+
+    int indexOf(String key) {
+        Integer index = keyIndex.get(key);
+        return index == null ? MISSING_KEY : index;
+    }
+
+    String get(int index) {
+        return index == MISSING_KEY ? null : messages[index];
+    }
+
+    String get(String key) {
+        return get(indexOf(key));
+    }
+}
@@ -0,0 +1,33 @@
+package calculator.view.scene;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Button;
+import javafx.util.Duration;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+//pressed look of a button triggered from the keyboard, one transition per button reused for every press
+//the action itself is never waiting for it
+class ButtonPressEffect {
+
+    private final Duration duration;
+    private final Map<Button, PauseTransition> transitions = new IdentityHashMap<>();
+
+    ButtonPressEffect(Duration duration) {
+        this.duration = duration;
+    }
+
+    //a press while the button is still shown pressed, a held key for example, keeps it pressed for longer
+    void play(Button button) {
+        PauseTransition transition = transitions.computeIfAbsent(button, this::createTransition);
+        button.arm();
+        transition.playFromStart();
+    }
+
+    private PauseTransition createTransition(Button button) {
+        PauseTransition transition = new PauseTransition(duration);
+        transition.setOnFinished(event -> button.disarm());
+        return transition;
+    }
+}
@@ -1,51 +1,61 @@
 package calculator.view.scene;
 
 import calculator.controller.ControllerListener;
+import calculator.model.memory.Memory;
 import calculator.model.memory.MemoryOperation;
+import calculator.model.metrics.FlightRecording;
 import calculator.model.observer.CalculatorObserver;
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOperation;
 import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
 import calculator.view.localization.Language;
-import calculator.view.localization.LanguageProperties;
+import calculator.view.localization.LocalizedText;
 import calculator.view.scene.components.CalculatorButtons;
 import calculator.view.scene.components.CalculatorButtonsGridPane;
 import calculator.view.scene.components.CalculatorMenu;
-import javafx.animation.PauseTransition;
+import calculator.view.scene.components.GlobalHistoryDialog;
+import calculator.view.scene.components.TapeNodeDialogs;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
+import javafx.css.PseudoClass;
+import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.*;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static calculator.view.localization.LanguageProperties.getProperty;
 
 public class CalculatorScene extends Scene implements CalculatorObserver {
 
 
-    private static final int TEXT_FIELD_PREVIOUS_OPERATION_MAX_TEXT_LENGTH = 44;
     private static final int TEXT_FIELD_VALUE_MAX_TEXT_WIDTH_PIXELS = 380;
     private static final int TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH = 25;
     private static final int TEXT_FIELD_VALUE_MAX_TEXT_LENGTH = 40;
     private static final int SCROLL_BUTTONS_SCROLL_SIZE = 10;
 
     private static final String CSS_STYLE_FILE = "style/style.css";
-    private static final Font TEXT_FIELD_VALUE_FONT = Font.font("System", FontWeight.BOLD, 30);
-    private static final Duration BUTTON_CLICK_EFFECT_DURATION = Duration.seconds(0.1);
+    private static final String TEXT_FIELD_VALUE_FONT_FAMILY = "System";
+    private static final int TEXT_FIELD_VALUE_FONT_SIZE = 30;
+    private static final FontFitCache TEXT_FIELD_VALUE_FONT_FIT = new FontFitCache(TEXT_FIELD_VALUE_FONT_FAMILY,
+            FontWeight.BOLD, TEXT_FIELD_VALUE_FONT_SIZE, TEXT_FIELD_VALUE_MAX_TEXT_WIDTH_PIXELS);
+    private static final ButtonPressEffect BUTTON_PRESS_EFFECT = new ButtonPressEffect(Duration.seconds(0.1));
+    private static final PseudoClass BUSY_PSEUDO_CLASS = PseudoClass.getPseudoClass("busy");
 
     ControllerListener controllerListener;
     CalculatorMode calculatorMode;
@@ -53,21 +63,24 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
     private boolean needClearResult;
     private boolean backSpaceEnabled;
     private boolean isErrorState;
-    private String historyText;
-    private int historyCaretPosition;
+    private final Set<KeyCode> pressedKeys = EnumSet.noneOf(KeyCode.class);
+    private boolean keyRepeated;
+    private int historyEnd;
+    private int memorySlot;
+    private boolean memoryEmpty = true;
 
     private Clipboard clipboard;
     private VBox mainPanel;
-    private GridPane buttonsGridPane;
+    private CalculatorButtonsGridPane buttonsGridPane;
     private TextField textFieldValue;
     private TextField textFieldHistory;
     private Label memoryLabel;
     private Button buttonScrollLeft;
     private Button buttonScrollRight;
 
-    private ComplexCalculatorScene complexCalculatorScene;
-    private FractionCalculatorScene fractionCalculatorScene;
-    private PNumberCalculatorScene pNumberCalculatorScene;
+    private CalculatorMenu calculatorMenu;
+    private GlobalHistoryDialog globalHistoryDialog;
+    private SceneCache sceneCache;
 
     public CalculatorScene() {
         this(CalculatorMode.BASIC);
@@ -77,6 +90,53 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         return textFieldValue;
     }
 
+    @Override
+    public void showGlobalHistory(List<HistoryRecord> records) {
+        if (globalHistoryDialog != null) {
+            globalHistoryDialog.showRecords(records);
+        }
+    }
+
+    //the clicked character is found by the caret the click has put, the model edits the node it belongs to
+    private void historyClicked() {
+        if (!isErrorState) {
+            int windowStart = historyEnd - textFieldHistory.getText().length();
+            controllerListener.historyClicked(windowStart + textFieldHistory.getCaretPosition(), calculatorMode);
+        }
+    }
+
+    @Override
+    public void editTapeNode(int index, String text, boolean operand) {
+        editTapeNode(index, text, operand, null);
+    }
+
+    //the tape is left as it was, the rejected edit is offered again with the reason
+    @Override
+    public void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState) {
+        editTapeNode(index, text, operand, errorState.getErrorStateText());
+    }
+
+    private void editTapeNode(int index, String text, boolean operand, String error) {
+        if (isErrorState) {
+            return;
+        }
+        String number = textFieldValue.getText();
+        if (operand) {
+            TapeNodeDialogs.editOperand(text, error, getWindow()).ifPresent(value ->
+                    controllerListener.tapeOperandEdited(number, index, value, calculatorMode));
+        } else {
+            TapeNodeDialogs.editOperation(text, error, calculatorMode, getWindow()).ifPresent(operation ->
+                    controllerListener.tapeOperationEdited(number, index, operation, calculatorMode));
+        }
+    }
+
+    private void showGlobalHistoryDialog() {
+        if (globalHistoryDialog == null) {
+            globalHistoryDialog = new GlobalHistoryDialog(controllerListener, calculatorMode, getWindow());
+        }
+        globalHistoryDialog.open();
+    }
+
     @Override
     public String getValue() {
         return textFieldValue.getText();
@@ -88,7 +148,17 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         backSpaceEnabled = true;
     }
 
+    //the first scene of a window, the scenes of the other modes come from its cache
     public void initializeScene() {
+        sceneCache = new SceneCache(controllerListener);
+        sceneCache.put(this);
+        buildScene();
+        attachScene();
+        sceneCache.prebuildLater();
+    }
+
+    //builds the own node graph only, the shared calculator buttons are left where they are
+    void buildScene() {
         this.getStylesheets().add(CSS_STYLE_FILE);
         setupMainPanel();
         setupMenu();
@@ -97,12 +167,35 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         setupTextFieldValue();
         setupButtonsGridPane();
         setupMemoryLabel();
-        setupButtons();
         setupHotKeys();
         setupClipboard();
         setStartValue();
     }
 
+    //takes the shared buttons over and starts from a clean state, on the first show and on every reuse
+    void attachScene() {
+        buttonsGridPane.attachButtons();
+        setupButtons();
+        resetScene();
+        calculatorMenu.selectCalculatorMode(calculatorMode);
+    }
+
+    void resetScene() {
+        pressedKeys.clear();
+        needClearResult = false;
+        backSpaceEnabled = true;
+        isErrorState = false;
+        clearTextFields();
+        setErrorStateToButtons(false);
+        CalculatorButtons.getDigitButtons().forEach(button -> button.getButton().setDisable(false));
+        CalculatorButtons.getPNumberDigitButtons().forEach(button -> button.getButton().setDisable(false));
+        disableMemoryButtons(true);
+    }
+
+    void setSceneCache(SceneCache sceneCache) {
+        this.sceneCache = sceneCache;
+    }
+
     @Override
     public void updateDigitButtons(List<String> buttonsText) {
         List<CalculatorButtons> allDigitButtons = new ArrayList<>();
@@ -122,7 +215,7 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
 
     @Override
     public void updateLanguage(Language language) {
-        LanguageProperties.setLanguage(language);
+        LocalizedText.switchLanguage(language);
     }
 
     @Override
@@ -136,12 +229,12 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
     }
 
     @Override
-    public void setHistoryText(String text) {
-        historyText = text;
-        historyCaretPosition = text.length();
-        textFieldHistory.setText(text);
-        buttonScrollLeft.setDisable(false);
-        buttonScrollRight.setDisable(true);
+    public void setHistoryWindow(HistoryWindow historyWindow) {
+        historyEnd = historyWindow.getEnd();
+        textFieldHistory.setText(historyWindow.getText());
+        buttonScrollLeft.setDisable(historyWindow.getStart() == 0);
+        buttonScrollRight.setDisable(historyWindow.getEnd() == historyWindow.getLength());
+        setVisibleScrollButtons(historyWindow.isScrollable());
     }
 
     @Override
@@ -171,11 +264,20 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
 
     @Override
     public void disableMemoryButtons(boolean value) {
-        Button buttonMemoryClear = CalculatorButtons.BUTTON_MEMORY_CLEAR.getButton();
-        Button buttonMemoryRead = CalculatorButtons.BUTTON_MEMORY_READ.getButton();
-        buttonMemoryClear.setDisable(value);
-        buttonMemoryRead.setDisable(value);
-        memoryLabel.setText(value ? "" : getProperty("calculator_scene.memory_saved"));
+        memoryEmpty = value;
+        showMemoryState();
+    }
+
+    @Override
+    public void setMemorySlot(int slot) {
+        memorySlot = slot;
+        showMemoryState();
+    }
+
+    @Override
+    public void setBusy(boolean value) {
+        getRoot().setCursor(value ? Cursor.WAIT : Cursor.DEFAULT);
+        textFieldValue.pseudoClassStateChanged(BUSY_PSEUDO_CLASS, value);
     }
 
     public void setControllerListener(ControllerListener controllerListener) {
@@ -186,24 +288,51 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         mainPanel = (VBox) this.getRoot();
     }
 
+    //the label shows the selected slot, a click selects the next one
     private void setupMemoryLabel() {
         memoryLabel = new Label();
         buttonsGridPane.add(memoryLabel, 0, 0);
         memoryLabel.getStyleClass().add("label_memory");
+        memoryLabel.setOnMouseClicked(event -> selectNextMemorySlot());
+        setTooltipIfAbsent(memoryLabel, "calculator_scene.tooltip_memory_slot");
+    }
+
+    private void selectNextMemorySlot() {
+        if (!isErrorState) {
+            controllerListener.memorySlotSelected((memorySlot + 1) % Memory.SLOT_COUNT, calculatorMode);
+        }
+    }
+
+    private void showMemoryState() {
+        Button buttonMemoryClear = CalculatorButtons.BUTTON_MEMORY_CLEAR.getButton();
+        Button buttonMemoryRead = CalculatorButtons.BUTTON_MEMORY_READ.getButton();
+        buttonMemoryClear.setDisable(memoryEmpty || isErrorState);
+        buttonMemoryRead.setDisable(memoryEmpty || isErrorState);
+        String slotNumber = Integer.toString(memorySlot + 1);
+        memoryLabel.setText(memoryEmpty ? slotNumber : getProperty("calculator_scene.memory_saved") + slotNumber);
     }
 
     private void setupMenu() {
-        MenuBar calculatorMenu = new CalculatorMenu(controllerListener, calculatorMode);
+        calculatorMenu = new CalculatorMenu(controllerListener, calculatorMode);
+        calculatorMenu.setOnShowGlobalHistory(this::showGlobalHistoryDialog);
+        calculatorMenu.setOnUndo(() -> {
+            clearTextFieldValueIfError();
+            controllerListener.undoClicked(textFieldValue.getText(), calculatorMode);
+        });
+        calculatorMenu.setOnRedo(() -> {
+            clearTextFieldValueIfError();
+            controllerListener.redoClicked(textFieldValue.getText(), calculatorMode);
+        });
         mainPanel.getChildren().add(calculatorMenu);
     }
 
     private void setupTextFieldHistory() {
         textFieldHistory = new TextField();
         textFieldHistory.getStyleClass().add("text_field_history");
-        textFieldHistory.setMouseTransparent(true);
+        textFieldHistory.setEditable(false);
         textFieldHistory.setFocusTraversable(false);
-        textFieldHistory.textProperty().addListener((observable, oldValue, newValue) ->
-                setupTextFieldHistoryUpdateListener(newValue));
+        textFieldHistory.setCursor(Cursor.HAND);
+        textFieldHistory.setOnMouseClicked(event -> historyClicked());
 
         HBox hBox = new HBox(buttonScrollLeft, textFieldHistory, buttonScrollRight);
         mainPanel.getChildren().add(hBox);
@@ -239,13 +368,14 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
     }
 
     private void setupHotKeys() {
+        trackPressedKeys();
         ObservableMap<KeyCombination, Runnable> accelerators = this.getAccelerators();
         CalculatorButtons[] buttons = CalculatorButtons.values();
         Arrays.stream(buttons)
                 .filter(button -> button.getKeyCodeCombination() != null)
                 .forEach(button -> {
                     KeyCombination keyCombination = button.getKeyCodeCombination();
-                    Runnable runnable = () -> setMouseClickEffectAndRunAction(button.getButton());
+                    Runnable runnable = () -> pressButtonFromKeyboard(button);
                     accelerators.put(keyCombination, runnable);
 
                     if (button.equals(CalculatorButtons.BUTTON_MULTIPLY)) {
@@ -262,6 +392,9 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
                     }
                 });
         addHotKeysToNumericKeyboardDigits();
+        accelerators.put(new KeyCodeCombination(KeyCode.P, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN),
+                this::memorySubtractClicked);
+        accelerators.put(new KeyCodeCombination(KeyCode.K, KeyCombination.CONTROL_DOWN), this::selectNextMemorySlot);
     }
 
     private void addHotKeysToNumericKeyboardDigits() {
@@ -269,22 +402,41 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         CalculatorButtons.getDigitButtons().forEach(button -> {
             KeyCombination keyCombination = new KeyCodeCombination(
                     KeyCode.valueOf("NUMPAD" + button.getButton().getText()));
-            Runnable runnable = () -> setMouseClickEffectAndRunAction(button.getButton());
+            Runnable runnable = () -> pressButtonFromKeyboard(button);
             accelerators.put(keyCombination, runnable);
         });
     }
 
-    private void setMouseClickEffectAndRunAction(Button button) {
+    //the action runs right on the key event, the pressed look follows on its own
+    private void pressButtonFromKeyboard(CalculatorButtons calculatorButton) {
+        Button button = calculatorButton.getButton();
         if (button.isDisabled()) {
             return;
         }
-        button.arm();
-        PauseTransition pause = new PauseTransition(BUTTON_CLICK_EFFECT_DURATION);
-        pause.setOnFinished(e -> {
-            button.disarm();
+        BUTTON_PRESS_EFFECT.play(button);
+        if (!keyRepeated || calculatorButton.isRepeatable()) {
             button.fire();
+        }
+    }
+
+    //a held key sends presses without releases, the filter runs before the accelerators see the press
+    private void trackPressedKeys() {
+        addEventFilter(KeyEvent.KEY_PRESSED, event -> keyRepeated = !pressedKeys.add(event.getCode()));
+        addEventFilter(KeyEvent.KEY_RELEASED, event -> pressedKeys.remove(event.getCode()));
+        //a key released while the window has no focus sends no release, its next press would be taken for a repeat
+        ChangeListener<Boolean> focusListener = (observable, wasFocused, focused) -> {
+            if (!focused) {
+                pressedKeys.clear();
+            }
+        };
+        windowProperty().addListener((observable, oldWindow, newWindow) -> {
+            if (oldWindow != null) {
+                oldWindow.focusedProperty().removeListener(focusListener);
+            }
+            if (newWindow != null) {
+                newWindow.focusedProperty().addListener(focusListener);
+            }
         });
-        pause.play();
     }
 
     private void setupClipboard() {
@@ -297,37 +449,12 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         buttonScrollLeft.setFocusTraversable(false);
         buttonScrollRight.setFocusTraversable(false);
         setVisibleScrollButtons(false);
-        final int maxLength = TEXT_FIELD_PREVIOUS_OPERATION_MAX_TEXT_LENGTH;
-        final int scrollSize = SCROLL_BUTTONS_SCROLL_SIZE;
-
-        buttonScrollLeft.setOnAction(event -> {
-            int startPos = historyCaretPosition - maxLength - scrollSize;
-            int endPos = startPos + maxLength;
-            if (startPos > 0) {
-                textFieldHistory.setText(historyText.substring(startPos, endPos));
-                historyCaretPosition -= scrollSize;
-            } else {
-                textFieldHistory.setText(historyText.substring(0, maxLength));
-                historyCaretPosition = maxLength;
-                buttonScrollLeft.setDisable(true);
-            }
-            buttonScrollRight.setDisable(false);
-        });
 
-        buttonScrollRight.setOnAction(event -> {
-            int startPos = historyCaretPosition - maxLength + scrollSize;
-            int endPos = startPos + maxLength;
-            int textLength = historyText.length();
-            if (endPos < historyText.length()) {
-                textFieldHistory.setText(historyText.substring(startPos, endPos));
-                historyCaretPosition += scrollSize;
-            } else {
-                textFieldHistory.setText(historyText.substring(textLength - maxLength));
-                historyCaretPosition = textLength;
-                buttonScrollRight.setDisable(true);
-            }
-            buttonScrollLeft.setDisable(false);
-        });
+        //the model keeps the whole history, the scene asks it for the window next to the shown one
+        buttonScrollLeft.setOnAction(event ->
+                controllerListener.historyScrolled(historyEnd - SCROLL_BUTTONS_SCROLL_SIZE, calculatorMode));
+        buttonScrollRight.setOnAction(event ->
+                controllerListener.historyScrolled(historyEnd + SCROLL_BUTTONS_SCROLL_SIZE, calculatorMode));
     }
 
     private void setupClearButtons() {
@@ -337,20 +464,23 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
 
         buttonGlobalClear.setOnAction(event -> {
             clearTextFieldValueIfError();
+            String number = textFieldValue.getText();
             clearTextFields();
-            controllerListener.buttonGlobalClearClicked();
+            controllerListener.buttonGlobalClearClicked(number);
         });
 
         buttonClearEntry.setOnAction(event -> {
             clearTextFieldValueIfError();
+            String number = textFieldValue.getText();
             clearTextFields();
-            controllerListener.buttonClearEntryClicked(calculatorMode);
+            controllerListener.buttonClearEntryClicked(number, calculatorMode);
         });
 
         buttonBackSpace.setOnAction(event -> {
             clearTextFieldValueIfError();
             if (backSpaceEnabled) {
                 backspaceClickedAction();
+                controllerListener.buttonDigitClicked();
             }
         });
     }
@@ -362,6 +492,7 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
             button.setOnAction(event -> {
                 String number = textFieldValue.getText();
                 CalculatorOperation calculatorOperation = CalculatorButtons.getCalculatorOperationFromButton(button);
+                finishInput(true);
                 controllerListener.actionButtonClicked(number, calculatorOperation, calculatorMode);
             });
         });
@@ -374,23 +505,39 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
             button.setOnAction(event -> {
                 String number = textFieldValue.getText();
                 MemoryOperation memoryOperation = CalculatorButtons.getMemoryOperationFromButton(button);
+                finishInput(memoryOperation == MemoryOperation.MEMORY_READ);
                 controllerListener.memoryButtonClicked(number, memoryOperation, calculatorMode);
             });
         });
+        CalculatorButtons.BUTTON_MEMORY_ADD.getButton().setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.SECONDARY) {
+                memorySubtractClicked();
+            }
+        });
         addTooltipsToMemoryButtons();
         disableMemoryButtons(true);
     }
 
+    //there is no free cell for an own button, M- is the right click on M+ and CTRL+SHIFT+P
+    private void memorySubtractClicked() {
+        if (CalculatorButtons.BUTTON_MEMORY_ADD.getButton().isDisabled()) {
+            return;
+        }
+        String number = textFieldValue.getText();
+        finishInput(false);
+        controllerListener.memoryButtonClicked(number, MemoryOperation.MEMORY_SUBTRACT, calculatorMode);
+    }
+
     private void addTooltipsToMemoryButtons() {
         Button buttonMemoryAdd = CalculatorButtons.BUTTON_MEMORY_ADD.getButton();
         Button buttonMemoryClear = CalculatorButtons.BUTTON_MEMORY_CLEAR.getButton();
         Button buttonMemoryRead = CalculatorButtons.BUTTON_MEMORY_READ.getButton();
         Button buttonMemorySave = CalculatorButtons.BUTTON_MEMORY_SAVE.getButton();
 
-        buttonMemoryAdd.setTooltip(new Tooltip(getProperty("calculator_scene.tooltip_button_memory_add")));
-        buttonMemoryClear.setTooltip(new Tooltip(getProperty("calculator_scene.tooltip_button_memory_clear")));
-        buttonMemoryRead.setTooltip(new Tooltip(getProperty("calculator_scene.tooltip_button_memory_read")));
-        buttonMemorySave.setTooltip(new Tooltip(getProperty("calculator_scene.tooltip_button_memory_save")));
+        setTooltipIfAbsent(buttonMemoryAdd, "calculator_scene.tooltip_button_memory_add");
+        setTooltipIfAbsent(buttonMemoryClear, "calculator_scene.tooltip_button_memory_clear");
+        setTooltipIfAbsent(buttonMemoryRead, "calculator_scene.tooltip_button_memory_read");
+        setTooltipIfAbsent(buttonMemorySave, "calculator_scene.tooltip_button_memory_save");
     }
 
     private void setupEnterButton() {
@@ -398,13 +545,26 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         enterButton.setOnAction(event -> {
             clearTextFieldValueIfError();
             String number = textFieldValue.getText();
+            finishInput(true);
             controllerListener.buttonEnterClicked(number, calculatorMode);
         });
     }
 
     private void setupCommaButton() {
         Button commaButton = CalculatorButtons.BUTTON_COMMA.getButton();
-        commaButton.setOnAction(event -> appendComaDigitToTextFieldValue());
+        commaButton.setOnAction(event -> {
+            appendComaDigitToTextFieldValue();
+            controllerListener.buttonDigitClicked();
+        });
+    }
+
+    //the typed value is sent with the action, the next digit starts a new one before the model has answered
+    //and a result the action shows can not be erased by backspace
+    void finishInput(boolean showsResult) {
+        needClearResult = true;
+        if (showsResult) {
+            backSpaceEnabled = false;
+        }
     }
 
     private void setErrorStateToButtons(boolean value) {
@@ -430,46 +590,48 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         needClearResult = false;
         textFieldValue.clear();
         textFieldHistory.clear();
+        historyEnd = 0;
+        setVisibleScrollButtons(false);
     }
 
     private void configureButton(Button button) {
-        button.getStyleClass().add("grid_pane_button");
+        addStyleClass(button, "grid_pane_button");
         button.setFocusTraversable(false);
     }
 
+    static void setTooltipIfAbsent(Control control, String key) {
+        if (control.getTooltip() == null) {
+            Tooltip tooltip = new Tooltip();
+            tooltip.textProperty().bind(LocalizedText.of(key));
+            control.setTooltip(tooltip);
+        }
+    }
+
+    //the shared buttons are configured again by every scene they are attached to
+    static void addStyleClass(Node node, String styleClass) {
+        if (!node.getStyleClass().contains(styleClass)) {
+            node.getStyleClass().add(styleClass);
+        }
+    }
+
     public ComplexCalculatorScene getComplexCalculatorScene() {
-        return complexCalculatorScene;
+        return (ComplexCalculatorScene) sceneCache.peek(CalculatorMode.COMPLEX);
     }
 
     public FractionCalculatorScene getFractionCalculatorScene() {
-        return fractionCalculatorScene;
+        return (FractionCalculatorScene) sceneCache.peek(CalculatorMode.FRACTION);
     }
 
     public PNumberCalculatorScene getpNumberCalculatorScene() {
-        return pNumberCalculatorScene;
+        return (PNumberCalculatorScene) sceneCache.peek(CalculatorMode.P_NUMBER);
     }
 
     private void changeScene(CalculatorMode mode) {
         if (calculatorMode != mode) {
-            switch (mode) {
-                case BASIC:
-                    setupAndSetNewScene(new CalculatorScene(CalculatorMode.BASIC));
-                    break;
-                case FRACTION:
-                    fractionCalculatorScene = new FractionCalculatorScene();
-                    setupAndSetNewScene(fractionCalculatorScene);
-                    break;
-                case COMPLEX:
-                    complexCalculatorScene = new ComplexCalculatorScene();
-                    setupAndSetNewScene(complexCalculatorScene);
-                    break;
-                case P_NUMBER:
-                    pNumberCalculatorScene = new PNumberCalculatorScene();
-                    setupAndSetNewScene(pNumberCalculatorScene);
-                    break;
-                default:
-                    break;
-            }
+            Object event = FlightRecording.beginSceneSwitch();
+            CalculatorMode fromMode = calculatorMode;
+            setupAndSetNewScene(sceneCache.get(mode));
+            FlightRecording.endSceneSwitch(event, fromMode, mode);
         }
     }
 
@@ -484,14 +646,6 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         }
     }
 
-    private void setupTextFieldHistoryUpdateListener(String text) {
-        int maxLength = TEXT_FIELD_PREVIOUS_OPERATION_MAX_TEXT_LENGTH;
-        if (text.length() - maxLength > 0) {
-            textFieldHistory.setText(text.substring(text.length() - maxLength));
-        }
-        setVisibleScrollButtons(text.length() >= maxLength);
-    }
-
     private void configureTextInTextFieldValue(String text) {
         if (text.length() >= TEXT_FIELD_VALUE_MAX_TEXT_LENGTH) {
             textFieldValue.setText(text.substring(0, text.length() - 1));
@@ -503,17 +657,7 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
     }
 
     private void configureValueTextFieldFont() {
-        String text = textFieldValue.getText();
-        double textWidth;
-        Font textFont = TEXT_FIELD_VALUE_FONT;
-        do {
-            Text formattedText = new Text(text);
-            formattedText.setFont(textFont);
-            textWidth = formattedText.getLayoutBounds().getWidth();
-            textFont = Font.font(textFont.getFamily(), FontWeight.BOLD, textFont.getSize() - 1);
-        } while (textWidth > TEXT_FIELD_VALUE_MAX_TEXT_WIDTH_PIXELS);
-        textFont = Font.font(textFont.getFamily(), FontWeight.BOLD, textFont.getSize() + 1);
-        textFieldValue.setFont(textFont);
+        textFieldValue.setFont(TEXT_FIELD_VALUE_FONT_FIT.fit(textFieldValue.getText()));
     }
 
     private void setVisibleScrollButtons(boolean value) {
@@ -523,14 +667,13 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
 
     void setupAndSetNewScene(CalculatorScene calculatorScene) {
         Window calculatorWindow = this.getWindow();
-        calculatorScene.setControllerListener(controllerListener);
-        calculatorScene.initializeScene();
+        calculatorScene.attachScene();
         ((Stage) calculatorWindow).setScene(calculatorScene);
         controllerListener.setNewObserver(calculatorScene);
     }
 
     void configureDigitButton(Button button) {
-        button.getStyleClass().add("grid_pane_button_digit");
+        addStyleClass(button, "grid_pane_button_digit");
         button.setOnAction(event -> {
             clearTextFieldValueIfError();
             String digitText = button.getText();
@@ -538,6 +681,7 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
                 needClearResult = false;
                 textFieldValue.clear();
             }
+            backSpaceEnabled = true;
             appendDigitToTextFieldValue(digitText);
             controllerListener.buttonDigitClicked();
         });
@@ -587,8 +731,9 @@ public class CalculatorScene extends Scene implements CalculatorObserver {
         setErrorStateToButtons(true);
     }
 
+    //the memory is kept over errors, its buttons are back as they were
     void disableButtonsAfterErrorState() {
-        disableMemoryButtons(true);
+        showMemoryState();
     }
 
     void setToNormalState() {
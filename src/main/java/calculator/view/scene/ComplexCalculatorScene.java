@@ -5,29 +5,19 @@ import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.CalculatorOperation;
 import calculator.view.scene.components.CalculatorButtons;
 import javafx.scene.control.Button;
-import javafx.scene.control.Tooltip;
 
 import java.util.List;
-import java.util.regex.Pattern;
-
-import static calculator.view.localization.LanguageProperties.getProperty;
 
 class ComplexCalculatorScene extends CalculatorScene implements ComplexCalculatorObserver {
 
     private static final int TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH = 25;
     private static final String I_BUTTON_ACTIVE_STYLE = "i_button_active";
 
-    private static final String START_REAL_PART;
-    private static final String START_IMAGINARY_PART;
-    private static final String I_SYMBOL;
-
-    static {
-        START_REAL_PART = CalculatorMode.COMPLEX.getStartValue().split(Pattern.quote("+"))[0];
-        START_IMAGINARY_PART = CalculatorMode.COMPLEX.getStartValue().split(Pattern.quote("+"))[1];
-        I_SYMBOL = CalculatorButtons.BUTTON_I.getButton().getText();
-    }
+    private static final String PARTS_SEPARATOR = "+";
+    private static final String I_SYMBOL = CalculatorButtons.BUTTON_I.getButton().getText();
 
-    private ComplexCaretPosition caretPosition;
+    private final TwoPartInputBuffer input = new TwoPartInputBuffer(CalculatorMode.COMPLEX.getStartValue(),
+            PARTS_SEPARATOR, I_SYMBOL);
 
     ComplexCalculatorScene() {
         super(CalculatorMode.COMPLEX);
@@ -35,96 +25,71 @@ class ComplexCalculatorScene extends CalculatorScene implements ComplexCalculato
 
     @Override
     public void setCaretToRealPart() {
-        caretPosition = ComplexCaretPosition.REAL;
+        input.moveCaret(false);
         Button iButton = CalculatorButtons.BUTTON_I.getButton();
         iButton.getStyleClass().remove(I_BUTTON_ACTIVE_STYLE);
     }
 
     @Override
-    public void initializeScene() {
-        super.initializeScene();
+    void attachScene() {
+        super.attachScene();
         setupIButton();
         setupComplexActionButtons();
         addTooltipsToComplexButtons();
         controllerListener.setComplexCalculatorObserver(this);
-        caretPosition = ComplexCaretPosition.REAL;
+        setCaretToRealPart();
     }
 
     @Override
     void appendComaDigitToTextFieldValue() {
-        String currentRealPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[0];
-        String currentImaginaryPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[1];
+        syncInput();
         String commaSymbol = CalculatorButtons.BUTTON_COMMA.getButton().getText();
-
-        if (caretPosition == ComplexCaretPosition.REAL) {
-            if (!currentRealPart.contains(commaSymbol)) {
-                currentRealPart = currentRealPart + commaSymbol;
-            }
-        } else {
-            if (!currentImaginaryPart.contains(commaSymbol)) {
-                String imaginaryPartWithoutI = currentImaginaryPart.substring(0, currentImaginaryPart.length() - 1);
-                currentImaginaryPart = imaginaryPartWithoutI + commaSymbol + I_SYMBOL;
-            }
+        if (!input.caretPartContains(commaSymbol)) {
+            input.append(commaSymbol);
         }
-        textFieldValueSetText(currentRealPart + "+" + currentImaginaryPart);
+        textFieldValueSetText(input.getText());
     }
 
     @Override
     void appendDigitToTextFieldValue(String digitText) {
-        String currentRealPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[0];
-        String currentImaginaryPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[1];
-
-        if (currentRealPart.length() + currentImaginaryPart.length() > TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH) {
-            textFieldValueSetText(currentRealPart + "+" + currentImaginaryPart);
+        syncInput();
+        if (input.length() > TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH) {
+            textFieldValueSetText(input.getText());
             return;
         }
-
-        if (caretPosition == ComplexCaretPosition.REAL) {
-            if (currentRealPart.equals(START_REAL_PART)) {
-                currentRealPart = digitText;
-            } else {
-                currentRealPart = currentRealPart + digitText;
-            }
+        if (input.caretPartIsStart()) {
+            input.replaceCaretPart(digitText);
         } else {
-            if (currentImaginaryPart.equals(START_IMAGINARY_PART)) {
-                currentImaginaryPart = digitText + I_SYMBOL;
-            } else {
-                String imaginaryPartWithoutI = currentImaginaryPart.substring(0, currentImaginaryPart.length() - 1);
-                currentImaginaryPart = imaginaryPartWithoutI + digitText + I_SYMBOL;
-            }
+            input.append(digitText);
         }
-        textFieldValueSetText(currentRealPart + "+" + currentImaginaryPart);
+        textFieldValueSetText(input.getText());
     }
 
     @Override
     void backspaceClickedAction() {
-        String currentRealPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[0];
-        String currentImaginaryPart = getValueFromTextFieldValue().split(Pattern.quote("+"))[1];
+        syncInput();
+        input.backspace();
+        textFieldValueSetText(input.getText());
+    }
 
-        if (caretPosition == ComplexCaretPosition.REAL) {
-            currentRealPart = currentRealPart.substring(0, currentRealPart.length() - 1);
-            if (currentRealPart.isEmpty()) {
-                currentRealPart = START_REAL_PART;
-            }
-        } else {
-            currentImaginaryPart = currentImaginaryPart.substring(0, currentImaginaryPart.length() - 2) + I_SYMBOL;
-            if (currentImaginaryPart.equals(I_SYMBOL)) {
-                currentImaginaryPart = START_IMAGINARY_PART;
-            }
+    //the model or a paste may have replaced the value since the last key
+    private void syncInput() {
+        String value = getValueFromTextFieldValue();
+        if (!input.shows(value)) {
+            input.load(value);
         }
-        textFieldValueSetText(currentRealPart + "+" + currentImaginaryPart);
     }
 
     private void setupIButton() {
         Button iButton = CalculatorButtons.BUTTON_I.getButton();
         iButton.setId("switch");
         iButton.setOnAction(event -> {
-            if (caretPosition == ComplexCaretPosition.REAL) {
-                caretPosition = ComplexCaretPosition.IMAGINARY;
-                iButton.getStyleClass().add(I_BUTTON_ACTIVE_STYLE);
-            } else {
-                caretPosition = ComplexCaretPosition.REAL;
+            if (input.isCaretInSecond()) {
+                input.moveCaret(false);
                 iButton.getStyleClass().remove(I_BUTTON_ACTIVE_STYLE);
+            } else {
+                input.moveCaret(true);
+                iButton.getStyleClass().add(I_BUTTON_ACTIVE_STYLE);
             }
         });
     }
@@ -137,6 +102,10 @@ class ComplexCalculatorScene extends CalculatorScene implements ComplexCalculato
                 String number = getValueFromTextFieldValue();
                 CalculatorOperation calculatorOperation =
                         CalculatorButtons.getCalculatorOperationFromComplexButton(button);
+                //negating the imaginary part edits the typed value
+                if (calculatorOperation != CalculatorOperation.IM_NEGATE) {
+                    finishInput(true);
+                }
                 controllerListener.actionButtonClicked(number, calculatorOperation, calculatorMode);
             });
         });
@@ -149,12 +118,10 @@ class ComplexCalculatorScene extends CalculatorScene implements ComplexCalculato
         Button buttonPow = CalculatorButtons.BUTTON_POW.getButton();
         Button buttonSqr = CalculatorButtons.BUTTON_SQR.getButton();
 
-        buttonModule.setTooltip(new Tooltip(getProperty("complex_calculator_scene.tooltip_button_module")));
-        buttonArgumentRad.setTooltip(new Tooltip(getProperty("complex_calculator_scene.tooltip_button_argument_rad")));
-        buttonArgumentDeg.setTooltip(new Tooltip(getProperty("complex_calculator_scene.tooltip_button_argument_deg")));
-        buttonPow.setTooltip(new Tooltip(getProperty("complex_calculator_scene.tooltip_button_pow")));
-        buttonSqr.setTooltip(new Tooltip(getProperty("complex_calculator_scene.tooltip_button_sqr")));
+        setTooltipIfAbsent(buttonModule, "complex_calculator_scene.tooltip_button_module");
+        setTooltipIfAbsent(buttonArgumentRad, "complex_calculator_scene.tooltip_button_argument_rad");
+        setTooltipIfAbsent(buttonArgumentDeg, "complex_calculator_scene.tooltip_button_argument_deg");
+        setTooltipIfAbsent(buttonPow, "complex_calculator_scene.tooltip_button_pow");
+        setTooltipIfAbsent(buttonSqr, "complex_calculator_scene.tooltip_button_sqr");
     }
-
-    private enum ComplexCaretPosition {REAL, IMAGINARY}
 }
@@ -0,0 +1,73 @@
+package calculator.view.scene;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//largest font size up to the reference one at which a text fits the width
+//character advances are measured once at the reference size and scaled, text width is linear in the size
+class FontFitCache {
+
+    private static final int ASCII_SIZE = 128;
+    private static final int MIN_FONT_SIZE = 1;
+
+    private final String family;
+    private final FontWeight weight;
+    private final int referenceSize;
+    private final double maxWidth;
+
+    private final double[] asciiAdvances = new double[ASCII_SIZE];
+    private final Map<Character, Double> otherAdvances = new HashMap<>();
+    private final Font[] fonts;
+    private Text measuringText;
+
+    FontFitCache(String family, FontWeight weight, int referenceSize, double maxWidth) {
+        this.family = family;
+        this.weight = weight;
+        this.referenceSize = referenceSize;
+        this.maxWidth = maxWidth;
+        fonts = new Font[referenceSize + 1];
+    }
+
+    Font fit(String text) {
+        double width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advance(text.charAt(i));
+        }
+        int size = referenceSize;
+        if (width > maxWidth) {
+            size = Math.max(MIN_FONT_SIZE, (int) Math.floor(referenceSize * maxWidth / width));
+        }
+        return font(size);
+    }
+
+    private double advance(char symbol) {
+        if (symbol < ASCII_SIZE) {
+            if (asciiAdvances[symbol] == 0) {
+                asciiAdvances[symbol] = measure(symbol);
+            }
+            return asciiAdvances[symbol];
+        }
+        return otherAdvances.computeIfAbsent(symbol, this::measure);
+    }
+
+    //one detached text for all measurements, it never enters the scene graph
+    private double measure(char symbol) {
+        if (measuringText == null) {
+            measuringText = new Text();
+            measuringText.setFont(font(referenceSize));
+        }
+        measuringText.setText(String.valueOf(symbol));
+        return measuringText.getLayoutBounds().getWidth();
+    }
+
+    private Font font(int size) {
+        if (fonts[size] == null) {
+            fonts[size] = Font.font(family, weight, size);
+        }
+        return fonts[size];
+    }
+}
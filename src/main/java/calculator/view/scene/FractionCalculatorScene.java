@@ -13,18 +13,20 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
 
     private static final String BUTTON_DELIMITER_NUMERATOR_TEXT;
     private static final String BUTTON_DELIMITER_DENOMINATOR_TEXT;
-    private static final String START_NUMERATOR;
+    private static final String PARTS_SEPARATOR = "/";
     private static final String START_DENOMINATOR;
+    private static final String ZERO_DENOMINATOR = "0";
 
     static {
         BUTTON_DELIMITER_NUMERATOR_TEXT = getProperty("fraction_calculator_scene.button_delimiter_numerator");
         BUTTON_DELIMITER_DENOMINATOR_TEXT = getProperty("fraction_calculator_scene.button_delimiter_denominator");
 
-        START_NUMERATOR = CalculatorMode.FRACTION.getStartValue().split("/")[0];
-        START_DENOMINATOR = CalculatorMode.FRACTION.getStartValue().split("/")[1];
+        String startValue = CalculatorMode.FRACTION.getStartValue();
+        START_DENOMINATOR = startValue.substring(startValue.indexOf(PARTS_SEPARATOR) + PARTS_SEPARATOR.length());
     }
 
-    private FractionCaretPosition caretPosition;
+    private final TwoPartInputBuffer input = new TwoPartInputBuffer(CalculatorMode.FRACTION.getStartValue(),
+            PARTS_SEPARATOR, "");
     private boolean denominatorDefaultDigitClicked;
 
     FractionCalculatorScene() {
@@ -33,18 +35,19 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
 
     @Override
     public void setCaretToNumerator() {
-        caretPosition = FractionCaretPosition.NUMERATOR;
+        input.moveCaret(false);
         Button delimiterButton = CalculatorButtons.BUTTON_DELIMITER.getButton();
         delimiterButton.setText(BUTTON_DELIMITER_NUMERATOR_TEXT);
     }
 
     @Override
-    public void initializeScene() {
-        super.initializeScene();
+    void attachScene() {
+        super.attachScene();
         setupDelimiterButton();
         disableCommaButton(true);
         controllerListener.setFractionCalculatorObserver(this);
-        caretPosition = FractionCaretPosition.NUMERATOR;
+        input.moveCaret(false);
+        denominatorDefaultDigitClicked = false;
     }
 
     @Override
@@ -55,55 +58,43 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
 
     @Override
     void appendDigitToTextFieldValue(String digitText) {
-        String currentNumerator = getValueFromTextFieldValue().split("/")[0];
-        String currentDenominator = getValueFromTextFieldValue().split("/")[1];
-
-        if (currentNumerator.length() + currentDenominator.length() > TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH) {
-            textFieldValueSetText(currentNumerator + "/" + currentDenominator);
+        syncInput();
+        if (input.length() > TEXT_FIELD_VALUE_MAX_INPUT_TEXT_LENGTH) {
+            textFieldValueSetText(input.getText());
             return;
         }
 
-        if (caretPosition == FractionCaretPosition.NUMERATOR) {
-            if (currentNumerator.equals(START_NUMERATOR)) {
-                currentNumerator = digitText;
+        if (!input.isCaretInSecond()) {
+            if (input.caretPartIsStart()) {
+                input.replaceCaretPart(digitText);
             } else {
-                currentNumerator = currentNumerator + digitText;
+                input.append(digitText);
             }
         } else {
-            if (currentDenominator.equals(START_DENOMINATOR)) {
+            if (input.caretPartIsStart()) {
                 if (digitText.equals(START_DENOMINATOR) && !denominatorDefaultDigitClicked) {
                     denominatorDefaultDigitClicked = true;
                 } else if (denominatorDefaultDigitClicked) {
                     denominatorDefaultDigitClicked = false;
-                    currentDenominator = currentDenominator + digitText;
+                    input.append(digitText);
                 } else {
-                    currentDenominator = digitText;
+                    input.replaceCaretPart(digitText);
                 }
             } else {
-                currentDenominator = currentDenominator + digitText;
+                input.append(digitText);
+            }
+            if (input.caretPartEquals(ZERO_DENOMINATOR)) {
+                input.replaceCaretPart(START_DENOMINATOR);
             }
         }
-        textFieldValueSetText(currentNumerator + "/" + currentDenominator);
-        replaceZeroDenominator();
+        textFieldValueSetText(input.getText());
     }
 
     @Override
     void backspaceClickedAction() {
-        String currentNumerator = getValueFromTextFieldValue().split("/")[0];
-        String currentDenominator = getValueFromTextFieldValue().split("/")[1];
-
-        if (caretPosition == FractionCaretPosition.NUMERATOR) {
-            currentNumerator = currentNumerator.substring(0, currentNumerator.length() - 1);
-            if (currentNumerator.isEmpty()) {
-                currentNumerator = START_NUMERATOR;
-            }
-        } else {
-            currentDenominator = currentDenominator.substring(0, currentDenominator.length() - 1);
-            if (currentDenominator.isEmpty()) {
-                currentDenominator = START_DENOMINATOR;
-            }
-        }
-        textFieldValueSetText(currentNumerator + "/" + currentDenominator);
+        syncInput();
+        input.backspace();
+        textFieldValueSetText(input.getText());
     }
 
     @Override
@@ -112,14 +103,12 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
         disableCommaButton(false);
     }
 
-    private void replaceZeroDenominator() {
-        String currentNumerator = getValueFromTextFieldValue().split("/")[0];
-        String currentDenominator = getValueFromTextFieldValue().split("/")[1];
-
-        if (currentDenominator.equals("0")) {
-            currentDenominator = START_DENOMINATOR;
+    //the model or a paste may have replaced the value since the last key
+    private void syncInput() {
+        String value = getValueFromTextFieldValue();
+        if (!input.shows(value)) {
+            input.load(value);
         }
-        textFieldValueSetText(currentNumerator + "/" + currentDenominator);
     }
 
     private void setupDelimiterButton() {
@@ -127,12 +116,12 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
         delimiterButton.setId("switch");
         delimiterButton.setText(BUTTON_DELIMITER_NUMERATOR_TEXT);
         delimiterButton.setOnAction(event -> {
-            if (caretPosition == FractionCaretPosition.NUMERATOR) {
-                caretPosition = FractionCaretPosition.DENOMINATOR;
-                delimiterButton.setText(BUTTON_DELIMITER_DENOMINATOR_TEXT);
-            } else {
-                caretPosition = FractionCaretPosition.NUMERATOR;
+            if (input.isCaretInSecond()) {
+                input.moveCaret(false);
                 delimiterButton.setText(BUTTON_DELIMITER_NUMERATOR_TEXT);
+            } else {
+                input.moveCaret(true);
+                delimiterButton.setText(BUTTON_DELIMITER_DENOMINATOR_TEXT);
             }
         });
     }
@@ -141,6 +130,4 @@ class FractionCalculatorScene extends CalculatorScene implements FractionCalcula
         Button commaButton = CalculatorButtons.BUTTON_COMMA.getButton();
         commaButton.setDisable(value);
     }
-
-    private enum FractionCaretPosition {NUMERATOR, DENOMINATOR}
 }
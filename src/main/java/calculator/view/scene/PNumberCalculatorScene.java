@@ -3,15 +3,15 @@ package calculator.view.scene;
 import calculator.model.observer.PNumberCalculatorObserver;
 import calculator.model.stats.CalculatorMode;
 import calculator.model.stats.ErrorState;
+import calculator.view.localization.LocalizedText;
 import calculator.view.scene.components.CalculatorButtons;
+import javafx.animation.AnimationTimer;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.HBox;
 
 import java.util.List;
 
-import static calculator.view.localization.LanguageProperties.getProperty;
-
 class PNumberCalculatorScene extends CalculatorScene implements PNumberCalculatorObserver {
 
     private static final int SLIDER_MIN_VALUE = 2;
@@ -20,6 +20,9 @@ class PNumberCalculatorScene extends CalculatorScene implements PNumberCalculato
 
     private HBox bottomPanel;
     private Slider sliderBase;
+    private AnimationTimer baseChangeTimer;
+    private boolean baseChangePending;
+    private int baseBeforeChange;
 
     PNumberCalculatorScene() {
         super(CalculatorMode.P_NUMBER);
@@ -31,16 +34,27 @@ class PNumberCalculatorScene extends CalculatorScene implements PNumberCalculato
     }
 
     @Override
-    public void initializeScene() {
-        super.initializeScene();
-        setupPNumberButtons();
+    void buildScene() {
+        super.buildScene();
         setupBottomPanel();
         setupLabelBase();
         setupSliderBase();
+    }
+
+    @Override
+    void attachScene() {
+        super.attachScene();
+        setupPNumberButtons();
         updateDigitButtonsOnStart();
         controllerListener.setPNumberCalculatorObserver(this);
     }
 
+    @Override
+    void resetScene() {
+        super.resetScene();
+        sliderBase.setDisable(false);
+    }
+
     @Override
     void setAtErrorState(ErrorState errorState) {
         super.setAtErrorState(errorState);
@@ -67,7 +81,8 @@ class PNumberCalculatorScene extends CalculatorScene implements PNumberCalculato
     }
 
     private void setupLabelBase() {
-        Label labelBase = new Label(getProperty("p-number_calculator_scene.label_base"));
+        Label labelBase = new Label();
+        labelBase.textProperty().bind(LocalizedText.of("p-number_calculator_scene.label_base"));
         labelBase.getStyleClass().add("label_base");
         bottomPanel.getChildren().add(labelBase);
     }
@@ -82,14 +97,35 @@ class PNumberCalculatorScene extends CalculatorScene implements PNumberCalculato
         setupSliderBaseUpdateListener();
     }
 
+    //a drag moves the slider over many bases within one pulse, only the base it rests on at the pulse is converted to
     private void setupSliderBaseUpdateListener() {
+        baseChangeTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                applyBaseChange();
+            }
+        };
         sliderBase.valueProperty().addListener((observable, oldBase, newBase) -> {
-            controllerListener.updateDigitButtons(newBase.intValue());
-            controllerListener.convertValue(getValueFromTextFieldValue(), oldBase.intValue(), newBase.intValue());
-            controllerListener.setNewBase(newBase.intValue());
+            if (!baseChangePending) {
+                baseChangePending = true;
+                baseBeforeChange = oldBase.intValue();
+                baseChangeTimer.start();
+            }
         });
     }
 
+    private void applyBaseChange() {
+        baseChangePending = false;
+        int newBase = (int) sliderBase.getValue();
+        if (newBase == baseBeforeChange) {
+            return;
+        }
+        controllerListener.updateDigitButtons(newBase);
+        controllerListener.convertValue(getValueFromTextFieldValue(), baseBeforeChange, newBase);
+        controllerListener.setNewBase(newBase);
+    }
+
     private void updateDigitButtonsOnStart() {
         controllerListener.updateDigitButtons((int) sliderBase.getValue());
     }
@@ -0,0 +1,78 @@
+package calculator.view.scene;
+
+import calculator.controller.ControllerListener;
+import calculator.model.stats.CalculatorMode;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+//scenes of one window by mode, the node graph is built once and only the state is reset on a switch
+class SceneCache {
+
+    private static final Duration PREBUILD_DELAY = Duration.seconds(1);
+    private static final CalculatorMode[] MENU_MODES = {CalculatorMode.FRACTION, CalculatorMode.COMPLEX,
+            CalculatorMode.P_NUMBER};
+
+    private final Map<CalculatorMode, CalculatorScene> scenes = new EnumMap<>(CalculatorMode.class);
+    private final ControllerListener controllerListener;
+
+    SceneCache(ControllerListener controllerListener) {
+        this.controllerListener = controllerListener;
+    }
+
+    void put(CalculatorScene calculatorScene) {
+        scenes.put(calculatorScene.calculatorMode, calculatorScene);
+    }
+
+    CalculatorScene peek(CalculatorMode mode) {
+        return scenes.get(mode);
+    }
+
+    CalculatorScene get(CalculatorMode mode) {
+        return scenes.computeIfAbsent(mode, this::build);
+    }
+
+    //builds the modes of the menu one per pulse once startup has settled, so the first switch is a reuse too
+    void prebuildLater() {
+        Deque<CalculatorMode> modes = new ArrayDeque<>(Arrays.asList(MENU_MODES));
+        PauseTransition pause = new PauseTransition(PREBUILD_DELAY);
+        pause.setOnFinished(event -> prebuildNext(modes));
+        pause.play();
+    }
+
+    private void prebuildNext(Deque<CalculatorMode> modes) {
+        CalculatorMode mode = modes.poll();
+        if (mode == null) {
+            return;
+        }
+        get(mode);
+        Platform.runLater(() -> prebuildNext(modes));
+    }
+
+    private CalculatorScene build(CalculatorMode mode) {
+        CalculatorScene calculatorScene = create(mode);
+        calculatorScene.setControllerListener(controllerListener);
+        calculatorScene.setSceneCache(this);
+        calculatorScene.buildScene();
+        return calculatorScene;
+    }
+
+    private static CalculatorScene create(CalculatorMode mode) {
+        switch (mode) {
+            case FRACTION:
+                return new FractionCalculatorScene();
+            case COMPLEX:
+                return new ComplexCalculatorScene();
+            case P_NUMBER:
+                return new PNumberCalculatorScene();
+            default:
+                return new CalculatorScene(mode);
+        }
+    }
+}
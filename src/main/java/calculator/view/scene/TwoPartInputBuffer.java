@@ -0,0 +1,111 @@
+package calculator.view.scene;
+
+//value typed in two parts around a separator, real and imaginary or numerator and denominator
+//the part under the caret is edited in place and the display text is built once per change
+class TwoPartInputBuffer {
+
+    private final String separator;
+    private final String suffix;
+    private final String firstStart;
+    private final String secondStart;
+
+    private final StringBuilder first = new StringBuilder();
+    private final StringBuilder second = new StringBuilder();
+    private boolean caretInSecond;
+    private String text;
+
+    //the start value is written as first + separator + second + suffix
+    TwoPartInputBuffer(String startValue, String separator, String suffix) {
+        this.separator = separator;
+        this.suffix = suffix;
+        int separatorIndex = startValue.indexOf(separator);
+        firstStart = startValue.substring(0, separatorIndex);
+        secondStart = startValue.substring(separatorIndex + separator.length(), startValue.length() - suffix.length());
+        load(startValue);
+    }
+
+    //takes over a text that did not come from the buffer, a result or a pasted value for example
+    void load(String value) {
+        first.setLength(0);
+        second.setLength(0);
+        int separatorIndex = value.indexOf(separator);
+        if (separatorIndex < 0) {
+            first.append(value.isEmpty() ? firstStart : value);
+            second.append(secondStart);
+            text = null;
+            return;
+        }
+        first.append(value, 0, separatorIndex);
+        int secondEnd = value.endsWith(suffix) ? value.length() - suffix.length() : value.length();
+        second.append(value, separatorIndex + separator.length(), Math.max(secondEnd, separatorIndex + separator.length()));
+        text = value;
+    }
+
+    //true when the text is the one this buffer produced last, so the parts still describe it
+    //the text field builds a new string on every read, so the text is compared and not the reference
+    boolean shows(String value) {
+        return text != null && text.equals(value);
+    }
+
+    void moveCaret(boolean toSecond) {
+        caretInSecond = toSecond;
+    }
+
+    boolean isCaretInSecond() {
+        return caretInSecond;
+    }
+
+    //length of both parts with the suffix, the separator is not counted
+    int length() {
+        return first.length() + second.length() + suffix.length();
+    }
+
+    boolean caretPartIsStart() {
+        return caretPartEquals(caretInSecond ? secondStart : firstStart);
+    }
+
+    boolean caretPartEquals(String value) {
+        StringBuilder part = caretPart();
+        return part.length() == value.length() && part.indexOf(value) == 0;
+    }
+
+    boolean caretPartContains(String value) {
+        return caretPart().indexOf(value) >= 0;
+    }
+
+    void append(String value) {
+        caretPart().append(value);
+        text = null;
+    }
+
+    void replaceCaretPart(String value) {
+        StringBuilder part = caretPart();
+        part.setLength(0);
+        part.append(value);
+        text = null;
+    }
+
+    //an emptied part goes back to its start value
+    void backspace() {
+        StringBuilder part = caretPart();
+        if (part.length() > 0) {
+            part.setLength(part.length() - 1);
+        }
+        if (part.length() == 0) {
+            part.append(caretInSecond ? secondStart : firstStart);
+        }
+        text = null;
+    }
+
+    String getText() {
+        if (text == null) {
+            text = new StringBuilder(first.length() + separator.length() + second.length() + suffix.length())
+                    .append(first).append(separator).append(second).append(suffix).toString();
+        }
+        return text;
+    }
+
+    private StringBuilder caretPart() {
+        return caretInSecond ? second : first;
+    }
+}
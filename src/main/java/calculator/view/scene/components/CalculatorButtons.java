@@ -263,6 +263,12 @@ public enum CalculatorButtons {
         return Arrays.asList(BUTTON_CLEAR_ENTRY, BUTTON_GLOBAL_CLEAR, BUTTON_BACKSPACE);
     }
 
+    //buttons that keep acting while their key is held, the others act once per key press
+    public boolean isRepeatable() {
+        return getDigitButtons().contains(this) || getPNumberDigitButtons().contains(this)
+                || this == BUTTON_BACKSPACE || this == BUTTON_ENTER;
+    }
+
     public static CalculatorOperation getCalculatorOperationFromButton(Button button) {
         return actionButtons.get(button);
     }
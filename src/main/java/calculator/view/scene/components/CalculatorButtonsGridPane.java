@@ -2,7 +2,7 @@ package calculator.view.scene.components;
 
 import calculator.model.stats.CalculatorMode;
 import javafx.geometry.HPos;
-import javafx.scene.Node;
+import javafx.scene.control.Button;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
@@ -10,6 +10,7 @@ import javafx.scene.layout.RowConstraints;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.stream.Stream;
 
 public class CalculatorButtonsGridPane extends GridPane {
 
@@ -21,7 +22,7 @@ public class CalculatorButtonsGridPane extends GridPane {
     public CalculatorButtonsGridPane(CalculatorMode calculatorMode) {
         this.calculatorMode = calculatorMode;
         setupGridPane();
-        addButtonsToGridPane();
+        addEmptyPanesToGridPane();
     }
 
     private void setupGridPane() {
@@ -41,34 +42,35 @@ public class CalculatorButtonsGridPane extends GridPane {
         this.getColumnConstraints().addAll(Collections.nCopies(countColumns, columnConstraints));
     }
 
-    private void addButtonsToGridPane() {
+    //the buttons are shared by the scenes of every mode, so they are moved into the grid of the shown scene
+    public void attachButtons() {
+        getModeButtons().forEach(button -> {
+            Button node = button.getButton();
+            if (node.getParent() != this) {
+                this.add(node, button.getColumnInGridPane(), button.getRowInGridPane());
+            }
+        });
+    }
+
+    private void addEmptyPanesToGridPane() {
         int countRows = calculatorMode.getCountButtonsGridPaneColumns();
         int countColumns = calculatorMode.getCountButtonsGridPaneColumns();
-        Node[][] elementsInGridPane = new Node[countRows][countColumns];
+        boolean[][] cellsWithButtons = new boolean[countRows][countColumns];
+        getModeButtons().forEach(button ->
+                cellsWithButtons[button.getRowInGridPane()][button.getColumnInGridPane()] = true);
 
-        CalculatorButtons[] buttons = CalculatorButtons.values();
-        Arrays.stream(buttons)
-                .filter(button -> button.getCalculatorMode() == CalculatorMode.BASIC ||
-                        button.getCalculatorMode() == calculatorMode)
-                .forEach(button -> {
-                    int row = button.getRowInGridPane();
-                    int column = button.getColumnInGridPane();
-                    elementsInGridPane[row][column] = button.getButton();
-                });
-        addEmptyPaneToBullGridPaneElements(elementsInGridPane);
-
-        for (int i = 0; i < elementsInGridPane.length; ++i) {
-            this.addRow(i, elementsInGridPane[i]);
-        }
-    }
-
-    private void addEmptyPaneToBullGridPaneElements(Node[][] elementsInGridPane) {
-        for (int i = 0; i < elementsInGridPane.length; ++i) {
-            for (int j = 0; j < elementsInGridPane[i].length; ++j) {
-                if (elementsInGridPane[i][j] == null) {
-                    elementsInGridPane[i][j] = new Pane();
+        for (int i = 0; i < countRows; ++i) {
+            for (int j = 0; j < countColumns; ++j) {
+                if (!cellsWithButtons[i][j]) {
+                    this.add(new Pane(), j, i);
                 }
             }
         }
     }
+
+    private Stream<CalculatorButtons> getModeButtons() {
+        return Arrays.stream(CalculatorButtons.values())
+                .filter(button -> button.getCalculatorMode() == CalculatorMode.BASIC ||
+                        button.getCalculatorMode() == calculatorMode);
+    }
 }
@@ -4,6 +4,7 @@ import calculator.controller.ControllerListener;
 import calculator.model.stats.CalculatorMode;
 import calculator.view.localization.Language;
 import calculator.view.localization.LanguageProperties;
+import calculator.view.localization.LocalizedText;
 import javafx.application.Platform;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
@@ -18,6 +19,12 @@ public class CalculatorMenu extends MenuBar {
     private CalculatorMode calculatorMode;
 
     private Language selectedLanguage;
+    private RadioMenuItem menuItemFraction;
+    private RadioMenuItem menuItemComplex;
+    private RadioMenuItem menuItemPNumber;
+    private MenuItem menuItemGlobalHistory;
+    private MenuItem menuItemUndo;
+    private MenuItem menuItemRedo;
 
     public CalculatorMenu(ControllerListener controllerListener, CalculatorMode calculatorMode) {
         this.controllerListener = controllerListener;
@@ -37,7 +44,7 @@ public class CalculatorMenu extends MenuBar {
 
     private Menu generateLanguageMenu() {
         ToggleGroup languageToggleGroup = new ToggleGroup();
-        Menu languageMenu = new Menu(getProperty("calculator_scene.menu_language"));
+        Menu languageMenu = localized(new Menu(), "calculator_scene.menu_language");
         for (Language language : Language.values()) {
             RadioMenuItem languageMenuItem = new RadioMenuItem(language.getLanguageName());
             languageMenuItem.setToggleGroup(languageToggleGroup);
@@ -51,8 +58,14 @@ public class CalculatorMenu extends MenuBar {
                 RadioMenuItem currentLanguageMenuItem = (RadioMenuItem) event.getSource();
                 String languageName = currentLanguageMenuItem.getText();
                 if (!languageName.equals(selectedLanguage.getLanguageName())) {
-                    changeLanguage(language);
-                    selectedLanguage = Language.getLanguageFromLanguageName(languageName);
+                    changeLanguage(Language.getLanguageFromLanguageName(languageName));
+                }
+            });
+            //the menus of the other cached scenes follow a switch made in this one
+            LocalizedText.languageProperty().addListener((observable, oldLanguage, newLanguage) -> {
+                if (newLanguage == language) {
+                    languageMenuItem.setSelected(true);
+                    selectedLanguage = language;
                 }
             });
         }
@@ -60,10 +73,10 @@ public class CalculatorMenu extends MenuBar {
     }
 
     private void setupMenuFile() {
-        Menu menuFile = new Menu(getProperty("calculator_scene.menu_file"));
+        Menu menuFile = localized(new Menu(), "calculator_scene.menu_file");
         Menu menuLanguage = generateLanguageMenu();
         MenuItem separator = new SeparatorMenuItem();
-        MenuItem menuItemExit = new MenuItem(getProperty("calculator_scene.menu_item_exit"));
+        MenuItem menuItemExit = localized(new MenuItem(), "calculator_scene.menu_item_exit");
         menuFile.getItems().add(menuLanguage);
         menuFile.getItems().add(separator);
         menuFile.getItems().addAll(menuItemExit);
@@ -74,28 +87,35 @@ public class CalculatorMenu extends MenuBar {
     }
 
     private void setupMenuEdit() {
-        Menu menuEdit = new Menu(getProperty("calculator_scene.menu_edit"));
-        MenuItem menuItemCopy = new MenuItem(getProperty("calculator_scene.menu_item_copy"));
-        MenuItem menuItemPaste = new MenuItem(getProperty("calculator_scene.menu_item_paste"));
-        menuEdit.getItems().addAll(menuItemCopy, menuItemPaste);
+        Menu menuEdit = localized(new Menu(), "calculator_scene.menu_edit");
+        MenuItem menuItemCopy = localized(new MenuItem(), "calculator_scene.menu_item_copy");
+        MenuItem menuItemPaste = localized(new MenuItem(), "calculator_scene.menu_item_paste");
+        menuItemGlobalHistory = localized(new MenuItem(), "calculator_scene.menu_item_global_history");
+        menuItemUndo = localized(new MenuItem(), "calculator_scene.menu_item_undo");
+        menuItemRedo = localized(new MenuItem(), "calculator_scene.menu_item_redo");
+        menuEdit.getItems().addAll(menuItemUndo, menuItemRedo, new SeparatorMenuItem(), menuItemCopy, menuItemPaste,
+                new SeparatorMenuItem(), menuItemGlobalHistory);
         this.getMenus().add(menuEdit);
 
         menuItemCopy.setAccelerator(new KeyCodeCombination(KeyCode.C, KeyCombination.CONTROL_DOWN));
         menuItemPaste.setAccelerator(new KeyCodeCombination(KeyCode.V, KeyCombination.CONTROL_DOWN));
+        menuItemGlobalHistory.setAccelerator(new KeyCodeCombination(KeyCode.H, KeyCombination.CONTROL_DOWN));
+        menuItemUndo.setAccelerator(new KeyCodeCombination(KeyCode.Z, KeyCombination.CONTROL_DOWN));
+        menuItemRedo.setAccelerator(new KeyCodeCombination(KeyCode.Y, KeyCombination.CONTROL_DOWN));
         menuItemCopy.setOnAction(event -> controllerListener.buttonCopyClicked());
         menuItemPaste.setOnAction(event -> controllerListener.buttonPasteClicked());
     }
 
     private void setupModeMenu() {
         ToggleGroup modeToggleGroup = new ToggleGroup();
-        Menu menuMode = new Menu(getProperty("calculator_scene.menu_mode"));
+        Menu menuMode = localized(new Menu(), "calculator_scene.menu_mode");
         menuMode.setId("menuMode");
 //        RadioMenuItem menuItemBasic = new RadioMenuItem(getProperty("calculator_scene.menu_item_mode_basic"));
-        RadioMenuItem menuItemFraction = new RadioMenuItem(getProperty("calculator_scene.menu_item_mode_fraction"));
+        menuItemFraction = localized(new RadioMenuItem(), "calculator_scene.menu_item_mode_fraction");
         menuItemFraction.setId("menuItemFraction");
-        RadioMenuItem menuItemComplex = new RadioMenuItem(getProperty("calculator_scene.menu_item_mode_complex"));
+        menuItemComplex = localized(new RadioMenuItem(), "calculator_scene.menu_item_mode_complex");
         menuItemComplex.setId("menuItemComplex");
-        RadioMenuItem menuItemPNumber = new RadioMenuItem(getProperty("calculator_scene.menu_item_mode_p-value"));
+        menuItemPNumber = localized(new RadioMenuItem(), "calculator_scene.menu_item_mode_p-value");
         menuItemPNumber.setId("menuItemPNumber");
         menuMode.getItems().addAll(/*menuItemBasic,*/ menuItemFraction, menuItemComplex, menuItemPNumber);
         this.getMenus().add(menuMode);
@@ -110,10 +130,25 @@ public class CalculatorMenu extends MenuBar {
         menuItemComplex.setOnAction(event -> controllerListener.updateCalculatorMode(CalculatorMode.COMPLEX));
         menuItemPNumber.setOnAction(event -> controllerListener.updateCalculatorMode(CalculatorMode.P_NUMBER));
 
+        selectCalculatorMode(calculatorMode);
+    }
+
+    //the dialog belongs to the scene, it knows the mode the results are searched in
+    public void setOnShowGlobalHistory(Runnable showGlobalHistory) {
+        menuItemGlobalHistory.setOnAction(event -> showGlobalHistory.run());
+    }
+
+    public void setOnUndo(Runnable undo) {
+        menuItemUndo.setOnAction(event -> undo.run());
+    }
+
+    public void setOnRedo(Runnable redo) {
+        menuItemRedo.setOnAction(event -> redo.run());
+    }
+
+    //a cached scene is shown again after its menu was used to leave it
+    public void selectCalculatorMode(CalculatorMode calculatorMode) {
         switch (calculatorMode) {
-//            case BASIC:
-//                menuItemBasic.setSelected(true);
-//                break;
             case FRACTION:
                 menuItemFraction.setSelected(true);
                 break;
@@ -129,9 +164,9 @@ public class CalculatorMenu extends MenuBar {
     }
 
     private void setupMenuHelp() {
-        Menu menuHelp = new Menu(getProperty("calculator_scene.menu_help"));
-        MenuItem menuItemHelp = new MenuItem(getProperty("calculator_scene.menu_item_help"));
-        MenuItem menuItemAbout = new MenuItem(getProperty("calculator_scene.menu_item_about"));
+        Menu menuHelp = localized(new Menu(), "calculator_scene.menu_help");
+        MenuItem menuItemHelp = localized(new MenuItem(), "calculator_scene.menu_item_help");
+        MenuItem menuItemAbout = localized(new MenuItem(), "calculator_scene.menu_item_about");
         MenuItem separator = new SeparatorMenuItem();
         menuHelp.getItems().addAll(menuItemHelp, separator, menuItemAbout);
         this.getMenus().add(menuHelp);
@@ -142,10 +177,15 @@ public class CalculatorMenu extends MenuBar {
                 getProperty("calculator_scene.about_alert_message")));
     }
 
+    //the texts are bound to the language, the scenes stay as they are
     private void changeLanguage(Language language) {
+        LocalizedText.switchLanguage(language);
         controllerListener.updateLanguage(language);
-        createInformationAlert(getProperty("calculator_scene.restart_alert_title"),
-                getProperty("calculator_scene.restart_alert_message"));
+    }
+
+    private static <T extends MenuItem> T localized(T menuItem, String key) {
+        menuItem.textProperty().bind(LocalizedText.of(key));
+        return menuItem;
     }
 
     private void createInformationAlert(String title, String contentText) {
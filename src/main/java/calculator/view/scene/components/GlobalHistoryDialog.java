@@ -0,0 +1,126 @@
+package calculator.view.scene.components;
+
+import calculator.controller.ControllerListener;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.view.localization.LocalizedText;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+//searches the results of all sessions of one mode, a chosen result is entered into the calculator
+public class GlobalHistoryDialog extends Stage {
+
+    private static final String TIME_FORMAT = "dd.MM.yyyy HH:mm";
+    private static final int SPACING = 5;
+
+    private final ControllerListener controllerListener;
+    private final CalculatorMode calculatorMode;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat(TIME_FORMAT);
+    private TextField textFieldQuery;
+    private DatePicker datePickerDay;
+    private ListView<HistoryRecord> listViewRecords;
+
+    public GlobalHistoryDialog(ControllerListener controllerListener, CalculatorMode calculatorMode, Window owner) {
+        this.controllerListener = controllerListener;
+        this.calculatorMode = calculatorMode;
+        initOwner(owner);
+        titleProperty().bind(LocalizedText.of("global_history_dialog.title"));
+        setupDialog();
+    }
+
+    public void showRecords(List<HistoryRecord> records) {
+        listViewRecords.getItems().setAll(records);
+    }
+
+    //every opening shows the latest results again
+    public void open() {
+        textFieldQuery.clear();
+        datePickerDay.setValue(null);
+        search();
+        show();
+        toFront();
+        textFieldQuery.requestFocus();
+    }
+
+    private void setupDialog() {
+        textFieldQuery = new TextField();
+        textFieldQuery.promptTextProperty().bind(LocalizedText.of("global_history_dialog.prompt_result"));
+        textFieldQuery.textProperty().addListener((observable, oldValue, newValue) -> search());
+        textFieldQuery.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.DOWN) {
+                listViewRecords.requestFocus();
+                listViewRecords.getSelectionModel().selectFirst();
+            }
+        });
+        HBox.setHgrow(textFieldQuery, Priority.ALWAYS);
+
+        datePickerDay = new DatePicker();
+        datePickerDay.promptTextProperty().bind(LocalizedText.of("global_history_dialog.prompt_day"));
+        datePickerDay.valueProperty().addListener((observable, oldValue, newValue) -> search());
+
+        listViewRecords = new ListView<>();
+        listViewRecords.setCellFactory(listView -> new RecordCell());
+        listViewRecords.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2) {
+                recallSelected();
+            }
+        });
+        listViewRecords.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ENTER) {
+                recallSelected();
+            }
+        });
+        VBox.setVgrow(listViewRecords, Priority.ALWAYS);
+
+        HBox filters = new HBox(SPACING, textFieldQuery, datePickerDay);
+        VBox root = new VBox(SPACING, filters, listViewRecords);
+        root.setPadding(new Insets(SPACING));
+        setScene(new Scene(root));
+        getScene().setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                hide();
+            }
+        });
+    }
+
+    private void search() {
+        controllerListener.globalHistorySearched(textFieldQuery.getText().trim(), datePickerDay.getValue(),
+                calculatorMode);
+    }
+
+    private void recallSelected() {
+        HistoryRecord record = listViewRecords.getSelectionModel().getSelectedItem();
+        if (record != null) {
+            controllerListener.globalHistoryRecalled(record.getIndex(), calculatorMode);
+            hide();
+        }
+    }
+
+    private class RecordCell extends ListCell<HistoryRecord> {
+        @Override
+        protected void updateItem(HistoryRecord record, boolean empty) {
+            super.updateItem(record, empty);
+            if (empty || record == null) {
+                setText(null);
+            } else {
+                setText(timeFormat.format(new Date(record.getTimeMillis())) + "    "
+                        + record.getExpression() + " = " + record.getResultText());
+            }
+        }
+    }
+}
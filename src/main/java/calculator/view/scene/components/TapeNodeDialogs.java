@@ -0,0 +1,54 @@
+package calculator.view.scene.components;
+
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.TextInputDialog;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static calculator.view.localization.LanguageProperties.getProperty;
+
+//asks for the new operand or binary operation of a node clicked in the history
+//the error of a rejected edit is shown as the header, it is null for a new edit
+public final class TapeNodeDialogs {
+
+    private TapeNodeDialogs() {
+    }
+
+    public static Optional<String> editOperand(String operand, String error, Window owner) {
+        TextInputDialog dialog = new TextInputDialog(operand);
+        dialog.initOwner(owner);
+        dialog.setTitle(getProperty("tape_dialog.title"));
+        dialog.setHeaderText(error);
+        dialog.setContentText(getProperty("tape_dialog.operand"));
+        return dialog.showAndWait().map(String::trim).filter(text -> !text.isEmpty());
+    }
+
+    public static Optional<CalculatorOperation> editOperation(String sign, String error, CalculatorMode calculatorMode,
+                                                              Window owner) {
+        List<CalculatorOperation> operations = binaryOperations(calculatorMode);
+        List<String> signs = new ArrayList<>(operations.size());
+        operations.forEach(operation -> signs.add(operation.getMathSign()));
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(sign, signs);
+        dialog.initOwner(owner);
+        dialog.setTitle(getProperty("tape_dialog.title"));
+        dialog.setHeaderText(error);
+        dialog.setContentText(getProperty("tape_dialog.operation"));
+        return dialog.showAndWait().map(chosen -> operations.get(signs.indexOf(chosen)));
+    }
+
+    //power is a button of the complex mode only
+    private static List<CalculatorOperation> binaryOperations(CalculatorMode calculatorMode) {
+        List<CalculatorOperation> operations = new ArrayList<>();
+        for (CalculatorOperation operation : CalculatorOperation.values()) {
+            if (!operation.isUnary() && (operation != CalculatorOperation.POW || calculatorMode == CalculatorMode.COMPLEX)) {
+                operations.add(operation);
+            }
+        }
+        return operations;
+    }
+}
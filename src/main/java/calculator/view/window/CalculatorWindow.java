@@ -1,5 +1,6 @@
 package calculator.view.window;
 
+import calculator.view.localization.LocalizedText;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.stage.Screen;
@@ -7,8 +8,6 @@ import javafx.stage.Stage;
 import javafx.stage.Window;
 import javafx.stage.WindowEvent;
 
-import static calculator.view.localization.LanguageProperties.getProperty;
-
 public class CalculatorWindow extends Stage {
 
     private Window window;
@@ -19,7 +18,7 @@ public class CalculatorWindow extends Stage {
     }
 
     private void setupCalculatorWindow() {
-        this.setTitle(getProperty("calculator_window.title"));
+        this.titleProperty().bind(LocalizedText.of("calculator_window.title"));
         this.getIcons().add(new Image(getClass().getResourceAsStream("/icons/window_icon.png")));
         this.setResizable(false);
         this.sizeToScene();
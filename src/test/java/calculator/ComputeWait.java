@@ -0,0 +1,27 @@
+package calculator;
+
+import calculator.controller.Controller;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+//the model computes on its own thread and the view is updated after it, the value is read when both are done
+final class ComputeWait {
+
+    private static final long COMPUTE_TIMEOUT_SECONDS = 5;
+
+    private ComputeWait() {
+    }
+
+    static void waitForCompute(Controller controller) {
+        CountDownLatch computed = new CountDownLatch(1);
+        controller.whenConfigured(computed::countDown);
+        try {
+            computed.await(COMPUTE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+}
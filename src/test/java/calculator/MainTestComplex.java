@@ -76,6 +76,7 @@ public class MainTestComplex extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("6897630+0i", calculatorModel.getValue());
     }
 
@@ -92,6 +93,7 @@ public class MainTestComplex extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("4,1449612486+0i", calculatorModel.getValue());
     }
 
@@ -107,6 +109,7 @@ public class MainTestComplex extends ApplicationTest {
         clickOn("#switch");
         press(KeyCode.DIGIT9);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("33+123i", calculatorModel.getValue());
     }
 }
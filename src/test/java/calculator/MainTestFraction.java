@@ -76,6 +76,7 @@ public class MainTestFraction extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("6897630/1", calculatorModel.getValue());
     }
 
@@ -92,6 +93,7 @@ public class MainTestFraction extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("5347/1290", calculatorModel.getValue());
     }
 
@@ -107,6 +109,7 @@ public class MainTestFraction extends ApplicationTest {
         clickOn("#switch");
         press(KeyCode.DIGIT9);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("20/9", calculatorModel.getValue());
     }
 
@@ -122,6 +125,7 @@ public class MainTestFraction extends ApplicationTest {
         clickOn("#switch");
         press(KeyCode.DIGIT2);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("68/5", calculatorModel.getValue());
     }
 }
@@ -81,6 +81,7 @@ public class MainTestPNumber extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("6897630", calculatorModel.getValue());
     }
 
@@ -97,6 +98,7 @@ public class MainTestPNumber extends ApplicationTest {
         press(KeyCode.DIGIT9);
         press(KeyCode.DIGIT0);
         clickOn("#equals");
+        ComputeWait.waitForCompute(controller);
         assertEquals("4,14496124031007751937984496124", calculatorModel.getValue());
     }
 
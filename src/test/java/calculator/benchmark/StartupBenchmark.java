@@ -0,0 +1,115 @@
+package calculator.benchmark;
+
+import calculator.Main;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//cold starts Main in fresh jvms until it is interactive and reports the startup timeline of every milestone
+//-Dbenchmark.startups=10 -Dbenchmark.headless=true -Dbenchmark.jvmArgs="<extra arguments, space separated>"
+//-Dbenchmark.startupReport=build/reports/benchmark/startup.json
+public class StartupBenchmark {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+    private static final List<String> HEADLESS_ARGUMENTS = Arrays.asList("-Dglass.platform=Monocle",
+            "-Dmonocle.platform=Headless", "-Dprism.order=sw", "-Dprism.text=t2k", "-Djava.awt.headless=true");
+
+    private final int startups;
+    private final boolean headless;
+    private final List<String> jvmArguments;
+
+    public StartupBenchmark(int startups, boolean headless, List<String> jvmArguments) {
+        this.startups = startups;
+        this.headless = headless;
+        this.jvmArguments = jvmArguments;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jvmArgs = System.getProperty("benchmark.jvmArgs", "").trim();
+        StartupBenchmark benchmark = new StartupBenchmark(Integer.getInteger("benchmark.startups", 10),
+                !"false".equals(System.getProperty("benchmark.headless")),
+                jvmArgs.isEmpty() ? Collections.emptyList() : Arrays.asList(jvmArgs.split("\\s+")));
+        Map<String, List<Double>> timeline = benchmark.run();
+        Path report = Paths.get(System.getProperty("benchmark.startupReport",
+                "build/reports/benchmark/startup.json"));
+        writeReport(timeline, report);
+        System.out.println(Files.readAllLines(report, StandardCharsets.UTF_8));
+    }
+
+    //milestone name to the milliseconds since jvm start of every run
+    public Map<String, List<Double>> run() throws IOException, InterruptedException {
+        Map<String, List<Double>> timeline = new LinkedHashMap<>();
+        for (int i = 0; i < startups; i++) {
+            Path report = Files.createTempFile("calculator-startup", ".txt");
+            try {
+                startOnce(report);
+                for (String line : Files.readAllLines(report, StandardCharsets.UTF_8)) {
+                    String[] mark = line.split(" ");
+                    timeline.computeIfAbsent(mark[0], name -> new ArrayList<>()).add(Double.parseDouble(mark[1]));
+                }
+            } finally {
+                Files.deleteIfExists(report);
+            }
+        }
+        return timeline;
+    }
+
+    private void startOnce(Path report) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dcalculator.startup=true");
+        command.add("-Dcalculator.startup.exit=true");
+        command.add("-Dcalculator.startup.report=" + report);
+        if (headless) {
+            command.addAll(HEADLESS_ARGUMENTS);
+        }
+        command.addAll(jvmArguments);
+        command.add(Main.class.getName());
+
+        Process process = new ProcessBuilder(command)
+                .inheritIO()
+                .start();
+        if (!process.waitFor(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Calculator did not become interactive in "
+                    + STARTUP_TIMEOUT_SECONDS + " s");
+        }
+        if (Files.size(report) == 0) {
+            throw new IllegalStateException("Calculator exited with " + process.exitValue()
+                    + " without a startup timeline");
+        }
+    }
+
+    static void writeReport(Map<String, List<Double>> timeline, Path path) throws IOException {
+        List<String> milestones = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> entry : timeline.entrySet()) {
+            List<Double> millis = new ArrayList<>(entry.getValue());
+            Collections.sort(millis);
+            milestones.add(String.format(Locale.ROOT,
+                    "    {\"milestone\": \"%s\", \"runs\": %d, \"minMillis\": %.1f, \"medianMillis\": %.1f, "
+                            + "\"maxMillis\": %.1f}",
+                    entry.getKey(), millis.size(), millis.get(0), millis.get(millis.size() / 2),
+                    millis.get(millis.size() - 1)));
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        String json = "{\n  \"timestamp\": " + System.currentTimeMillis()
+                + ",\n  \"javaVersion\": \"" + System.getProperty("java.version") + '"'
+                + ",\n  \"milestones\": [\n" + String.join(",\n", milestones) + "\n  ]\n}\n";
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
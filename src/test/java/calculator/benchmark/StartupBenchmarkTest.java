@@ -0,0 +1,30 @@
+package calculator.benchmark;
+
+import calculator.model.metrics.StartupTimeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//two cold starts of the real application, enabled with -Dcalculator.benchmark=true
+@EnabledIfSystemProperty(named = "calculator.benchmark", matches = "true")
+class StartupBenchmarkTest {
+
+    private static final int STARTUPS = 2;
+
+    @Test
+    void coldStart() throws Exception {
+        Map<String, List<Double>> timeline = new StartupBenchmark(STARTUPS, true, Collections.emptyList()).run();
+        List<Double> firstFrame = timeline.get(StartupTimeline.FIRST_FRAME);
+        List<Double> interactive = timeline.get(StartupTimeline.INTERACTIVE);
+        assertEquals(STARTUPS, interactive.size());
+        for (int i = 0; i < STARTUPS; i++) {
+            assertTrue(interactive.get(i) >= firstFrame.get(i));
+        }
+    }
+}
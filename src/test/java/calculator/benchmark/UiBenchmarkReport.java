@@ -0,0 +1,62 @@
+package calculator.benchmark;
+
+import calculator.model.metrics.LatencyHistogram;
+import calculator.model.stats.CalculatorMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//collects scenario results and writes them as json, so runs can be compared by a script
+class UiBenchmarkReport {
+
+    private static final double NANOS_IN_MICRO = 1000;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final List<String> entries = new ArrayList<>();
+
+    void add(String scenario, CalculatorMode mode, LatencyHistogram keyLatency, LatencyHistogram pulses,
+             long unchangedKeys, int historyLength, int valueLength) {
+        StringBuilder entry = new StringBuilder();
+        entry.append("    {\"scenario\": \"").append(scenario).append('"')
+                .append(", \"mode\": \"").append(mode).append('"')
+                .append(", \"keys\": ").append(keyLatency.getCount() + unchangedKeys)
+                .append(", \"unchangedKeys\": ").append(unchangedKeys)
+                .append(", \"historyLength\": ").append(historyLength)
+                .append(", \"valueLength\": ").append(valueLength)
+                .append(",\n      \"keyToTextMicros\": ");
+        appendHistogram(entry, keyLatency);
+        entry.append(",\n      \"pulseIntervalMicros\": ");
+        appendHistogram(entry, pulses);
+        entry.append('}');
+        entries.add(entry.toString());
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        String json = "{\n  \"timestamp\": " + System.currentTimeMillis()
+                + ",\n  \"javaVersion\": \"" + System.getProperty("java.version") + '"'
+                + ",\n  \"results\": [\n" + String.join(",\n", entries) + "\n  ]\n}\n";
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendHistogram(StringBuilder builder, LatencyHistogram histogram) {
+        builder.append("{\"count\": ").append(histogram.getCount())
+                .append(", \"mean\": ").append(micros(histogram.getMean()));
+        for (double percentile : PERCENTILES) {
+            builder.append(", \"p").append(String.valueOf(percentile).replace(".0", "").replace('.', '_'))
+                    .append("\": ").append(micros(histogram.getPercentile(percentile)));
+        }
+        builder.append(", \"max\": ").append(micros(histogram.getMax())).append('}');
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / NANOS_IN_MICRO);
+    }
+}
@@ -0,0 +1,256 @@
+package calculator.benchmark;
+
+import calculator.controller.Controller;
+import calculator.model.CalculatorModel;
+import calculator.model.metrics.LatencyHistogram;
+import calculator.model.stats.CalculatorMode;
+import calculator.view.scene.CalculatorScene;
+import calculator.view.window.CalculatorWindow;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.control.TextField;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+//runs only with -Dcalculator.benchmark=true, headless through Monocle unless -Dbenchmark.headless=false
+public class UiLatencyBenchmark extends ApplicationTest {
+
+    private static final CalculatorMode[] MODES = {CalculatorMode.P_NUMBER, CalculatorMode.FRACTION,
+            CalculatorMode.COMPLEX};
+    private static final KeyCode[] DIGIT_KEYS = {KeyCode.DIGIT1, KeyCode.DIGIT2, KeyCode.DIGIT3, KeyCode.DIGIT4,
+            KeyCode.DIGIT5, KeyCode.DIGIT6, KeyCode.DIGIT7, KeyCode.DIGIT8, KeyCode.DIGIT9};
+    private static final int DIGITS_PER_VALUE = 12;
+    private static final long TEXT_UPDATE_TIMEOUT_MILLIS = Long.getLong("benchmark.timeout", 2000);
+    private static final int TYPED_KEYS = Integer.getInteger("benchmark.typedKeys", 2000);
+    private static final int HISTORY_LENGTH = Integer.getInteger("benchmark.historyLength", 1000);
+    private static final int BIG_VALUE_DIGITS = Integer.getInteger("benchmark.bigValueDigits", 1000);
+    private static final int BIG_VALUE_ROUNDS = Integer.getInteger("benchmark.bigValueRounds", 50);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report",
+            "build/reports/benchmark/ui-latency.json");
+
+    private static final boolean ENABLED = Boolean.getBoolean("calculator.benchmark");
+    private static final UiBenchmarkReport REPORT = new UiBenchmarkReport();
+
+    private TextField textFieldValue;
+    private AnimationTimer pulseTimer;
+
+    private final LatencyHistogram keyLatency = new LatencyHistogram();
+    private final LatencyHistogram pulses = new LatencyHistogram();
+    private long unchangedKeys;
+    private volatile CountDownLatch textChanged = new CountDownLatch(1);
+    private volatile long textChangedAt;
+    private final ChangeListener<String> textListener = (observable, oldValue, newValue) -> {
+        textChangedAt = System.nanoTime();
+        textChanged.countDown();
+    };
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        Assume.assumeTrue(ENABLED);
+        if (!"false".equals(System.getProperty("benchmark.headless"))) {
+            System.setProperty("testfx.robot", "glass");
+            System.setProperty("testfx.headless", "true");
+            System.setProperty("prism.order", "sw");
+            System.setProperty("prism.text", "t2k");
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("java.awt.headless", "true");
+        }
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        if (ENABLED) {
+            REPORT.write(Paths.get(REPORT_PATH));
+        }
+    }
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        CalculatorModel calculatorModel = new CalculatorModel();
+        Controller controller = new Controller(calculatorModel);
+
+        CalculatorScene calculatorScene = new CalculatorScene();
+        calculatorScene.setControllerListener(controller);
+
+        calculatorModel.setCalculatorObserver(calculatorScene);
+        calculatorModel.readLanguageFromConfig();
+
+        calculatorScene.initializeScene();
+
+        Stage calculatorWindow = new CalculatorWindow();
+        calculatorWindow.setScene(calculatorScene);
+        calculatorModel.readConfigInformation();
+
+        calculatorWindow.show();
+
+        pulseTimer = new AnimationTimer() {
+            private long lastPulse;
+
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) {
+                    pulses.record(now - lastPulse);
+                }
+                lastPulse = now;
+            }
+
+            @Override
+            public void stop() {
+                super.stop();
+                lastPulse = 0;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FxToolkit.hideStage();
+        release(new KeyCode[]{});
+        release(new MouseButton[]{});
+    }
+
+    @Test
+    public void typing() {
+        for (CalculatorMode mode : MODES) {
+            startScenario(mode);
+            for (int i = 0; i < TYPED_KEYS; i++) {
+                if (i % (DIGITS_PER_VALUE + 1) == DIGITS_PER_VALUE) {
+                    measure(KeyCode.ESCAPE);
+                } else {
+                    measure(DIGIT_KEYS[i % DIGIT_KEYS.length]);
+                }
+            }
+            finishScenario("typing", mode, 0, DIGITS_PER_VALUE);
+        }
+    }
+
+    //every operand goes to the history line, so late keys are measured against a very long history
+    @Test
+    public void longHistory() {
+        for (CalculatorMode mode : MODES) {
+            startScenario(mode);
+            for (int i = 0; i < HISTORY_LENGTH; i++) {
+                measure(DIGIT_KEYS[i % DIGIT_KEYS.length]);
+                measure(KeyCode.ADD);
+            }
+            measure(KeyCode.ENTER);
+            finishScenario("longHistory", mode, HISTORY_LENGTH, 1);
+        }
+    }
+
+    @Test
+    public void bigValues() {
+        for (CalculatorMode mode : MODES) {
+            startScenario(mode);
+            String left = bigValue(mode, 1);
+            String right = bigValue(mode, 2);
+            for (int i = 0; i < BIG_VALUE_ROUNDS; i++) {
+                paste(left);
+                measure(KeyCode.MULTIPLY);
+                paste(right);
+                measure(KeyCode.ENTER);
+                measure(KeyCode.ESCAPE);
+            }
+            finishScenario("bigValues", mode, 0, BIG_VALUE_DIGITS);
+        }
+    }
+
+    private void startScenario(CalculatorMode mode) {
+        selectMode(mode);
+        TextField previous = textFieldValue;
+        textFieldValue = lookup("#textFieldValue").query();
+        interact(() -> {
+            if (previous != null) {
+                previous.textProperty().removeListener(textListener);
+            }
+            textFieldValue.textProperty().addListener(textListener);
+        });
+        keyLatency.reset();
+        pulses.reset();
+        unchangedKeys = 0;
+        interact(pulseTimer::start);
+    }
+
+    private void finishScenario(String scenario, CalculatorMode mode, int historyLength, int valueLength) {
+        interact(pulseTimer::stop);
+        REPORT.add(scenario, mode, keyLatency, pulses, unchangedKeys, historyLength, valueLength);
+        measure(KeyCode.ESCAPE);
+    }
+
+    private void selectMode(CalculatorMode mode) {
+        clickOn("#menuMode");
+        switch (mode) {
+            case FRACTION:
+                clickOn("#menuItemFraction");
+                break;
+            case COMPLEX:
+                clickOn("#menuItemComplex");
+                break;
+            default:
+                clickOn("#menuItemPNumber");
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    //time from the key press to the moment the value field shows something new
+    private void measure(KeyCode... keys) {
+        CountDownLatch latch = new CountDownLatch(1);
+        textChanged = latch;
+        long pressedAt = System.nanoTime();
+        push(keys);
+        awaitTextChange(latch, pressedAt);
+    }
+
+    private void paste(String value) {
+        interact(() -> {
+            ClipboardContent content = new ClipboardContent();
+            content.putString(value);
+            Clipboard.getSystemClipboard().setContent(content);
+        });
+        measure(KeyCode.CONTROL, KeyCode.V);
+    }
+
+    private void awaitTextChange(CountDownLatch latch, long pressedAt) {
+        try {
+            if (latch.await(TEXT_UPDATE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                keyLatency.record(textChangedAt - pressedAt);
+            } else {
+                unchangedKeys++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String bigValue(CalculatorMode mode, int seed) {
+        StringBuilder digits = new StringBuilder(BIG_VALUE_DIGITS);
+        for (int i = 0; i < BIG_VALUE_DIGITS; i++) {
+            digits.append((char) ('1' + (i * 7 + seed) % 9));
+        }
+        switch (mode) {
+            case FRACTION:
+                return digits + "/" + (seed + 6);
+            case COMPLEX:
+                return digits + "+" + digits + "i";
+            default:
+                return digits.toString();
+        }
+    }
+}
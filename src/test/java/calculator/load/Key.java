@@ -0,0 +1,74 @@
+package calculator.load;
+
+import calculator.model.memory.MemoryOperation;
+import calculator.model.stats.CalculatorOperation;
+
+//one step of a key stream, a typed value is expanded into one digit click per character
+final class Key {
+
+    enum Type {
+        VALUE,
+        OPERATION,
+        EQUALS,
+        MEMORY,
+        CLEAR_ENTRY,
+        CLEAR
+    }
+
+    private final Type type;
+    private final String value;
+    private final CalculatorOperation operation;
+    private final MemoryOperation memoryOperation;
+
+    private Key(Type type, String value, CalculatorOperation operation, MemoryOperation memoryOperation) {
+        this.type = type;
+        this.value = value;
+        this.operation = operation;
+        this.memoryOperation = memoryOperation;
+    }
+
+    static Key value(String value) {
+        return new Key(Type.VALUE, value, null, null);
+    }
+
+    static Key operation(CalculatorOperation operation) {
+        return new Key(Type.OPERATION, null, operation, null);
+    }
+
+    static Key equals() {
+        return new Key(Type.EQUALS, null, null, null);
+    }
+
+    static Key memory(MemoryOperation memoryOperation) {
+        return new Key(Type.MEMORY, null, null, memoryOperation);
+    }
+
+    static Key clearEntry() {
+        return new Key(Type.CLEAR_ENTRY, null, null, null);
+    }
+
+    static Key clear() {
+        return new Key(Type.CLEAR, null, null, null);
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    CalculatorOperation getOperation() {
+        return operation;
+    }
+
+    MemoryOperation getMemoryOperation() {
+        return memoryOperation;
+    }
+
+    //number of key presses the step stands for
+    int presses() {
+        return type == Type.VALUE ? value.length() : 1;
+    }
+}
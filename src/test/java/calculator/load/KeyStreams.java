@@ -0,0 +1,152 @@
+package calculator.load;
+
+import calculator.model.journal.JournalReader;
+import calculator.model.memory.MemoryOperation;
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Number;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.codec.BinaryReader;
+import calculator.model.utils.codec.NumberCodec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class KeyStreams {
+
+    private static final CalculatorOperation[] BINARY = {CalculatorOperation.ADD, CalculatorOperation.SUBTRACT,
+            CalculatorOperation.MULTIPLY, CalculatorOperation.DIVIDE};
+    private static final CalculatorOperation[] UNARY = {CalculatorOperation.REVERSE, CalculatorOperation.NEGATE,
+            CalculatorOperation.SQUARE};
+    private static final CalculatorOperation[] COMPLEX_UNARY = {CalculatorOperation.REVERSE,
+            CalculatorOperation.NEGATE, CalculatorOperation.SQUARE, CalculatorOperation.ABS, CalculatorOperation.RAD,
+            CalculatorOperation.DEG, CalculatorOperation.SQRT};
+    private static final CalculatorOperation[] OPERATIONS = CalculatorOperation.values();
+    private static final MemoryOperation[] MEMORY_OPERATIONS = MemoryOperation.values();
+    private static final int CLEAR_EVERY_PRESSES = 500;
+
+    private KeyStreams() {
+    }
+
+    //random but typical session: values, binary operations, unary operations, runs of equals and memory keys
+    static List<Key> synthetic(CalculatorMode mode, int presses, Random random) {
+        List<Key> keys = new ArrayList<>();
+        int total = 0;
+        int sinceClear = 0;
+        while (total < presses) {
+            int before = keys.size();
+            keys.add(Key.value(randomValue(mode, random)));
+            int choice = random.nextInt(100);
+            if (choice < 60) {
+                keys.add(Key.operation(BINARY[random.nextInt(BINARY.length)]));
+                keys.add(Key.value(randomValue(mode, random)));
+                int equals = random.nextInt(4);
+                for (int i = 0; i < equals; i++) {
+                    keys.add(Key.equals());
+                }
+            } else if (choice < 70 && mode == CalculatorMode.COMPLEX) {
+                keys.add(Key.operation(CalculatorOperation.POW));
+                keys.add(Key.value(Integer.toString(1 + random.nextInt(9))));
+                keys.add(Key.equals());
+            } else if (choice < 85) {
+                CalculatorOperation[] unary = mode == CalculatorMode.COMPLEX ? COMPLEX_UNARY : UNARY;
+                keys.add(Key.operation(unary[random.nextInt(unary.length)]));
+            } else if (choice < 95) {
+                keys.add(Key.memory(MEMORY_OPERATIONS[random.nextInt(MEMORY_OPERATIONS.length)]));
+            } else {
+                keys.add(Key.clearEntry());
+            }
+            for (int i = before; i < keys.size(); i++) {
+                total += keys.get(i).presses();
+                sinceClear += keys.get(i).presses();
+            }
+            if (sinceClear >= CLEAR_EVERY_PRESSES) {
+                keys.add(Key.clear());
+                total++;
+                sinceClear = 0;
+            }
+        }
+        return keys;
+    }
+
+    private static String randomValue(CalculatorMode mode, Random random) {
+        switch (mode) {
+            case FRACTION:
+                return randomInteger(random) + "/" + (1 + random.nextInt(999));
+            case COMPLEX:
+                return randomDecimal(random) + (random.nextBoolean() ? "+" : "-") + randomDecimal(random) + "i";
+            default:
+                return randomDecimal(random);
+        }
+    }
+
+    private static String randomInteger(Random random) {
+        return Integer.toString(1 + random.nextInt(99_999));
+    }
+
+    private static String randomDecimal(Random random) {
+        return random.nextInt(4) == 0 ? randomInteger(random) + "," + random.nextInt(1000) : randomInteger(random);
+    }
+
+    //replays what a user did: every journaled value is typed again before its key
+    static List<Key> fromJournal(Path path) throws IOException {
+        JournalReader reader = JournalReader.open(path);
+        List<Key> keys = new ArrayList<>();
+        while (reader.next()) {
+            BinaryReader payload = reader.getPayload();
+            switch (reader.getType()) {
+                case OPERATOR:
+                    keys.add(Key.value(display(NumberCodec.read(payload))));
+                    keys.add(Key.operation(OPERATIONS[payload.readVarInt()]));
+                    break;
+                case EQUALS:
+                    keys.add(Key.value(display(NumberCodec.read(payload))));
+                    int times = payload.readVarInt();
+                    for (int i = 0; i < times; i++) {
+                        keys.add(Key.equals());
+                    }
+                    break;
+                case MEMORY:
+                    keys.add(Key.value(display(NumberCodec.read(payload))));
+                    keys.add(Key.memory(MEMORY_OPERATIONS[payload.readVarInt()]));
+                    break;
+                case CLEAR:
+                    keys.add(Key.clear());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return keys;
+    }
+
+    //mode of the first journaled number, P_NUMBER if there is none
+    static CalculatorMode journalMode(Path path) throws IOException {
+        JournalReader reader = JournalReader.open(path);
+        while (reader.next()) {
+            switch (reader.getType()) {
+                case OPERATOR:
+                case EQUALS:
+                case MEMORY:
+                    Number number = NumberCodec.read(reader.getPayload());
+                    if (number instanceof Complex) {
+                        return CalculatorMode.COMPLEX;
+                    } else if (number instanceof Fraction) {
+                        return CalculatorMode.FRACTION;
+                    }
+                    return CalculatorMode.P_NUMBER;
+                default:
+                    break;
+            }
+        }
+        return CalculatorMode.P_NUMBER;
+    }
+
+    private static String display(Number number) {
+        return number.toString().replace('.', ',');
+    }
+}
@@ -0,0 +1,192 @@
+package calculator.load;
+
+import calculator.controller.Controller;
+import calculator.model.metrics.LatencyHistogram;
+import calculator.model.stats.CalculatorMode;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//drives Controller with key streams against a stub observer, without JavaFX
+//the model is a set of singletons, so concurrency means several producers feeding the one compute thread
+//-Dload.modes=P_NUMBER,FRACTION,COMPLEX,BASIC -Dload.presses=20000 -Dload.rate=<presses per second, 0 is unlimited>
+//-Dload.concurrency=1 -Dload.seed=42 -Dload.journal=<file recorded with -Dcalculator.journal>
+public class LoadHarness {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final CalculatorMode mode;
+    private final double rate;
+    private final int concurrency;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final TimedCalculatorModel calculatorModel = new TimedCalculatorModel(latency);
+    private final Controller controller = new Controller(calculatorModel);
+    private final StubCalculatorObserver observer;
+
+    public LoadHarness(CalculatorMode mode, double rate, int concurrency) {
+        this.mode = mode;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        observer = new StubCalculatorObserver(mode);
+        controller.setNewObserver(observer);
+        controller.setComplexCalculatorObserver(observer);
+        controller.setFractionCalculatorObserver(observer);
+        controller.setPNumberCalculatorObserver(observer);
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+        int concurrency = Integer.getInteger("load.concurrency", 1);
+        String journal = System.getProperty("load.journal");
+        if (journal != null) {
+            Path path = Paths.get(journal);
+            CalculatorMode mode = KeyStreams.journalMode(path);
+            System.out.println(new LoadHarness(mode, rate, concurrency).run(KeyStreams.fromJournal(path)));
+            return;
+        }
+        int presses = Integer.getInteger("load.presses", 20_000);
+        long seed = Long.getLong("load.seed", 42);
+        for (String modeName : System.getProperty("load.modes", "P_NUMBER,FRACTION,COMPLEX,BASIC").split(",")) {
+            CalculatorMode mode = CalculatorMode.valueOf(modeName.trim());
+            List<Key> keys = KeyStreams.synthetic(mode, presses, new Random(seed));
+            System.out.println(new LoadHarness(mode, rate, concurrency).run(keys));
+        }
+    }
+
+    //every producer plays the whole stream
+    public LoadResult run(List<Key> keys) throws InterruptedException {
+        press(Key.clear());
+        drain();
+        latency.reset();
+
+        List<Thread> producers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] producerAllocations = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            int producer = i;
+            Thread thread = new Thread(() -> {
+                long allocated = allocatedBytes(Thread.currentThread());
+                try {
+                    start.await();
+                    play(keys);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                producerAllocations[producer] = allocatedBytes(Thread.currentThread()) - allocated;
+            }, "load-producer-" + i);
+            producers.add(thread);
+            thread.start();
+        }
+
+        Thread computeThread = calculatorModel.getComputeThread();
+        long computeAllocated = allocatedBytes(computeThread);
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        drain();
+        long elapsed = System.nanoTime() - startNanos;
+
+        long allocated = allocatedBytes(computeThread) - computeAllocated;
+        for (long producerAllocation : producerAllocations) {
+            allocated += producerAllocation;
+        }
+        long presses = latency.getCount();
+        return new LoadResult(mode, concurrency, presses, elapsed, latency, presses == 0 ? 0 : allocated / presses,
+                observer.getErrors(), calculatorModel.getCancelled(), calculatorModel.getFailed());
+    }
+
+    private void play(List<Key> keys) {
+        long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+        long planned = System.nanoTime();
+        for (Key key : keys) {
+            if (key.getType() == Key.Type.VALUE) {
+                String value = key.getValue();
+                for (int i = 1; i <= value.length(); i++) {
+                    typeAndPress(value.substring(0, i), waitFor(planned, interval));
+                    planned += interval;
+                }
+            } else {
+                press(key, waitFor(planned, interval));
+                planned += interval;
+            }
+        }
+    }
+
+    //with a rate the latency is measured from the planned press time, so a stalled engine is not hidden
+    private static long waitFor(long planned, long interval) {
+        if (interval == 0) {
+            return System.nanoTime();
+        }
+        long now = System.nanoTime();
+        if (planned > now) {
+            LockSupport.parkNanos(planned - now);
+        }
+        return planned;
+    }
+
+    private void press(Key key) {
+        press(key, System.nanoTime());
+    }
+
+    private synchronized void typeAndPress(String text, long pressedNanos) {
+        observer.type(text);
+        calculatorModel.pressed(pressedNanos);
+        controller.buttonDigitClicked();
+    }
+
+    private synchronized void press(Key key, long pressedNanos) {
+        //clear keys cancel queued work, wait for it so that every press is matched with its model step
+        if (key.getType() == Key.Type.CLEAR || key.getType() == Key.Type.CLEAR_ENTRY) {
+            drain();
+        }
+        calculatorModel.pressed(pressedNanos);
+        String value = observer.getValue();
+        switch (key.getType()) {
+            case OPERATION:
+                controller.actionButtonClicked(value, key.getOperation(), mode);
+                break;
+            case EQUALS:
+                controller.buttonEnterClicked(value, mode);
+                break;
+            case MEMORY:
+                controller.memoryButtonClicked(value, key.getMemoryOperation(), mode);
+                break;
+            case CLEAR_ENTRY:
+                controller.buttonClearEntryClicked(value, mode);
+                break;
+            case CLEAR:
+                controller.buttonGlobalClearClicked(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (calculatorModel.getOutstanding() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Model did not finish " + calculatorModel.getOutstanding() + " presses");
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    private static long allocatedBytes(Thread thread) {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return Math.max(0, ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(thread.getId()));
+        }
+        return 0;
+    }
+}
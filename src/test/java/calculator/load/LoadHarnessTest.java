@@ -0,0 +1,28 @@
+package calculator.load;
+
+import calculator.model.stats.CalculatorMode;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//short load run of the full model path, enabled with -Dcalculator.load=true
+@EnabledIfSystemProperty(named = "calculator.load", matches = "true")
+class LoadHarnessTest {
+
+    private static final int PRESSES = 5_000;
+
+    @ParameterizedTest
+    @EnumSource(CalculatorMode.class)
+    void synthetic(CalculatorMode mode) throws InterruptedException {
+        LoadResult result = new LoadHarness(mode, 0, 2).run(KeyStreams.synthetic(mode, PRESSES, new Random(42)));
+        assertTrue(result.getPresses() >= 2 * PRESSES);
+        assertTrue(result.getPressesPerSecond() > 0);
+        assertEquals(0, result.getCancelled());
+        assertEquals(0, result.getFailed());
+    }
+}
@@ -0,0 +1,72 @@
+package calculator.load;
+
+import calculator.model.metrics.LatencyHistogram;
+import calculator.model.stats.CalculatorMode;
+
+import java.util.concurrent.TimeUnit;
+
+public class LoadResult {
+
+    private static final double NANOS_IN_MICRO = 1000;
+
+    private final CalculatorMode mode;
+    private final int concurrency;
+    private final long presses;
+    private final long elapsedNanos;
+    private final LatencyHistogram latency;
+    private final long allocatedBytesPerPress;
+    private final long errors;
+    private final long cancelled;
+    private final long failed;
+
+    LoadResult(CalculatorMode mode, int concurrency, long presses, long elapsedNanos, LatencyHistogram latency,
+               long allocatedBytesPerPress, long errors, long cancelled, long failed) {
+        this.mode = mode;
+        this.concurrency = concurrency;
+        this.presses = presses;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.allocatedBytesPerPress = allocatedBytesPerPress;
+        this.errors = errors;
+        this.cancelled = cancelled;
+        this.failed = failed;
+    }
+
+    public long getPresses() {
+        return presses;
+    }
+
+    public double getPressesPerSecond() {
+        return elapsedNanos == 0 ? 0 : presses * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public double getPercentileMicros(double percentile) {
+        return latency.getPercentile(percentile) / NANOS_IN_MICRO;
+    }
+
+    public long getAllocatedBytesPerPress() {
+        return allocatedBytesPerPress;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    //model steps that threw, unlike errors the calculator shows
+    public long getFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-8s concurrency %d: %d presses, %.0f presses/s, latency us p50 %.1f p90 %.1f p99 %.1f "
+                        + "p99.9 %.1f max %.1f, %d bytes/press, %d errors, %d cancelled, %d failed",
+                mode, concurrency, presses, getPressesPerSecond(), getPercentileMicros(50), getPercentileMicros(90),
+                getPercentileMicros(99), getPercentileMicros(99.9), latency.getMax() / NANOS_IN_MICRO,
+                allocatedBytesPerPress, errors, cancelled, failed);
+    }
+}
@@ -0,0 +1,125 @@
+package calculator.load;
+
+import calculator.model.observer.CalculatorObserver;
+import calculator.model.observer.ComplexCalculatorObserver;
+import calculator.model.observer.FractionCalculatorObserver;
+import calculator.model.observer.PNumberCalculatorObserver;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
+import calculator.view.localization.Language;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+//display of the scene without JavaFX: typed digits, results and errors as the scene would show them
+class StubCalculatorObserver implements CalculatorObserver, ComplexCalculatorObserver, FractionCalculatorObserver,
+        PNumberCalculatorObserver {
+
+    private final CalculatorMode mode;
+    private final AtomicLong errors = new AtomicLong();
+    private String value;
+    private boolean needClearResult;
+
+    StubCalculatorObserver(CalculatorMode mode) {
+        this.mode = mode;
+        value = mode.getStartValue();
+    }
+
+    //the harness types whole prefixes of a value, so a result waiting to be cleared is simply replaced
+    synchronized void type(String text) {
+        needClearResult = false;
+        value = text;
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public synchronized String getValue() {
+        return value;
+    }
+
+    @Override
+    public synchronized void setResult(String result) {
+        value = result;
+    }
+
+    @Override
+    public synchronized void clearResultAfterEnteringDigit() {
+        needClearResult = true;
+    }
+
+    @Override
+    public synchronized void setErrorState(ErrorState errorState) {
+        errors.incrementAndGet();
+        value = mode.getStartValue();
+        needClearResult = true;
+    }
+
+    @Override
+    public void updateDigitButtons(List<String> buttonsText) {
+    }
+
+    @Override
+    public void updateCalculatorMode(CalculatorMode calculatorMode) {
+    }
+
+    @Override
+    public void updateLanguage(Language language) {
+    }
+
+    @Override
+    public void setBackSpaceEnabled(boolean value) {
+    }
+
+    @Override
+    public void setHistoryWindow(HistoryWindow historyWindow) {
+    }
+
+    @Override
+    public void copyValueToClipboard() {
+    }
+
+    @Override
+    public void pasteValueFromClipboard() {
+    }
+
+    @Override
+    public void disableMemoryButtons(boolean value) {
+    }
+
+    @Override
+    public void setMemorySlot(int slot) {
+    }
+
+    @Override
+    public void setBusy(boolean value) {
+    }
+
+    @Override
+    public void showGlobalHistory(List<HistoryRecord> records) {
+    }
+
+    @Override
+    public void editTapeNode(int index, String text, boolean operand) {
+    }
+
+    @Override
+    public void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState) {
+    }
+
+    @Override
+    public void setCaretToRealPart() {
+    }
+
+    @Override
+    public void setCaretToNumerator() {
+    }
+
+    @Override
+    public void setBase(int base) {
+    }
+}
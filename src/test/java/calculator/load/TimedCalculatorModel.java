@@ -0,0 +1,113 @@
+package calculator.load;
+
+import calculator.model.CalculatorModel;
+import calculator.model.memory.MemoryOperation;
+import calculator.model.metrics.LatencyHistogram;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.exceptions.ComputationCancelledException;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+//the compute thread runs model steps in submission order, so finished steps are matched with key presses by a queue
+class TimedCalculatorModel extends CalculatorModel {
+
+    private final ConcurrentLinkedQueue<Long> pressed = new ConcurrentLinkedQueue<>();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final LatencyHistogram latency;
+    private volatile Thread computeThread;
+
+    TimedCalculatorModel(LatencyHistogram latency) {
+        super(Runnable::run);
+        this.latency = latency;
+    }
+
+    //must be called in the same order as the controller receives the key presses
+    void pressed(long nanos) {
+        outstanding.incrementAndGet();
+        pressed.add(nanos);
+    }
+
+    long getOutstanding() {
+        return outstanding.get();
+    }
+
+    long getCancelled() {
+        return cancelled.get();
+    }
+
+    //steps that threw, the compute thread only logs them
+    long getFailed() {
+        return failed.get();
+    }
+
+    //known after the first finished step
+    Thread getComputeThread() {
+        return computeThread;
+    }
+
+    private void timed(Runnable step, int presses) {
+        try {
+            step.run();
+        } catch (ComputationCancelledException e) {
+            throw e;
+        } catch (RuntimeException | Error e) {
+            failed.incrementAndGet();
+            throw e;
+        } finally {
+            completed(presses);
+        }
+    }
+
+    private void completed(int presses) {
+        long now = System.nanoTime();
+        computeThread = Thread.currentThread();
+        for (int i = 0; i < presses; i++) {
+            Long start = pressed.poll();
+            if (start != null) {
+                latency.record(now - start);
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void operationPressed(String valueOnDisplay, CalculatorOperation operation, CalculatorMode calculatorMode) {
+        timed(() -> super.operationPressed(valueOnDisplay, operation, calculatorMode), 1);
+    }
+
+    @Override
+    public void equalsPressed(String valueOnDisplay, CalculatorMode calculatorMode, int times) {
+        timed(() -> super.equalsPressed(valueOnDisplay, calculatorMode, times), times);
+    }
+
+    @Override
+    public void memoryOperationPressed(String valueOnDisplay, MemoryOperation memoryOperation, CalculatorMode calculatorMode) {
+        timed(() -> super.memoryOperationPressed(valueOnDisplay, memoryOperation, calculatorMode), 1);
+    }
+
+    @Override
+    public void displayTextActionHappened() {
+        timed(super::displayTextActionHappened, 1);
+    }
+
+    @Override
+    public void clear(String valueOnDisplay) {
+        timed(() -> super.clear(valueOnDisplay), 1);
+    }
+
+    @Override
+    public void clearEntry(String valueOnDisplay, CalculatorMode calculatorMode) {
+        timed(() -> super.clearEntry(valueOnDisplay, calculatorMode), 1);
+    }
+
+    @Override
+    public void computationCancelled() {
+        super.computationCancelled();
+        cancelled.incrementAndGet();
+        completed(1);
+    }
+}
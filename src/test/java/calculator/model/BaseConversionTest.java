@@ -0,0 +1,159 @@
+package calculator.model;
+
+import calculator.model.observer.CalculatorObserver;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
+import calculator.view.localization.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BaseConversionTest {
+
+    private final ResultObserver view = new ResultObserver();
+    private final CalculatorModel calculatorModel = new CalculatorModel(Runnable::run);
+
+    @BeforeEach
+    void setUp() {
+        calculatorModel.setCalculatorObserver(view);
+        calculatorModel.setPNumberCalculatorObserver(base -> {
+        });
+    }
+
+    @Test
+    void roundTripOverEveryBaseKeepsValue() {
+        String text = "0,1";
+        int base = 10;
+        for (int newBase = 2; newBase <= 16; newBase++) {
+            calculatorModel.convertAll(text, base, newBase);
+            text = view.result;
+            base = newBase;
+        }
+        calculatorModel.convertAll(text, base, 10);
+        assertEquals("0,1", view.result);
+    }
+
+    @Test
+    void shownTextIsConvertedFromShownValue() {
+        calculatorModel.convertAll("0,1", 10, 3);
+        calculatorModel.convertAll(view.result, 3, 10);
+        assertEquals("0,1", view.result);
+    }
+
+    //the view still shows the text of the base before a conversion it skipped
+    @Test
+    void shownTextIsConvertedWhateverBaseTheViewNames() {
+        calculatorModel.convertAll("255", 10, 2);
+        calculatorModel.convertAll("255", 2, 16);
+        assertEquals("FF", view.result);
+        calculatorModel.convertAll("101", 10, 8);
+        calculatorModel.convertAll("101", 8, 16);
+        assertEquals("65", view.result);
+    }
+
+    @Test
+    void typedTextIsParsedInBaseItWasTypedIn() {
+        calculatorModel.displayTextActionHappened();
+        calculatorModel.setBase(2);
+        calculatorModel.convertAll("255", 2, 16);
+        assertEquals("FF", view.result);
+    }
+
+    @Test
+    void typedTextIsNotTakenForShownValue() {
+        calculatorModel.convertAll("2", 10, 2);
+        calculatorModel.convertAll("10", 2, 10);
+        assertEquals("2", view.result);
+        calculatorModel.displayTextActionHappened();
+        calculatorModel.convertAll("10", 10, 16);
+        assertEquals("A", view.result);
+    }
+
+    @Test
+    void typedTextIsParsedInOldBase() {
+        calculatorModel.convertAll("255", 10, 16);
+        calculatorModel.convertAll("10", 16, 10);
+        assertEquals("16", view.result);
+    }
+
+    private static class ResultObserver implements CalculatorObserver {
+
+        private String result;
+
+        @Override
+        public void updateDigitButtons(List<String> buttonsText) {
+        }
+
+        @Override
+        public void updateCalculatorMode(CalculatorMode calculatorMode) {
+        }
+
+        @Override
+        public void updateLanguage(Language language) {
+        }
+
+        @Override
+        public void setBackSpaceEnabled(boolean value) {
+        }
+
+        @Override
+        public void setResult(String result) {
+            this.result = result;
+        }
+
+        @Override
+        public void setHistoryWindow(HistoryWindow historyWindow) {
+        }
+
+        @Override
+        public void clearResultAfterEnteringDigit() {
+        }
+
+        @Override
+        public void copyValueToClipboard() {
+        }
+
+        @Override
+        public void pasteValueFromClipboard() {
+        }
+
+        @Override
+        public void setErrorState(ErrorState errorState) {
+            result = errorState.name();
+        }
+
+        @Override
+        public void disableMemoryButtons(boolean value) {
+        }
+
+        @Override
+        public void setMemorySlot(int slot) {
+        }
+
+        @Override
+        public void setBusy(boolean value) {
+        }
+
+        @Override
+        public void showGlobalHistory(List<HistoryRecord> records) {
+        }
+
+        @Override
+        public void editTapeNode(int index, String text, boolean operand) {
+        }
+
+        @Override
+        public void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState) {
+        }
+
+        @Override
+        public String getValue() {
+            return result;
+        }
+    }
+}
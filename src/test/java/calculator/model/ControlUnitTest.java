@@ -0,0 +1,45 @@
+package calculator.model;
+
+import calculator.model.memory.Memory;
+import calculator.model.memory.MemoryOperation;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ControlUnitTest {
+
+    @AfterEach
+    void tearDown() {
+        ControlUnit.INSTANCE.resetCalculator();
+        Memory.INSTANCE.memoryClearAll();
+    }
+
+    //the display may still show the value before the result, the repeat goes on from the result
+    @Test
+    void repeatedEqualsUsesRetainedResult() {
+        ControlUnit.INSTANCE.operatorPressed(real(2), CalculatorOperation.ADD);
+        assertEquals(real(5), ControlUnit.INSTANCE.equalsPressed(real(3)).getValue());
+        assertEquals(real(8), ControlUnit.INSTANCE.equalsPressed(real(3)).getValue());
+    }
+
+    @Test
+    void equalsAfterMemoryReadRepeatsOnReadValue() {
+        Memory.INSTANCE.selectBank(CalculatorMode.BASIC);
+        Memory.INSTANCE.selectSlot(0);
+        ControlUnit.INSTANCE.memoryOperationPressed(real(10), MemoryOperation.MEMORY_SAVE);
+        ControlUnit.INSTANCE.operatorPressed(real(2), CalculatorOperation.ADD);
+        ControlUnit.INSTANCE.equalsPressed(real(3));
+        ControlUnit.INSTANCE.memoryOperationPressed(real(5), MemoryOperation.MEMORY_READ);
+        assertEquals(real(13), ControlUnit.INSTANCE.equalsPressed(real(10)).getValue());
+    }
+
+    private static Real real(int value) {
+        return new Real(BigDecimal.valueOf(value));
+    }
+}
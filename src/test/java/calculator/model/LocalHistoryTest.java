@@ -0,0 +1,91 @@
+package calculator.model;
+
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.dto.HistoryWindow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static calculator.model.utils.NumberConverter.dotsToCommas;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalHistoryTest {
+
+    private static final int WINDOW_LENGTH = 44;
+
+    private final LocalHistory history = LocalHistory.INSTANCE;
+
+    @AfterEach
+    void tearDown() {
+        history.reset();
+    }
+
+    @Test
+    void shortHistoryIsShownWhole() {
+        fill(2);
+        HistoryWindow window = history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        assertEquals(whole(10), window.getText());
+        assertEquals(0, window.getStart());
+        assertFalse(window.isScrollable());
+    }
+
+    @Test
+    void everyWindowMatchesWholeHistory() {
+        fill(40);
+        String whole = whole(10);
+        assertEquals(whole.length(), history.length(10));
+        for (int end = 0; end <= whole.length() + 5; end++) {
+            HistoryWindow window = history.window(10, end, WINDOW_LENGTH);
+            assertEquals(whole.substring(window.getStart(), window.getEnd()), window.getText());
+            assertEquals(Math.min(WINDOW_LENGTH, whole.length()), window.getText().length());
+            assertTrue(window.isScrollable());
+        }
+    }
+
+    @Test
+    void changesAfterRenderingAreShown() {
+        fill(30);
+        history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        history.addUnaryOperation(CalculatorOperation.SQUARE);
+        history.addBinaryOperation(CalculatorOperation.ADD);
+        history.changeLastOperation(CalculatorOperation.MULTIPLY);
+        String whole = whole(10);
+        assertEquals(whole.substring(whole.length() - WINDOW_LENGTH),
+                history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH).getText());
+    }
+
+    @Test
+    void baseChangeRendersAgain() {
+        fill(30);
+        history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        String whole = whole(16);
+        assertEquals(whole.length(), history.length(16));
+        assertEquals(whole.substring(0, WINDOW_LENGTH), history.window(16, 0, WINDOW_LENGTH).getText());
+    }
+
+    @Test
+    void resetEmptiesWindow() {
+        fill(30);
+        history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        history.reset();
+        HistoryWindow window = history.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        assertEquals("", window.getText());
+        assertEquals(0, window.getLength());
+    }
+
+    private void fill(int operands) {
+        for (int i = 0; i < operands; i++) {
+            history.addNumber(new Real(new BigDecimal(i * 37 + ".5")));
+            history.addBinaryOperation(CalculatorOperation.ADD);
+        }
+        history.addNumber(new Real(BigDecimal.TEN));
+    }
+
+    private String whole(int base) {
+        return dotsToCommas(history.toString(base));
+    }
+}
@@ -0,0 +1,91 @@
+package calculator.model;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessorTest {
+
+    @AfterEach
+    void tearDown() {
+        Processor.INSTANCE.reset();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ADD, 1.5, 0.25, 1000", "SUBTRACT, 10, 3, 77", "MULTIPLY, 100, 1.05, 30", "DIVIDE, 1, 3, 12",
+            "MULTIPLY, 2, -1, 5", "ADD, 7, 2, 1", "MULTIPLY, 123456789.123, 1.000001, 40",
+            "ADD, 1E+99, 0.5, 3"})
+    void repeatMatchesIteration(CalculatorOperation operation, BigDecimal left, BigDecimal right, int times) {
+        Number expected = iterate(new Real(left), new Real(right), operation, times);
+        setUp(new Real(left), new Real(right), operation);
+        assertEquals(expected, Processor.INSTANCE.operationRepeat(times).getValue());
+    }
+
+    @Test
+    void repeatFraction() {
+        Fraction left = new Fraction(BigInteger.ONE, BigInteger.ONE);
+        Fraction right = new Fraction(BigInteger.valueOf(2), BigInteger.valueOf(3));
+        Number expected = iterate(left, right, CalculatorOperation.DIVIDE, 20);
+        setUp(left, right, CalculatorOperation.DIVIDE);
+        assertEquals(expected, Processor.INSTANCE.operationRepeat(20).getValue());
+    }
+
+    //complex numbers are rounded after every operation, the repeat must round as the single runs do
+    @ParameterizedTest
+    @CsvSource({"ADD, 99999999999, 0, 0.4, 0.4, 10", "SUBTRACT, 1, 2, 0.3333333, -1, 400",
+            "MULTIPLY, 1.1, 0.3, 1.05, -0.2, 30", "DIVIDE, 1, 1, 3, 1, 12", "DIVIDE, 7, 0, 1.0000001, 0, 64"})
+    void repeatComplexMatchesIteration(CalculatorOperation operation, BigDecimal leftReal, BigDecimal leftImaginary,
+                                       BigDecimal rightReal, BigDecimal rightImaginary, int times) {
+        Complex left = new Complex(leftReal, leftImaginary);
+        Complex right = new Complex(rightReal, rightImaginary);
+        Number expected = iterate(left, right, operation, times);
+        setUp(left, right, operation);
+        assertEquals(expected.toString(), Processor.INSTANCE.operationRepeat(times).getValue().toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ADD, 1, 3, 2, 7, 100", "SUBTRACT, -5, 4, 1, 9, 33", "MULTIPLY, 3, 2, 5, 4, 20",
+            "DIVIDE, 1, 1, 2, 3, 20", "DIVIDE, -7, 9, 10, 11, 5"})
+    void repeatFractionMatchesIteration(CalculatorOperation operation, long leftNumerator, long leftDenominator,
+                                       long rightNumerator, long rightDenominator, int times) {
+        Fraction left = new Fraction(BigInteger.valueOf(leftNumerator), BigInteger.valueOf(leftDenominator));
+        Fraction right = new Fraction(BigInteger.valueOf(rightNumerator), BigInteger.valueOf(rightDenominator));
+        Number expected = iterate(left, right, operation, times);
+        setUp(left, right, operation);
+        assertEquals(expected.toString(), Processor.INSTANCE.operationRepeat(times).getValue().toString());
+    }
+
+    @Test
+    void repeatDivisionByZero() {
+        setUp(new Real(BigDecimal.ONE), new Real(BigDecimal.ZERO), CalculatorOperation.DIVIDE);
+        Outcome<Number> outcome = Processor.INSTANCE.operationRepeat(3);
+        assertEquals(ErrorState.DIVISION_BY_ZERO, outcome.getErrorState());
+    }
+
+    private static Number iterate(Number left, Number right, CalculatorOperation operation, int times) {
+        setUp(left, right, operation);
+        for (int i = 0; i < times; i++) {
+            Processor.INSTANCE.operationRun();
+        }
+        return Processor.INSTANCE.getLeftResultOperand();
+    }
+
+    private static void setUp(Number left, Number right, CalculatorOperation operation) {
+        Processor.INSTANCE.setLeftResultOperand(left);
+        Processor.INSTANCE.setRightOperand(right);
+        Processor.INSTANCE.setOperation(operation);
+    }
+}
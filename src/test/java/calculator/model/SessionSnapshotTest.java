@@ -0,0 +1,97 @@
+package calculator.model;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.CalculatorState;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void sessionIsRestoredMidCalculation() {
+        ControlUnit.INSTANCE.operatorPressed(new Real(new BigDecimal("12.5")), CalculatorOperation.SQUARE);
+        ControlUnit.INSTANCE.operatorPressed(new Real(new BigDecimal("156.25")), CalculatorOperation.ADD);
+        ControlUnit.INSTANCE.enteringNewValue();
+        String history = LocalHistory.INSTANCE.toString();
+
+        byte[] bytes = SessionSnapshot.capture(CalculatorMode.BASIC, 10, "7").encode();
+        ControlUnit.INSTANCE.resetCalculator();
+
+        SessionSnapshot session = SessionSnapshot.decode(ByteBuffer.wrap(bytes));
+        assertEquals(CalculatorMode.BASIC, session.getCalculatorMode());
+        assertEquals("7", session.getDisplayText());
+        assertEquals(CalculatorState.SECOND_OPERAND_INPUT, session.getState());
+        session.restoreState();
+        session.restoreHistory();
+
+        assertEquals(history, LocalHistory.INSTANCE.toString());
+        assertEquals(new Real(new BigDecimal("163.25")),
+                ControlUnit.INSTANCE.equalsPressed(new Real(BigDecimal.valueOf(7))).getValue());
+    }
+
+    @Test
+    void numbersOfEveryTypeAreKept() {
+        Complex complex = new Complex(new BigDecimal("1.5"), new BigDecimal("-2"));
+        Fraction fraction = new Fraction(BigInteger.valueOf(3), BigInteger.valueOf(7));
+        Processor.INSTANCE.setLeftResultOperand(complex);
+        Processor.INSTANCE.setRightOperand(fraction);
+
+        byte[] bytes = SessionSnapshot.capture(CalculatorMode.COMPLEX, 10, "").encode();
+        ControlUnit.INSTANCE.resetCalculator();
+        SessionSnapshot.decode(ByteBuffer.wrap(bytes)).restoreState();
+
+        assertEquals(complex, Processor.INSTANCE.getLeftResultOperand());
+        assertEquals(fraction, Processor.INSTANCE.getRightOperand());
+        assertNull(Processor.INSTANCE.getOperation());
+    }
+
+    @Test
+    void damagedSessionIsRejected() {
+        byte[] bytes = SessionSnapshot.capture(CalculatorMode.BASIC, 10, "0").encode();
+        bytes[bytes.length / 2] ^= 1;
+
+        assertThrows(CorruptedDataException.class, () -> SessionSnapshot.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void storeSavesAndMapsSession() throws Exception {
+        Path path = directory.resolve("sessions").resolve("session");
+        SessionStore store = new SessionStore(path);
+        assertNull(store.load());
+
+        Processor.INSTANCE.setLeftResultOperand(new Real(BigDecimal.TEN));
+        store.save(SessionSnapshot.capture(CalculatorMode.BASIC, 10, "10"));
+        ControlUnit.INSTANCE.resetCalculator();
+        SessionSnapshot session = store.load();
+        assertEquals("10", session.getDisplayText());
+        session.restoreState();
+        assertEquals(new Real(BigDecimal.TEN), Processor.INSTANCE.getLeftResultOperand());
+
+        Files.write(path, new byte[]{1, 2, 3});
+        assertNull(store.load());
+    }
+}
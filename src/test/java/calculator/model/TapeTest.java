@@ -0,0 +1,121 @@
+package calculator.model;
+
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.ExpressionOperand;
+import calculator.model.utils.dto.ExpressionOperation;
+import calculator.model.utils.dto.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TapeTest {
+
+    @AfterEach
+    void tearDown() {
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void editedOperandChangesTheResult() {
+        press(1, CalculatorOperation.ADD);
+        press(2, CalculatorOperation.ADD);
+        press(3, CalculatorOperation.ADD);
+        assertTrue(Tape.isEditable());
+
+        Outcome<?> result = Tape.INSTANCE.replace(2, new ExpressionOperand(real(5)));
+        assertEquals(real(9), result.getValue());
+        assertEquals(real(9), Processor.INSTANCE.getLeftResultOperand());
+        assertEquals(CalculatorOperation.ADD, Processor.INSTANCE.getOperation());
+        assertEquals(real(14), ControlUnit.INSTANCE.equalsPressed(real(5)).getValue());
+    }
+
+    @Test
+    void editedOperationChangesTheResult() {
+        press(4, CalculatorOperation.ADD);
+        press(2, CalculatorOperation.SUBTRACT);
+        press(3, CalculatorOperation.ADD);
+        String history = LocalHistory.INSTANCE.toString();
+
+        Outcome<?> result = Tape.INSTANCE.replace(1, new ExpressionOperation(CalculatorOperation.MULTIPLY));
+        assertEquals(real(5), result.getValue());
+        assertEquals(history.replaceFirst("\\+", CalculatorOperation.MULTIPLY.getMathSign()),
+                LocalHistory.INSTANCE.toString());
+    }
+
+    @Test
+    void unaryOperationsOfAnOperandAreKept() {
+        press(1, CalculatorOperation.ADD);
+        ControlUnit.INSTANCE.enteringNewValue();
+        ControlUnit.INSTANCE.operatorPressed(real(3), CalculatorOperation.SQUARE);
+        ControlUnit.INSTANCE.operatorPressed(real(9), CalculatorOperation.ADD);
+
+        ExpressionOperand operand = new ExpressionOperand(real(4)).withUnaryOperation(CalculatorOperation.SQUARE);
+        assertEquals(real(17), Tape.INSTANCE.replace(2, operand).getValue());
+    }
+
+    @Test
+    void longTapeIsRecomputedFromTheEdit() {
+        int count = 5000;
+        for (int i = 1; i <= count; i++) {
+            press(i, CalculatorOperation.ADD);
+        }
+        long sum = (long) count * (count + 1) / 2;
+        assertEquals(real(sum - 1), Tape.INSTANCE.replace(0, new ExpressionOperand(real(0))).getValue());
+
+        press(1, CalculatorOperation.ADD);
+        int last = 2 * count;
+        assertEquals(real(sum + 1), Tape.INSTANCE.replace(last, new ExpressionOperand(real(2))).getValue());
+        assertEquals(real(sum - 3),
+                Tape.INSTANCE.replace(last - 1, new ExpressionOperation(CalculatorOperation.SUBTRACT)).getValue());
+        assertEquals(real(sum + 1), Tape.INSTANCE.replace(last - 1, new ExpressionOperation(CalculatorOperation.ADD))
+                .getValue());
+    }
+
+    @Test
+    void failedEditLeavesTheTape() {
+        press(8, CalculatorOperation.DIVIDE);
+        press(2, CalculatorOperation.ADD);
+        String history = LocalHistory.INSTANCE.toString();
+
+        Outcome<?> result = Tape.INSTANCE.replace(2, new ExpressionOperand(real(0)));
+        assertTrue(result.isFailure());
+        assertEquals(ErrorState.DIVISION_BY_ZERO, result.getErrorState());
+        assertEquals(history, LocalHistory.INSTANCE.toString());
+        assertEquals(real(4), Tape.INSTANCE.replace(2, new ExpressionOperand(real(2))).getValue());
+    }
+
+    //the recompute has run over the operands, they are put back for the next press
+    @Test
+    void failedEditKeepsTheOperands() {
+        press(8, CalculatorOperation.DIVIDE);
+        press(2, CalculatorOperation.ADD);
+
+        assertTrue(ControlUnit.INSTANCE.tapeOperandEdited(2, real(0)).isFailure());
+        assertEquals(real(4), Processor.INSTANCE.getLeftResultOperand());
+        assertEquals(CalculatorOperation.ADD, Processor.INSTANCE.getOperation());
+        assertEquals(real(5), ControlUnit.INSTANCE.equalsPressed(real(1)).getValue());
+    }
+
+    @Test
+    void tapeIsNotEditedWhileAnOperandIsLast() {
+        ControlUnit.INSTANCE.operatorPressed(real(3), CalculatorOperation.SQUARE);
+
+        assertFalse(Tape.isEditable());
+    }
+
+    private static void press(long value, CalculatorOperation operation) {
+        ControlUnit.INSTANCE.operatorPressed(real(value), operation);
+        ControlUnit.INSTANCE.enteringNewValue();
+    }
+
+    private static Real real(long value) {
+        return new Real(BigDecimal.valueOf(value));
+    }
+}
@@ -0,0 +1,90 @@
+package calculator.model;
+
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.stats.CalculatorState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static calculator.model.utils.NumberConverter.dotsToCommas;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UndoHistoryTest {
+
+    private static final int WINDOW_LENGTH = 44;
+
+    private final UndoHistory undoHistory = new UndoHistory();
+
+    @AfterEach
+    void tearDown() {
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void stepsAreUndoneAndRedone() {
+        undoHistory.record(UndoHistory.State.capture("3", 10));
+        ControlUnit.INSTANCE.operatorPressed(real(3), CalculatorOperation.ADD);
+        ControlUnit.INSTANCE.enteringNewValue();
+        undoHistory.record(UndoHistory.State.capture("4", 10));
+        ControlUnit.INSTANCE.operatorPressed(real(4), CalculatorOperation.SQUARE);
+        String historyBefore = LocalHistory.INSTANCE.toString();
+
+        UndoHistory.State undone = undoHistory.undo(UndoHistory.State.capture("16", 10));
+        undone.restore();
+        assertEquals("4", undone.getDisplayText());
+        assertEquals(CalculatorState.SECOND_OPERAND_INPUT, ControlUnit.INSTANCE.getState());
+        assertEquals(real(3) + "+", LocalHistory.INSTANCE.toString());
+
+        UndoHistory.State redone = undoHistory.redo(UndoHistory.State.capture("4", 10));
+        redone.restore();
+        assertEquals("16", redone.getDisplayText());
+        assertEquals(historyBefore, LocalHistory.INSTANCE.toString());
+        assertEquals(real(19), ControlUnit.INSTANCE.equalsPressed(real(16)).getValue());
+    }
+
+    @Test
+    void newStepCanNotBeRedoneOver() {
+        undoHistory.record(UndoHistory.State.capture("1", 10));
+        assertNotNull(undoHistory.undo(UndoHistory.State.capture("2", 10)));
+        undoHistory.record(UndoHistory.State.capture("1", 10));
+
+        assertNull(undoHistory.redo(UndoHistory.State.capture("3", 10)));
+    }
+
+    @Test
+    void oldestStatesAreDropped() {
+        for (int i = 0; i < UndoHistory.CAPACITY + 10; i++) {
+            undoHistory.record(UndoHistory.State.capture(Integer.toString(i), 10));
+        }
+        for (int i = UndoHistory.CAPACITY + 9; i >= 10; i--) {
+            assertEquals(Integer.toString(i), undoHistory.undo(UndoHistory.State.capture("", 10)).getDisplayText());
+        }
+        assertNull(undoHistory.undo(UndoHistory.State.capture("", 10)));
+    }
+
+    @Test
+    void renderedHistoryFollowsUndo() {
+        for (int i = 0; i < 30; i++) {
+            ControlUnit.INSTANCE.operatorPressed(real(i), CalculatorOperation.ADD);
+            ControlUnit.INSTANCE.enteringNewValue();
+        }
+        String whole = LocalHistory.INSTANCE.toString(10);
+        LocalHistory.INSTANCE.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+        undoHistory.record(UndoHistory.State.capture("7", 10));
+        ControlUnit.INSTANCE.operatorPressed(real(7), CalculatorOperation.SQUARE);
+        ControlUnit.INSTANCE.operatorPressed(real(49), CalculatorOperation.MULTIPLY);
+        LocalHistory.INSTANCE.window(10, Integer.MAX_VALUE, WINDOW_LENGTH);
+
+        undoHistory.undo(UndoHistory.State.capture("49", 10)).restore();
+        assertEquals(dotsToCommas(whole).substring(whole.length() - WINDOW_LENGTH),
+                LocalHistory.INSTANCE.window(10, Integer.MAX_VALUE, WINDOW_LENGTH).getText());
+    }
+
+    private static Real real(int value) {
+        return new Real(BigDecimal.valueOf(value));
+    }
+}
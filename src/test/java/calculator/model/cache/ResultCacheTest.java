@@ -0,0 +1,61 @@
+package calculator.model.cache;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        ResultCache.INSTANCE.clear();
+    }
+
+    @Test
+    void expensiveResultIsCached() {
+        Complex operand = new Complex(BigDecimal.valueOf(3), BigDecimal.valueOf(4));
+        Complex result = new Complex(BigDecimal.valueOf(5), BigDecimal.ZERO);
+        long hits = ResultCache.INSTANCE.getStats().hitCount();
+
+        assertNull(ResultCache.INSTANCE.get(CalculatorOperation.ABS, operand, null));
+        ResultCache.INSTANCE.put(CalculatorOperation.ABS, operand, null, result);
+
+        assertEquals(result, ResultCache.INSTANCE.get(CalculatorOperation.ABS,
+                new Complex(BigDecimal.valueOf(3), BigDecimal.valueOf(4)), null));
+        assertEquals(hits + 1, ResultCache.INSTANCE.getStats().hitCount());
+    }
+
+    @Test
+    void unaryKeyIgnoresRightOperand() {
+        Real operand = new Real(BigDecimal.valueOf(4));
+        ResultCache.INSTANCE.put(CalculatorOperation.REVERSE, operand, new Real(BigDecimal.ONE),
+                new Real(BigDecimal.valueOf(0.25)));
+        assertEquals(new Real(BigDecimal.valueOf(0.25)),
+                ResultCache.INSTANCE.get(CalculatorOperation.REVERSE, operand, new Real(BigDecimal.TEN)));
+    }
+
+    @Test
+    void binaryKeyUsesRightOperand() {
+        Real left = new Real(BigDecimal.ONE);
+        ResultCache.INSTANCE.put(CalculatorOperation.DIVIDE, left, new Real(BigDecimal.valueOf(4)),
+                new Real(BigDecimal.valueOf(0.25)));
+        assertNull(ResultCache.INSTANCE.get(CalculatorOperation.DIVIDE, left, new Real(BigDecimal.valueOf(5))));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CalculatorOperation.class, names = {"ADD", "SUBTRACT", "NEGATE"})
+    void cheapResultIsNotCached(CalculatorOperation operation) {
+        Real operand = new Real(BigDecimal.ONE);
+        ResultCache.INSTANCE.put(operation, operand, operand, operand);
+        assertNull(ResultCache.INSTANCE.get(operation, operand, operand));
+    }
+}
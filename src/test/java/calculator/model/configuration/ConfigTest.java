@@ -0,0 +1,110 @@
+package calculator.model.configuration;
+
+import calculator.model.stats.CalculatorBudget;
+import calculator.model.stats.CalculatorPrecision;
+import calculator.view.localization.Language;
+import calculator.view.localization.LanguageProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.prefs.Preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfigTest {
+
+    private static final CalculatorPrecision PRECISION = CalculatorPrecision.SCIENTIFIC_DIGITS_REAL;
+    private static final String LANGUAGES_RESOURCE = "/lang/languages.properties";
+
+    private final Preferences preferences = new MemoryPreferences();
+    private Preferences userPreferences;
+    private int initialDigits;
+    private final List<ConfigSnapshot[]> changes = new ArrayList<>();
+    private final ConfigListener listener = (oldSnapshot, newSnapshot) ->
+            changes.add(new ConfigSnapshot[]{oldSnapshot, newSnapshot});
+
+    @BeforeEach
+    void setUp() {
+        userPreferences = Config.usePreferences(preferences);
+        initialDigits = Config.getPrecision(PRECISION);
+        Config.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Config.removeListener(listener);
+        Config.usePreferences(userPreferences);
+    }
+
+    @Test
+    void changeIsVisibleImmediately() {
+        Config.setPrecision(PRECISION, initialDigits + 1);
+
+        assertEquals(initialDigits + 1, Config.getPrecision(PRECISION));
+        assertEquals(initialDigits + 1, Config.getSnapshot().getPrecision(PRECISION));
+    }
+
+    @Test
+    void listenerReceivesOldAndNewSnapshot() {
+        ConfigSnapshot before = Config.getSnapshot();
+        Config.setPrecision(PRECISION, initialDigits + 2);
+
+        assertEquals(1, changes.size());
+        assertSame(before, changes.get(0)[0]);
+        assertSame(Config.getSnapshot(), changes.get(0)[1]);
+        assertEquals(initialDigits, changes.get(0)[0].getPrecision(PRECISION));
+        assertEquals(initialDigits + 2, changes.get(0)[1].getPrecision(PRECISION));
+    }
+
+    @Test
+    void otherValuesAreKeptByChange() {
+        ConfigSnapshot before = Config.getSnapshot();
+        Config.setPrecision(PRECISION, initialDigits + 3);
+
+        ConfigSnapshot after = Config.getSnapshot();
+        assertEquals(before.getLanguage(), after.getLanguage());
+        assertEquals(before.getCalculatorMode(), after.getCalculatorMode());
+        for (CalculatorBudget budget : CalculatorBudget.values()) {
+            assertEquals(before.getTimeBudgetMillis(budget), after.getTimeBudgetMillis(budget));
+            assertEquals(before.getDigitsBudget(budget), after.getDigitsBudget(budget));
+        }
+    }
+
+    @Test
+    void flushWritesPendingChanges() {
+        Config.setPrecision(PRECISION, initialDigits + 4);
+        Config.flush();
+
+        assertEquals(initialDigits + 4, preferences.getInt(PRECISION.getConfigKey(), initialDigits));
+    }
+
+    //the startup reads the language from the configuration before any localization class is loaded
+    //the classes are loaded anew, in this JVM the other tests have loaded them already
+    @Test
+    void configIsLoadedBeforeTheLanguages() throws Exception {
+        String resource = LanguageProperties.class.getResource(LANGUAGES_RESOURCE).toString();
+        URL[] classPath = {
+                Config.class.getProtectionDomain().getCodeSource().getLocation(),
+                new URL(resource.substring(0, resource.length() - LANGUAGES_RESOURCE.length() + 1)),
+                LoggerFactory.class.getProtectionDomain().getCodeSource().getLocation()
+        };
+        try (URLClassLoader loader = new URLClassLoader(classPath, ClassLoader.getSystemClassLoader().getParent())) {
+            Class<?> config = Class.forName(Config.class.getName(), true, loader);
+            Object language = config.getMethod("getLanguage").invoke(null);
+            assertEquals(Language.class.getName(), language.getClass().getName());
+        }
+    }
+
+    @Test
+    void arithmeticPrecisionCanNotBeConfigured() {
+        assertThrows(IllegalArgumentException.class, () -> Config.setPrecision(CalculatorPrecision.REAL_PRECISION, 10));
+    }
+}
@@ -0,0 +1,144 @@
+package calculator.model.history;
+
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.utils.dto.HistoryRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GlobalHistoryTest {
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordIsReadBack() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        Fraction result = new Fraction(BigInteger.valueOf(5), BigInteger.valueOf(6));
+        history.append(1000, CalculatorMode.FRACTION, "1/2+1/3", "5/6", result);
+
+        HistoryRecord record = history.read(0);
+        assertEquals(1000, record.getTimeMillis());
+        assertEquals(CalculatorMode.FRACTION, record.getCalculatorMode());
+        assertEquals("1/2+1/3", record.getExpression());
+        assertEquals("5/6", record.getResultText());
+        assertEquals(result, record.getResult());
+        assertNull(history.read(1));
+        history.close();
+    }
+
+    @Test
+    void searchFiltersByModeDayAndResult() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        long today = System.currentTimeMillis();
+        long yesterday = today - DAY_MILLIS;
+        for (int i = 0; i < 100; i++) {
+            history.append(i % 2 == 0 ? today : yesterday, i % 3 == 0 ? CalculatorMode.P_NUMBER : CalculatorMode.BASIC,
+                    i + "+0", Integer.toString(i % 10), new Real(BigDecimal.valueOf(i % 10)));
+        }
+
+        List<HistoryRecord> latest = history.search(CalculatorMode.BASIC, null, null, 5);
+        assertEquals(5, latest.size());
+        assertEquals(98, latest.get(0).getIndex());
+        assertEquals(97, latest.get(1).getIndex());
+
+        List<HistoryRecord> sevens = history.search(CalculatorMode.BASIC, null, "7", 100);
+        sevens.forEach(record -> assertEquals("7", record.getResultText()));
+        assertEquals(7, sevens.size());
+
+        LocalDate day = LocalDate.now(ZoneId.systemDefault());
+        List<HistoryRecord> ofToday = history.search(null, day, null, 100);
+        ofToday.forEach(record -> assertTrue(record.getIndex() % 2 == 0));
+        assertEquals(50, ofToday.size());
+        history.close();
+    }
+
+    @Test
+    void recordsSurviveReopening() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        history.append(1, CalculatorMode.BASIC, "2×2", "4", new Real(BigDecimal.valueOf(4)));
+        history.append(2, CalculatorMode.BASIC, "3×3", "9", new Real(BigDecimal.valueOf(9)));
+        history.close();
+
+        GlobalHistory reopened = new GlobalHistory(directory);
+        assertEquals(2, reopened.size());
+        reopened.append(3, CalculatorMode.BASIC, "4×4", "16", new Real(BigDecimal.valueOf(16)));
+        assertEquals("9", reopened.read(1).getResultText());
+        assertEquals("16", reopened.read(2).getResultText());
+        reopened.close();
+    }
+
+    @Test
+    void recordMissingInIndexIsRecovered() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        history.append(1, CalculatorMode.BASIC, "1+1", "2", new Real(BigDecimal.valueOf(2)));
+        history.append(2, CalculatorMode.BASIC, "2+2", "4", new Real(BigDecimal.valueOf(4)));
+        history.close();
+        try (FileChannel index = FileChannel.open(directory.resolve(GlobalHistory.INDEX_FILE_NAME),
+                StandardOpenOption.WRITE)) {
+            index.write(ByteBuffer.allocate(16), 16);
+        }
+
+        GlobalHistory recovered = new GlobalHistory(directory);
+        assertEquals(2, recovered.size());
+        assertEquals(1, recovered.search(null, null, "4", 10).size());
+        recovered.close();
+    }
+
+    @Test
+    void damagedRecordIsClearedToSegmentEnd() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        history.append(1, CalculatorMode.BASIC, "1+1", "2", new Real(BigDecimal.valueOf(2)));
+        history.close();
+        Path segmentPath = directory.resolve("00000000.log");
+        int end;
+        try (FileChannel segment = FileChannel.open(segmentPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(1);
+            segment.read(length, GlobalHistory.HEADER_SIZE);
+            end = GlobalHistory.HEADER_SIZE + 1 + length.get(0);
+            //a record of an unknown mode with a zero byte in the middle
+            byte[] damaged = new byte[64];
+            Arrays.fill(damaged, (byte) 7);
+            damaged[0] = 60;
+            damaged[2] = 9;
+            damaged[3] = 0;
+            segment.write(ByteBuffer.wrap(damaged), end);
+        }
+
+        new GlobalHistory(directory).close();
+        try (FileChannel segment = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            ByteBuffer rest = ByteBuffer.allocate(64);
+            segment.read(rest, end);
+            assertTrue(IntStream.range(0, 64).allMatch(i -> rest.get(i) == 0));
+        }
+    }
+
+    @Test
+    void historyUsedElsewhereIsNotOpened() throws IOException {
+        GlobalHistory history = new GlobalHistory(directory);
+        assertThrows(IOException.class, () -> new GlobalHistory(directory));
+        history.close();
+        new GlobalHistory(directory).close();
+    }
+}
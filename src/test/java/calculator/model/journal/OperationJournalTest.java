@@ -0,0 +1,167 @@
+package calculator.model.journal;
+
+import calculator.model.ControlUnit;
+import calculator.model.memory.Memory;
+import calculator.model.memory.MemoryOperation;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.CalculatorOperation;
+import calculator.model.utils.exceptions.CorruptedDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay() throws IOException {
+        Path path = directory.resolve("journal");
+        OperationJournal journal = new OperationJournal(path);
+        journal.cleared();
+        journal.operatorPressed(new Real(BigDecimal.valueOf(2)), CalculatorOperation.MULTIPLY);
+        journal.digitEntered();
+        journal.equalsPressed(new Real(BigDecimal.valueOf(3)), 3);
+        journal.baseChanged(16);
+        journal.close();
+
+        assertEquals(5, JournalReplayer.replay(path));
+        assertEquals(new Real(BigDecimal.valueOf(54)), ControlUnit.INSTANCE.getResultValue());
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void undoneEqualsIsReplayedUndone() throws IOException {
+        Path path = journalWithUndoneEquals();
+        OperationJournal journal = new OperationJournal(path);
+        journal.equalsPressed(new Real(BigDecimal.TEN), 1);
+        journal.close();
+
+        assertEquals(8, JournalReplayer.replay(path));
+        assertEquals(new Real(BigDecimal.valueOf(12)), ControlUnit.INSTANCE.getResultValue());
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void redoneEqualsIsRepeated() throws IOException {
+        Path path = journalWithUndoneEquals();
+        OperationJournal journal = new OperationJournal(path);
+        journal.redone();
+        journal.equalsPressed(new Real(BigDecimal.TEN), 1);
+        journal.close();
+
+        assertEquals(9, JournalReplayer.replay(path));
+        assertEquals(new Real(BigDecimal.valueOf(8)), ControlUnit.INSTANCE.getResultValue());
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    //2 + 3 = 5, then the equals is undone
+    private Path journalWithUndoneEquals() throws IOException {
+        Path path = directory.resolve("journal");
+        OperationJournal journal = new OperationJournal(path);
+        journal.cleared();
+        journal.undoStepRecorded();
+        journal.operatorPressed(new Real(BigDecimal.valueOf(2)), CalculatorOperation.ADD);
+        journal.digitEntered();
+        journal.undoStepRecorded();
+        journal.equalsPressed(new Real(BigDecimal.valueOf(3)), 1);
+        journal.undone();
+        journal.close();
+        return path;
+    }
+
+    @Test
+    void tapeEditsAreReplayed() throws IOException {
+        Path path = directory.resolve("journal");
+        OperationJournal journal = new OperationJournal(path);
+        journal.cleared();
+        journal.operatorPressed(new Real(BigDecimal.valueOf(4)), CalculatorOperation.ADD);
+        journal.digitEntered();
+        journal.operatorPressed(new Real(BigDecimal.valueOf(2)), CalculatorOperation.ADD);
+        journal.tapeOperandEdited(0, new Real(BigDecimal.valueOf(6)));
+        journal.tapeOperationEdited(1, CalculatorOperation.MULTIPLY);
+        journal.digitEntered();
+        journal.equalsPressed(new Real(BigDecimal.ONE), 1);
+        journal.close();
+
+        assertEquals(8, JournalReplayer.replay(path));
+        assertEquals(new Real(BigDecimal.valueOf(13)), ControlUnit.INSTANCE.getResultValue());
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    //numbers of other modes are kept in other banks, so replaying them does not mix the number types
+    @Test
+    void memoryRecordsAreReplayedIntoTheirBanks() throws IOException {
+        Path path = directory.resolve("journal");
+        OperationJournal journal = new OperationJournal(path);
+        journal.memoryOperationPressed(new Real(BigDecimal.valueOf(5)), MemoryOperation.MEMORY_SAVE,
+                CalculatorMode.BASIC, 1);
+        journal.memoryOperationPressed(new Fraction(BigInteger.ONE, BigInteger.valueOf(2)), MemoryOperation.MEMORY_SAVE,
+                CalculatorMode.FRACTION, 1);
+        journal.memoryOperationPressed(new Real(BigDecimal.ONE), MemoryOperation.MEMORY_ADD, CalculatorMode.BASIC, 1);
+        journal.close();
+
+        assertEquals(3, JournalReplayer.replay(path));
+        Memory.INSTANCE.selectBank(CalculatorMode.BASIC);
+        Memory.INSTANCE.selectSlot(1);
+        assertEquals(new Real(BigDecimal.valueOf(6)), Memory.INSTANCE.memoryRead());
+        Memory.INSTANCE.memoryClearAll();
+        Memory.INSTANCE.selectSlot(0);
+        ControlUnit.INSTANCE.resetCalculator();
+    }
+
+    @Test
+    void journalOfAnotherVersionIsRejected() throws IOException {
+        Path path = directory.resolve("journal");
+        ByteBuffer header = ByteBuffer.allocate(OperationJournal.HEADER_SIZE);
+        header.putInt(OperationJournal.MAGIC).put((byte) (OperationJournal.VERSION - 1)).flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(header);
+        }
+
+        assertThrows(CorruptedDataException.class, () -> JournalReplayer.replay(path));
+        assertThrows(CorruptedDataException.class, () -> new OperationJournal(path));
+    }
+
+    @Test
+    void tornRecordIsCutOffOnReopen() throws IOException {
+        Path path = directory.resolve("journal");
+        OperationJournal journal = new OperationJournal(path);
+        journal.operatorPressed(new Real(BigDecimal.ONE), CalculatorOperation.ADD);
+        journal.equalsPressed(new Real(BigDecimal.TEN), 1);
+        journal.close();
+
+        JournalReader reader = JournalReader.open(path);
+        assertTrue(reader.next());
+        int firstRecordEnd = reader.getEnd();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(firstRecordEnd + 3);
+        }
+
+        journal = new OperationJournal(path);
+        journal.cleared();
+        journal.close();
+
+        reader = JournalReader.open(path);
+        assertTrue(reader.next());
+        assertEquals(JournalRecordType.OPERATOR, reader.getType());
+        assertTrue(reader.next());
+        assertEquals(JournalRecordType.CLEAR, reader.getType());
+        assertFalse(reader.next());
+    }
+}
@@ -0,0 +1,91 @@
+package calculator.model.memory;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void slotsAreKeptApartPerMode() throws IOException {
+        Memory<Real> memory = new Memory<>(directory.resolve("memory"));
+        memory.selectBank(CalculatorMode.BASIC);
+        memory.memorySave(new Real(BigDecimal.ONE));
+        memory.selectSlot(2);
+        memory.memorySave(new Real(BigDecimal.TEN));
+
+        memory.selectBank(CalculatorMode.FRACTION);
+        assertNull(memory.memoryRead());
+        memory.selectBank(CalculatorMode.BASIC);
+        assertEquals(new Real(BigDecimal.TEN), memory.memoryRead());
+        memory.selectSlot(0);
+        assertEquals(new Real(BigDecimal.ONE), memory.memoryRead());
+        memory.selectSlot(1);
+        assertNull(memory.memoryRead());
+        assertThrows(IllegalArgumentException.class, () -> memory.selectSlot(Memory.SLOT_COUNT));
+    }
+
+    @Test
+    void addAndSubtractAreExact() throws IOException {
+        Memory<Fraction> memory = new Memory<>(directory.resolve("memory"));
+        memory.selectBank(CalculatorMode.FRACTION);
+        memory.memorySubtract(new Fraction(BigInteger.ONE, BigInteger.valueOf(3)));
+        assertEquals(new Fraction(BigInteger.valueOf(-1), BigInteger.valueOf(3)), memory.memoryRead());
+        memory.memoryAdd(new Fraction(BigInteger.ONE, BigInteger.valueOf(2)));
+        assertEquals(new Fraction(BigInteger.ONE, BigInteger.valueOf(6)), memory.memoryRead());
+        memory.memoryClear();
+        assertNull(memory.memoryRead());
+    }
+
+    @Test
+    void slotsSurviveReopening() throws IOException {
+        Path path = directory.resolve("memory");
+        Memory memory = new Memory(path);
+        Complex complex = new Complex(new BigDecimal("1.25"), new BigDecimal("-3"));
+        memory.selectBank(CalculatorMode.COMPLEX);
+        memory.selectSlot(3);
+        memory.memorySave(complex);
+        memory.selectBank(CalculatorMode.BASIC);
+        memory.memorySave(new Real(new BigDecimal("7.5")));
+
+        Memory reopened = new Memory(path);
+        reopened.selectBank(CalculatorMode.COMPLEX);
+        reopened.selectSlot(3);
+        assertEquals(complex, reopened.memoryRead());
+        reopened.selectBank(CalculatorMode.BASIC);
+        assertEquals(new Real(new BigDecimal("7.5")), reopened.memoryRead());
+
+        reopened.memoryClearAll();
+        Memory cleared = new Memory(path);
+        cleared.selectBank(CalculatorMode.BASIC);
+        cleared.selectSlot(3);
+        assertNull(cleared.memoryRead());
+    }
+
+    @Test
+    void foreignFileIsStartedAnew() throws IOException {
+        Path path = directory.resolve("memory");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        Memory memory = new Memory(path);
+        assertNull(memory.memoryRead());
+        memory.memorySave(new Real(BigDecimal.ONE));
+        assertEquals(new Real(BigDecimal.ONE), new Memory(path).memoryRead());
+    }
+}
@@ -0,0 +1,44 @@
+package calculator.model.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE})
+    void bucketContainsValue(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+        assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value);
+        assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+        assertTrue(LatencyHistogram.highestValueOf(bucket) - LatencyHistogram.lowestValueOf(bucket)
+                <= LatencyHistogram.lowestValueOf(bucket) / 16);
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 1e-9);
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / 16.0);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
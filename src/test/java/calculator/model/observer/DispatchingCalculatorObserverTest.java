@@ -0,0 +1,181 @@
+package calculator.model.observer;
+
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.HistoryRecord;
+import calculator.model.utils.dto.HistoryWindow;
+import calculator.view.localization.Language;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DispatchingCalculatorObserverTest {
+
+    private final Queue<Runnable> viewTasks = new ArrayDeque<>();
+    private final RecordingObserver view = new RecordingObserver();
+    private final InputSequence inputSequence = new InputSequence();
+    private final DispatchingCalculatorObserver observer = new DispatchingCalculatorObserver(view, viewTasks::add,
+            inputSequence);
+
+    @Test
+    void updatesOfOneBatchAreAppliedOnce() {
+        observer.setBackSpaceEnabled(false);
+        observer.setResult("1");
+        observer.setHistoryWindow(new HistoryWindow("1 +", 0, 3, 3));
+        observer.setResult("12");
+        observer.setBackSpaceEnabled(true);
+        observer.clearResultAfterEnteringDigit();
+
+        assertEquals(1, viewTasks.size());
+        runViewTasks();
+        assertEquals(Arrays.asList("backSpace true", "result 12", "history 1 +", "clearResult"), view.calls);
+    }
+
+    @Test
+    void resultAfterErrorIsShownOverIt() {
+        observer.setResult("1");
+        observer.setErrorState(ErrorState.OVERFLOW);
+        observer.setResult("0");
+        runViewTasks();
+        assertEquals(Arrays.asList("error OVERFLOW", "result 0"), view.calls);
+    }
+
+    @Test
+    void viewTaskSeesPendingState() {
+        observer.setResult("5");
+        observer.copyValueToClipboard();
+        runViewTasks();
+        assertEquals(Arrays.asList("result 5", "copy"), view.calls);
+    }
+
+    @Test
+    void resultOfKeyPressBeforeTypedDigitIsDropped() {
+        inputSequence.answering(inputSequence.current());
+        inputSequence.typed();
+        observer.setResult("1");
+        observer.setHistoryWindow(new HistoryWindow("1 +", 0, 3, 3));
+        observer.clearResultAfterEnteringDigit();
+        runViewTasks();
+        assertEquals(Arrays.asList("history 1 +"), view.calls);
+    }
+
+    @Test
+    void resultOfKeyPressAfterTypedDigitIsShown() {
+        inputSequence.typed();
+        inputSequence.answering(inputSequence.current());
+        observer.setResult("3");
+        observer.clearResultAfterEnteringDigit();
+        runViewTasks();
+        assertEquals(Arrays.asList("result 3", "clearResult"), view.calls);
+    }
+
+    @Test
+    void nextBatchIsScheduledAgain() {
+        observer.setBusy(true);
+        runViewTasks();
+        observer.setBusy(false);
+        runViewTasks();
+        assertEquals(Arrays.asList("busy true", "busy false"), view.calls);
+    }
+
+    private void runViewTasks() {
+        Runnable task;
+        while ((task = viewTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static class RecordingObserver implements CalculatorObserver {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void updateDigitButtons(List<String> buttonsText) {
+            calls.add("digits " + buttonsText);
+        }
+
+        @Override
+        public void updateCalculatorMode(CalculatorMode calculatorMode) {
+            calls.add("mode " + calculatorMode);
+        }
+
+        @Override
+        public void updateLanguage(Language language) {
+            calls.add("language " + language);
+        }
+
+        @Override
+        public void setBackSpaceEnabled(boolean value) {
+            calls.add("backSpace " + value);
+        }
+
+        @Override
+        public void setResult(String result) {
+            calls.add("result " + result);
+        }
+
+        @Override
+        public void setHistoryWindow(HistoryWindow historyWindow) {
+            calls.add("history " + historyWindow.getText());
+        }
+
+        @Override
+        public void clearResultAfterEnteringDigit() {
+            calls.add("clearResult");
+        }
+
+        @Override
+        public void copyValueToClipboard() {
+            calls.add("copy");
+        }
+
+        @Override
+        public void pasteValueFromClipboard() {
+            calls.add("paste");
+        }
+
+        @Override
+        public void setErrorState(ErrorState errorState) {
+            calls.add("error " + errorState);
+        }
+
+        @Override
+        public void disableMemoryButtons(boolean value) {
+            calls.add("memory " + value);
+        }
+
+        @Override
+        public void setMemorySlot(int slot) {
+            calls.add("memory slot " + slot);
+        }
+
+        @Override
+        public void setBusy(boolean value) {
+            calls.add("busy " + value);
+        }
+
+        @Override
+        public void showGlobalHistory(List<HistoryRecord> records) {
+            calls.add("global history " + records.size());
+        }
+
+        @Override
+        public void editTapeNode(int index, String text, boolean operand) {
+        }
+
+        @Override
+        public void tapeEditFailed(int index, String text, boolean operand, ErrorState errorState) {
+        }
+
+        @Override
+        public String getValue() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package calculator.model.utils;
+
+import calculator.model.utils.exceptions.BudgetExceededException;
+import calculator.model.utils.exceptions.ComputationCancelledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComputationGuardTest {
+
+    @AfterEach
+    void tearDown() {
+        ComputationGuard.exit(null);
+        ComputationGuard.watch(null);
+    }
+
+    @Test
+    void checkWithoutBudget() {
+        assertDoesNotThrow(() -> {
+            ComputationGuard.check();
+            ComputationGuard.checkDigits(Integer.MAX_VALUE);
+        });
+    }
+
+    @Test
+    void cancellationIsSeenAtNextCheck() {
+        AtomicBoolean cancellation = new AtomicBoolean();
+        ComputationGuard.watch(cancellation);
+        assertDoesNotThrow(ComputationGuard::check);
+        cancellation.set(true);
+        assertThrows(ComputationCancelledException.class, ComputationGuard::check);
+    }
+
+    @Test
+    void interruptDoesNotCancel() {
+        Thread.currentThread().interrupt();
+        try {
+            assertDoesNotThrow(ComputationGuard::check);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void timeBudgetExceeded() throws InterruptedException {
+        ComputationGuard.enter(ComputationBudget.start(0, 100));
+        Thread.sleep(1);
+        assertThrows(BudgetExceededException.class, ComputationGuard::check);
+    }
+
+    @Test
+    void digitsBudgetExceeded() {
+        ComputationGuard.enter(ComputationBudget.start(10000, 100));
+        assertDoesNotThrow(() -> ComputationGuard.checkDigits(100));
+        assertThrows(BudgetExceededException.class, () -> ComputationGuard.checkDigits(101));
+    }
+
+    @Test
+    void nestedBudgetCanNotExtendOuter() {
+        ComputationGuard.enter(ComputationBudget.start(10000, 100));
+        ComputationBudget previous = ComputationGuard.enter(ComputationBudget.start(10000, 1000));
+        assertThrows(BudgetExceededException.class, () -> ComputationGuard.checkDigits(101));
+        ComputationGuard.exit(previous);
+        assertThrows(BudgetExceededException.class, () -> ComputationGuard.checkDigits(101));
+    }
+
+    @Test
+    void powExceedsDigitsBudget() {
+        ComputationGuard.enter(ComputationBudget.start(10000, 100));
+        assertThrows(BudgetExceededException.class,
+                () -> MathUtils.pow(BigDecimal.TEN, 1000, new MathContext(11, RoundingMode.HALF_UP)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2, 10", "1.4142135624, 9999", "0.5, 33", "3, 0", "-1.1, 7"})
+    void pow(BigDecimal base, int exponent) {
+        MathContext mathContext = new MathContext(11, RoundingMode.HALF_UP);
+        assertEquals(base.pow(exponent, mathContext), MathUtils.pow(base, exponent, mathContext));
+    }
+}
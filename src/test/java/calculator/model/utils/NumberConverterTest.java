@@ -0,0 +1,64 @@
+package calculator.model.utils;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import calculator.model.stats.CalculatorMode;
+import calculator.model.stats.ErrorState;
+import calculator.model.utils.dto.Outcome;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberConverterTest {
+
+    @ParameterizedTest
+    @CsvSource({"12.5, 10, 12.5", "-1.5exp2, 10, -150", "1exp-2, 10, 0.01", "FF, 16, 255", "ff, 16, 255",
+            "-101.1, 2, -5.5"})
+    void parseReal(String value, int base, BigDecimal expected) {
+        Outcome<Number> number = NumberConverter.parseNumber(value, CalculatorMode.P_NUMBER, base);
+        assertTrue(number.isSuccess());
+        assertEquals(new Real(expected), number.getValue());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"3/4, 3, 4", "-1exp2/5, -100, 5", "6 / -8, 6, -8"})
+    void parseFraction(String value, BigInteger numerator, BigInteger denominator) {
+        Outcome<Number> number = NumberConverter.parseNumber(value, CalculatorMode.FRACTION, 10);
+        assertTrue(number.isSuccess());
+        assertEquals(new Fraction(numerator, denominator), number.getValue());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1+2i, 1, 2", "-1.5-2i, -1.5, -2", "3, 3, 0", "2i, 0, 2"})
+    void parseComplex(String value, BigDecimal real, BigDecimal imaginary) {
+        Outcome<Number> number = NumberConverter.parseNumber(value, CalculatorMode.COMPLEX, 10);
+        assertTrue(number.isSuccess());
+        assertEquals(new Complex(real, imaginary), number.getValue());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"12.5.1, P_NUMBER, 10, WRONG_DATA", "12.5exp3, P_NUMBER, 10, WRONG_DATA",
+            "2, P_NUMBER, 2, WRONG_DATA", "1exp, P_NUMBER, 10, WRONG_DATA", "1exp99999, P_NUMBER, 10, OVERFLOW",
+            "-, P_NUMBER, 10, WRONG_DATA", "1/0, FRACTION, 10, WRONG_DATA", "1.5/2, FRACTION, 10, WRONG_DATA",
+            "1/2/3, FRACTION, 10, WRONG_DATA", "1+2+3i, COMPLEX, 10, WRONG_DATA", "i, COMPLEX, 10, WRONG_DATA",
+            "1e99999i, COMPLEX, 10, WRONG_DATA"})
+    void parseFailure(String value, CalculatorMode mode, int base, ErrorState errorState) {
+        Outcome<Number> number = NumberConverter.parseNumber(value, mode, base);
+        assertTrue(number.isFailure());
+        assertEquals(errorState, number.getErrorState());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"255, 16, FF", "5.5, 2, 101.1"})
+    void toDisplayString(BigDecimal value, int base, String expected) {
+        Outcome<String> result = NumberConverter.toDisplayString(new Real(value), CalculatorMode.P_NUMBER, base, 15, 15);
+        assertEquals(expected, result.getValue());
+    }
+}
@@ -0,0 +1,52 @@
+package calculator.model.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentStackTest {
+
+    @Test
+    void olderStacksStayAsTheyWere() {
+        PersistentStack<String> ab = PersistentStack.of(Arrays.asList("a", "b"));
+        PersistentStack<String> abc = ab.push("c");
+        PersistentStack<String> abd = ab.push("d");
+
+        assertEquals(Arrays.asList("a", "b"), ab.toList());
+        assertEquals(Arrays.asList("a", "b", "c"), abc.toList());
+        assertEquals(Arrays.asList("b", "d"), abd.top(2));
+        assertSame(ab, abc.pop());
+        assertEquals("c", abc.peek());
+    }
+
+    @Test
+    void sharedSizeIsFoundFromTheTop() {
+        PersistentStack<Integer> base = PersistentStack.empty();
+        for (int i = 0; i < 1000; i++) {
+            base = base.push(i);
+        }
+        PersistentStack<Integer> longer = base.push(1000).push(1001);
+        PersistentStack<Integer> changed = base.pop().push(-1);
+
+        assertEquals(1000, PersistentStack.sharedSize(base, longer));
+        assertEquals(999, PersistentStack.sharedSize(longer, changed));
+        assertEquals(0, PersistentStack.sharedSize(longer, PersistentStack.of(longer.toList())));
+        assertEquals(0, PersistentStack.sharedSize(longer, PersistentStack.empty()));
+    }
+
+    @Test
+    void emptyStackHasNoTop() {
+        PersistentStack<String> empty = PersistentStack.of(Collections.emptyList());
+
+        assertTrue(empty.isEmpty());
+        assertThrows(NoSuchElementException.class, empty::peek);
+        assertThrows(NoSuchElementException.class, empty::pop);
+    }
+}
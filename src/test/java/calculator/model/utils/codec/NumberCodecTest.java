@@ -0,0 +1,62 @@
+package calculator.model.utils.codec;
+
+import calculator.model.numbers.Complex;
+import calculator.model.numbers.Fraction;
+import calculator.model.numbers.Number;
+import calculator.model.numbers.Real;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NumberCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "12.5", "1E+300", "-0.000000000000000000000000000000123",
+            "123456789012345678901234567890.123456789"})
+    void real(BigDecimal value) {
+        Number number = new Real(value);
+        assertEquals(number, roundTrip(number));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "1.5, -2", "-12345.678, 0.001"})
+    void complex(BigDecimal real, BigDecimal imaginary) {
+        Number number = new Complex(real, imaginary);
+        assertEquals(number, roundTrip(number));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 2", "-7, 3", "123456789012345678901234567890, 7"})
+    void fraction(BigInteger numerator, BigInteger denominator) {
+        Number number = new Fraction(numerator, denominator);
+        assertEquals(number, roundTrip(number));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 63, -64, 64, Long.MAX_VALUE, Long.MIN_VALUE})
+    void signedVarLong(long value) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeSignedVarLong(value);
+        assertEquals(value, new BinaryReader(ByteBuffer.wrap(writer.toByteArray())).readSignedVarLong());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "Превышен лимит"})
+    void string(String value) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeString(value);
+        assertEquals(value, new BinaryReader(ByteBuffer.wrap(writer.toByteArray())).readString());
+    }
+
+    private static Number roundTrip(Number number) {
+        BinaryWriter writer = new BinaryWriter();
+        NumberCodec.write(writer, number);
+        return NumberCodec.read(new BinaryReader(ByteBuffer.wrap(writer.toByteArray())));
+    }
+}
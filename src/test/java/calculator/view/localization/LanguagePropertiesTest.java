@@ -0,0 +1,47 @@
+package calculator.view.localization;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LanguagePropertiesTest {
+
+    private static final String TRANSLATED_KEY = "calculator_scene.menu_file";
+    private static final String UNTRANSLATED_KEY = "calculator_scene.button0";
+
+    @AfterEach
+    void tearDown() {
+        LanguageProperties.setLanguage(Language.DEFAULT_LANGUAGE);
+    }
+
+    @Test
+    void switchChangesTheMessages() {
+        LanguageProperties.setLanguage(Language.ENGLISH);
+        int index = LanguageProperties.indexOf(TRANSLATED_KEY);
+        assertEquals("File", LanguageProperties.getProperty(TRANSLATED_KEY));
+
+        LanguageProperties.setLanguage(Language.RUSSIAN);
+        assertSame(Language.RUSSIAN, LanguageProperties.getLanguage());
+        assertEquals("Файл", LanguageProperties.getProperty(TRANSLATED_KEY));
+        assertEquals("Файл", LanguageProperties.getProperty(index));
+    }
+
+    @Test
+    void untranslatedKeyFallsBackToTheDefaultLanguage() {
+        LanguageProperties.setLanguage(Language.ENGLISH);
+        String english = LanguageProperties.getProperty(UNTRANSLATED_KEY);
+
+        LanguageProperties.setLanguage(Language.RUSSIAN);
+        assertEquals(english, LanguageProperties.getProperty(UNTRANSLATED_KEY));
+    }
+
+    @Test
+    void languageIsFoundByItsName() {
+        LanguageProperties.precompile();
+
+        assertEquals("English", Language.ENGLISH.getLanguageName());
+        assertSame(Language.RUSSIAN, Language.getLanguageFromLanguageName("Русский"));
+    }
+}
@@ -0,0 +1,51 @@
+package calculator.view.localization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MessageTableTest {
+
+    @Test
+    void keysHaveTheSameIndexInEveryLanguage() {
+        Properties defaultMessages = messages("b", "Second", "a", "First");
+        Map<String, Integer> keyIndex = MessageTable.indexKeys(defaultMessages);
+        MessageTable english = MessageTable.compile(keyIndex, defaultMessages, defaultMessages);
+        MessageTable russian = MessageTable.compile(keyIndex, defaultMessages, messages("a", "Первый", "b", "Второй"));
+
+        assertEquals(english.indexOf("a"), russian.indexOf("a"));
+        assertEquals("First", english.get(english.indexOf("a")));
+        assertEquals("Второй", russian.get(russian.indexOf("b")));
+    }
+
+    @Test
+    void untranslatedKeyHoldsTheDefaultMessage() {
+        Properties defaultMessages = messages("a", "First", "b", "Second");
+        MessageTable table = MessageTable.compile(MessageTable.indexKeys(defaultMessages), defaultMessages,
+                messages("a", "Первый"));
+
+        assertEquals("Second", table.get("b"));
+    }
+
+    @Test
+    void unknownKeyIsMissing() {
+        Properties defaultMessages = messages("a", "First");
+        MessageTable table = MessageTable.compile(MessageTable.indexKeys(defaultMessages), defaultMessages,
+                defaultMessages);
+
+        assertEquals(MessageTable.MISSING_KEY, table.indexOf("c"));
+        assertNull(table.get("c"));
+    }
+
+    private static Properties messages(String... keysAndValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+}